@@ -16,6 +16,12 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Read from the shipped stamp so the exported pack and the runtime check never drift.
+        // Bump assets/content/space_english_game.version when curriculum content changes, then
+        // run generateContentPack
+        buildConfigField("int", "CONTENT_PACK_VERSION",
+            file("src/main/assets/content/space_english_game.version").readText().trim())
     }
 
     buildTypes {
@@ -32,6 +38,11 @@ android {
         viewBinding = true
         buildConfig = true
     }
+
+    // Stored uncompressed so WordDawg can memory-map it straight from the APK
+    androidResources {
+        noCompress += "dawg"
+    }
     
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
@@ -39,6 +50,46 @@ android {
     }
 }
 
+// Builds the prebuilt curriculum database on a connected device/emulator and pulls it into
+// assets/content. Install the debug + androidTest APKs first (installDebug installDebugAndroidTest).
+val contentPackDevicePath = "/sdcard/Android/data/com.example.engapp/files/content"
+
+tasks.register<Exec>("exportContentPack") {
+    group = "content"
+    description = "Runs ContentPackExportTest on the connected device to build the content pack."
+    commandLine(
+        "adb", "shell", "am", "instrument", "-w",
+        "-e", "class", "com.example.engapp.database.ContentPackExportTest",
+        "-e", "exportContentPack", "true",
+        "com.example.engapp.test/androidx.test.runner.AndroidJUnitRunner"
+    )
+}
+
+tasks.register<Exec>("generateContentPack") {
+    group = "content"
+    description = "Pulls the exported content pack and version stamp into src/main/assets."
+    dependsOn("exportContentPack")
+    val assetsDir = file("src/main/assets")
+    doFirst { assetsDir.mkdirs() }
+    commandLine("adb", "pull", contentPackDevicePath, assetsDir.absolutePath)
+}
+
+// Packs src/main/dictionary/wordlist_en.txt into assets/dictionary/wordlist_en.dawg (see DawgWriter)
+val generateDictionary = tasks.register<GenerateDictionaryTask>("generateDictionary") {
+    group = "content"
+    description = "Packs the WordBattle word list into a DAWG asset."
+    wordList.set(file("src/main/dictionary/wordlist_en.txt"))
+    outputDir.set(layout.buildDirectory.dir("generated/dictionary"))
+}
+
+androidComponents {
+    onVariants { variant ->
+        variant.sources.assets?.addGeneratedSourceDirectory(
+            generateDictionary, GenerateDictionaryTask::getOutputDir
+        )
+    }
+}
+
 dependencies {
     // Firebase BoM + các SDK dùng
     implementation(platform("com.google.firebase:firebase-bom:34.5.0"))
@@ -0,0 +1,118 @@
+package com.example.engapp;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the WordBattle word index against the bundled dictionary: rack queries return
+ * exactly spellable words, and per-game words layer over the shared dictionary.
+ */
+@RunWith(AndroidJUnit4.class)
+public class WordIndexTest {
+    private WordIndex dictionary;
+
+    @Before
+    public void setUp() {
+        dictionary = WordIndex.dictionary(
+            InstrumentationRegistry.getInstrumentation().getTargetContext());
+    }
+
+    @Test
+    public void dictionary_isSharedPerProcess() {
+        assertSame(dictionary, WordIndex.dictionary(
+            InstrumentationRegistry.getInstrumentation().getTargetContext()));
+        assertTrue(dictionary.size() > 0);
+    }
+
+    @Test
+    public void dictionaryGraph_answersMembershipAndPrefixes() throws Exception {
+        WordDawg dawg = WordDawg.open(
+            InstrumentationRegistry.getInstrumentation().getTargetContext());
+
+        assertEquals(dictionary.size(), dawg.size());
+        assertTrue(dawg.contains("cat"));
+        assertFalse(dawg.contains("ca"));
+        assertTrue(dawg.hasPrefix("ca"));
+        assertFalse(dawg.hasPrefix("zzq"));
+    }
+
+    @Test
+    public void formableFrom_findsOnlySpellableWords() {
+        WordIndex index = dictionary.plus(Arrays.asList("cat", "dog", "act", "tacos"));
+        List<Character> rack = rack("catdogxqz");
+
+        List<String> words = index.formableFrom(rack, 2);
+
+        assertTrue(words.contains("cat"));
+        assertTrue(words.contains("act"));
+        assertTrue(words.contains("dog"));
+        assertFalse(words.contains("tacos"));
+        for (String word : words) {
+            assertTrue(word, word.length() >= 2);
+            assertTrue(word, spellable(word, rack));
+        }
+    }
+
+    @Test
+    public void plus_layersOverDictionary() {
+        WordIndex index = dictionary.plus(Arrays.asList("zzyzx"));
+
+        assertTrue(index.contains("zzyzx"));
+        assertFalse(dictionary.contains("zzyzx"));
+        assertEquals(dictionary.size() + 1, index.size());
+        assertEquals(dictionary.countOfLength(5) + 1, index.countOfLength(5));
+    }
+
+    @Test
+    public void randomWord_hasRequestedLength() {
+        Random random = new Random(42);
+        for (int length = 1; length <= 6; length++) {
+            if (dictionary.countOfLength(length) == 0) {
+                continue;
+            }
+            String word = dictionary.randomWord(random, length);
+            assertNotNull(word);
+            assertEquals(length, word.length());
+            assertTrue(dictionary.contains(word));
+        }
+        String upTo = dictionary.randomWordUpTo(random, 4);
+        assertNotNull(upTo);
+        assertTrue(upTo, upTo.length() <= 4);
+    }
+
+    private static List<Character> rack(String letters) {
+        List<Character> rack = new ArrayList<>();
+        for (int i = 0; i < letters.length(); i++) {
+            rack.add(letters.charAt(i));
+        }
+        return rack;
+    }
+
+    private static boolean spellable(String word, List<Character> rack) {
+        int[] counts = new int[26];
+        for (char c : rack) {
+            counts[c - 'a']++;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (--counts[word.charAt(i) - 'a'] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.engapp.database;
+
+import android.content.Context;
+import android.os.Bundle;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.engapp.BuildConfig;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Build step for the prebuilt content pack. Only runs when invoked by the
+ * generateContentPack Gradle task (instrumentation arg exportContentPack=true).
+ */
+@RunWith(AndroidJUnit4.class)
+public class ContentPackExportTest {
+    @Test
+    public void exportContentPack() throws Exception {
+        Bundle args = InstrumentationRegistry.getArguments();
+        assumeTrue("true".equals(args.getString("exportContentPack")));
+
+        Context appContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        File outDir = new File(appContext.getExternalFilesDir(null), ContentPackInstaller.ASSET_DIR);
+        ContentPackInstaller.exportPack(GameDatabaseHelper.getInstance(appContext), outDir,
+            BuildConfig.CONTENT_PACK_VERSION);
+
+        assertTrue(new File(outDir, ContentPackInstaller.PACK_FILE_NAME).length() > 0);
+        assertTrue(new File(outDir, ContentPackInstaller.VERSION_FILE_NAME).exists());
+    }
+}
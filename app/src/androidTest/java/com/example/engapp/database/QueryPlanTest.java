@@ -0,0 +1,74 @@
+package com.example.engapp.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the statements CurriculumCache's loaders actually run: planets and scenes come back
+ * ordered from their indexes, words and sentences in rowid order, none with a sort step.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+    private SQLiteDatabase db;
+
+    @Before
+    public void setUp() {
+        Context appContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = GameDatabaseHelper.getInstance(appContext).getReadableDatabase();
+    }
+
+    @Test
+    public void allPlanets_useOrderIndex() {
+        String plan = explain(GameDatabaseHelper.ALL_PLANETS_QUERY);
+        assertTrue(plan, plan.contains("idx_planets_order"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void allScenes_usePlanetOrderIndex() {
+        String plan = explain(GameDatabaseHelper.ALL_SCENES_QUERY);
+        assertTrue(plan, plan.contains("idx_scenes_planet_order"));
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void allWords_readInRowidOrder() {
+        String plan = explain(GameDatabaseHelper.ALL_WORDS_QUERY);
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void allSentences_readInRowidOrder() {
+        String plan = explain(GameDatabaseHelper.ALL_SENTENCES_QUERY);
+        assertFalse(plan, plan.contains("TEMP B-TREE"));
+    }
+
+    @Test
+    public void learnedWords_usePartialIndex() {
+        // The statement CurriculumCache's word load runs to overlay learned state
+        String plan = explain(GameDatabaseHelper.LEARNED_WORD_IDS_QUERY);
+        assertTrue(plan, plan.contains("idx_word_progress_learned"));
+    }
+
+    private String explain(String sql, String... args) {
+        StringBuilder plan = new StringBuilder();
+        Cursor cursor = db.rawQuery("EXPLAIN QUERY PLAN " + sql, args);
+        int detailIndex = cursor.getColumnIndexOrThrow("detail");
+        while (cursor.moveToNext()) {
+            plan.append(cursor.getString(detailIndex)).append('\n');
+        }
+        cursor.close();
+        return plan.toString();
+    }
+}
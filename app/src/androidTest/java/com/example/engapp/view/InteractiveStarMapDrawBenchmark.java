@@ -0,0 +1,95 @@
+package com.example.engapp.view;
+
+import android.app.Instrumentation;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Bundle;
+import android.os.Debug;
+import android.util.Log;
+import android.view.View;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.engapp.data.GameDataProvider;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+/**
+ * Frame-time benchmark for the home screen star map.
+ *
+ * Draws the twinkle animation frame by frame into a screen-sized bitmap and reports draw-time
+ * percentiles and the number of GCs that ran while drawing. Run it on a low-RAM tablet before
+ * and after a change to InteractiveStarMapView:
+ *
+ *   ./gradlew connectedAndroidTest -Pandroid.testInstrumentationRunnerArguments.class=\
+ *       com.example.engapp.view.InteractiveStarMapDrawBenchmark
+ *
+ * Results go to logcat (tag StarMapBenchmark) and to the instrumentation status output.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InteractiveStarMapDrawBenchmark {
+    private static final String TAG = "StarMapBenchmark";
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 800;
+    private static final int WARMUP_FRAMES = 60;
+    private static final int FRAMES = 600;
+
+    @Test
+    public void drawTwinkleFrames() {
+        Instrumentation instrumentation = InstrumentationRegistry.getInstrumentation();
+        Context context = instrumentation.getTargetContext();
+        long[] frameNanos = new long[FRAMES];
+        long[] gcCounts = new long[2];
+
+        instrumentation.runOnMainSync(() -> {
+            InteractiveStarMapView view = new InteractiveStarMapView(context);
+            view.setPlanets(GameDataProvider.getAllPlanets(), context);
+            view.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+            view.layout(0, 0, WIDTH, HEIGHT);
+
+            Bitmap frame = Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888);
+            Canvas canvas = new Canvas(frame);
+            float phaseStep = (float) (Math.PI * 2) / 180f; // 3 s loop at 60 fps
+
+            for (int i = 0; i < WARMUP_FRAMES; i++) {
+                view.setStarTwinklePhase(i * phaseStep);
+                view.draw(canvas);
+            }
+            gcCounts[0] = gcCount();
+            for (int i = 0; i < FRAMES; i++) {
+                view.setStarTwinklePhase((i % 180) * phaseStep);
+                long start = System.nanoTime();
+                view.draw(canvas);
+                frameNanos[i] = System.nanoTime() - start;
+            }
+            gcCounts[1] = gcCount();
+            frame.recycle();
+        });
+
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        Bundle results = new Bundle();
+        results.putDouble("frame_ms_p50", percentileMs(sorted, 0.50));
+        results.putDouble("frame_ms_p90", percentileMs(sorted, 0.90));
+        results.putDouble("frame_ms_p99", percentileMs(sorted, 0.99));
+        results.putLong("gc_count", gcCounts[1] - gcCounts[0]);
+        Log.i(TAG, results.toString());
+        instrumentation.sendStatus(0, results);
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.round(percentile * (sorted.length - 1)));
+        return sorted[index] / 1_000_000.0;
+    }
+
+    private static long gcCount() {
+        String count = Debug.getRuntimeStat("art.gc.gc-count");
+        return count != null ? Long.parseLong(count) : 0L;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.engapp.database;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+/**
+ * Dumps DbTrace to logcat on demand. Only exists in debug builds (src/debug):
+ *
+ *   adb shell am broadcast -p com.example.engapp -a com.example.engapp.DUMP_DB_TRACE
+ *
+ * Add --ez clear true to empty the buffer after dumping.
+ */
+public class DbTraceDumpReceiver extends BroadcastReceiver {
+
+    public static final String ACTION_DUMP = "com.example.engapp.DUMP_DB_TRACE";
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (intent == null || !ACTION_DUMP.equals(intent.getAction())) {
+            return;
+        }
+        DbTrace.dump();
+        if (intent.getBooleanExtra("clear", false)) {
+            DbTrace.clear();
+        }
+    }
+}
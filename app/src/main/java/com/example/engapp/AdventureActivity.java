@@ -3,7 +3,7 @@ package com.example.engapp;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
+import android.util.Log;
 import android.view.View;
 import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
@@ -15,15 +15,19 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
+import com.example.engapp.database.DatabaseExecutors;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
+import com.example.engapp.database.GameRepository;
+import com.example.engapp.manager.SpeechService;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Random;
 
-public class AdventureActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class AdventureActivity extends AppCompatActivity {
+
+    private static final String TAG = "AdventureActivity";
 
     // Views
     private TextView tvBuddyEmoji, tvBuddyName, tvBuddyMessage;
@@ -39,7 +43,7 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
     private LinearLayout eventChoices;
 
     // Game state
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private SharedPreferences prefs;
 
@@ -53,6 +57,8 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
 
     private List<WordData> planetWords;
     private List<WordData> foundWords = new ArrayList<>();
+    // Collected words not yet written; flushed as one lesson commit when the screen pauses
+    private LessonResult pendingResult = new LessonResult();
     private Random random = new Random();
 
     // Adventure events
@@ -92,7 +98,8 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
 
         dbHelper = GameDatabaseHelper.getInstance(this);
         prefs = getSharedPreferences("game_prefs", MODE_PRIVATE);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetId);
 
         loadBuddyInfo();
         initViews();
@@ -144,12 +151,22 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
     }
 
     private void loadPlanetWords() {
-        planetWords = dbHelper.getWordsForPlanet(planetId);
-        if (planetWords == null || planetWords.isEmpty()) {
-            // Load default words if none exist
-            planetWords = dbHelper.getWordsForPlanet(1);
-        }
-        Collections.shuffle(planetWords);
+        // Empty until the background load lands; explore() already handles no words
+        planetWords = new ArrayList<>();
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(repository.read(() -> {
+            List<WordData> words = dbHelper.getWordsForPlanet(planetId);
+            if (words == null || words.isEmpty()) {
+                // Load default words if none exist
+                words = dbHelper.getWordsForPlanet(1);
+            }
+            Collections.shuffle(words);
+            return words;
+        }), words -> {
+            if (words != null && !isFinishing() && !isDestroyed()) {
+                planetWords = words;
+            }
+        });
     }
 
     private void startAdventure() {
@@ -611,7 +628,7 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
         if (!foundWords.contains(word)) {
             foundWords.add(word);
             wordsFound++;
-            dbHelper.markWordAsLearned(word.id);
+            pendingResult.learnedWordIds.add(word.id);
             updateUI();
         }
     }
@@ -647,9 +664,7 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
     }
 
     private void speakWord(String text) {
-        if (tts != null) {
-            tts.speak(text, TextToSpeech.QUEUE_FLUSH, null, "word");
-        }
+        speech.speak(text, SpeechService.PRIORITY_HIGH, this);
     }
 
     private void updateUI() {
@@ -665,19 +680,25 @@ public class AdventureActivity extends AppCompatActivity implements TextToSpeech
     }
 
     @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
+    protected void onPause() {
+        super.onPause();
+        if (!pendingResult.learnedWordIds.isEmpty()) {
+            LessonResult result = pendingResult;
+            pendingResult = new LessonResult();
+            GameRepository repository = GameRepository.getInstance(this);
+            repository.commitLessonResult(result).whenCompleteAsync((ignored, error) -> {
+                if (error != null) {
+                    // The transaction rolled back; keep the words for the next pause
+                    Log.e(TAG, "Could not save learned words", error);
+                    pendingResult.learnedWordIds.addAll(result.learnedWordIds);
+                }
+            }, DatabaseExecutors.getInstance().mainThread());
         }
     }
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
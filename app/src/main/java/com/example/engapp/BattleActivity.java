@@ -2,7 +2,6 @@ package com.example.engapp;
 
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
 import android.view.View;
 import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
@@ -10,16 +9,17 @@ import android.widget.Button;
 import android.widget.ImageButton;
 import android.widget.LinearLayout;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.WordData;
+import com.example.engapp.database.GameRepository;
 import com.example.engapp.manager.BuddyManager;
 import com.example.engapp.manager.ProgressionManager;
 import com.example.engapp.manager.LessonUnlockManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.view.BreadcrumbView;
 import com.example.engapp.view.BuddyOverlayView;
 import com.example.engapp.view.ConfettiView;
@@ -37,7 +37,7 @@ import java.util.Random;
  * Redesigned Word Battle Activity with improved UI/UX for kids.
  * Features: Animated health bars, buddy integration, sparkle effects, combo system.
  */
-public class BattleActivity extends AppCompatActivity implements TextToSpeech.OnInitListener, BuddyManager.BuddyEventListener {
+public class BattleActivity extends AppCompatActivity implements BuddyManager.BuddyEventListener {
 
     // UI Views - Top Bar
     private ImageButton btnBack;
@@ -76,7 +76,7 @@ public class BattleActivity extends AppCompatActivity implements TextToSpeech.On
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private LessonUnlockManager lessonUnlockManager;
-    private TextToSpeech tts;
+    private SpeechService speech;
     private List<WordData> words;
     private List<BattleQuestion> questions;
     private int currentQuestionIndex = 0;
@@ -113,7 +113,8 @@ public class BattleActivity extends AppCompatActivity implements TextToSpeech.On
         // Get planet and galaxy info for context
         loadPlanetContext();
         
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetId);
         buddyManager = BuddyManager.getInstance(this);
         buddyManager.addListener(this);
 
@@ -121,9 +122,6 @@ public class BattleActivity extends AppCompatActivity implements TextToSpeech.On
         setupBreadcrumb();
         setupBuddy();
         loadWords();
-        generateQuestions();
-        spawnEnemy();
-        showQuestion();
     }
     
     private void loadPlanetContext() {
@@ -237,10 +235,22 @@ public class BattleActivity extends AppCompatActivity implements TextToSpeech.On
     }
 
     private void loadWords() {
-        words = dbHelper.getWordsForPlanet(planetId);
-        if (words == null || words.size() < 4) {
-            words = dbHelper.getWordsForPlanet(1);
-        }
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(repository.read(() -> {
+            List<WordData> planetWords = dbHelper.getWordsForPlanet(planetId);
+            if (planetWords == null || planetWords.size() < 4) {
+                planetWords = dbHelper.getWordsForPlanet(1);
+            }
+            return planetWords;
+        }), result -> {
+            if (result == null || isFinishing() || isDestroyed()) {
+                return;
+            }
+            words = result;
+            generateQuestions();
+            spawnEnemy();
+            showQuestion();
+        });
     }
 
     private void generateQuestions() {
@@ -634,19 +644,9 @@ public class BattleActivity extends AppCompatActivity implements TextToSpeech.On
     }
 
     private void speakQuestion() {
-        if (tts != null && tvQuestion != null) {
+        if (tvQuestion != null) {
             String text = tvQuestion.getText().toString();
-            tts.speak(text, TextToSpeech.QUEUE_FLUSH, null, "question");
-        }
-    }
-
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            int result = tts.setLanguage(Locale.US);
-            if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-                Toast.makeText(this, "TTS not supported", Toast.LENGTH_SHORT).show();
-            }
+            speech.speak(text, Locale.US, 1.0f, SpeechService.PRIORITY_HIGH, this);
         }
     }
 
@@ -673,10 +673,7 @@ public class BattleActivity extends AppCompatActivity implements TextToSpeech.On
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         // BuddyManager cleanup handled automatically
         super.onDestroy();
     }
@@ -12,16 +12,34 @@ import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.List;
+import com.example.engapp.adapter.DiffListAdapter;
 
-public class BehavioralAdapter extends RecyclerView.Adapter<BehavioralAdapter.ViewHolder> {
+import java.util.Arrays;
+
+/**
+ * Fed through submitItems(); DiffUtil runs off the main thread and only changed rows rebind.
+ */
+public class BehavioralAdapter extends DiffListAdapter<BehavioralQuestion, BehavioralAdapter.ViewHolder> {
 
     private Context context;
-    private List<BehavioralQuestion> questions;
 
-    public BehavioralAdapter(Context context, List<BehavioralQuestion> questions) {
+    public BehavioralAdapter(Context context) {
         this.context = context;
-        this.questions = questions;
+    }
+
+    @Override
+    protected long getStableId(@NonNull BehavioralQuestion question) {
+        return stableId(question.getId());
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull BehavioralQuestion question) {
+        return Arrays.asList(question.getQuestion(), question.getCategory(),
+                question.getDifficulty(), question.getKeywords(),
+                // The row's click intent carries the rest
+                question.getSample_basic(), question.getSample_intermediate(),
+                question.getSample_advanced(), question.getExplanation(),
+                question.getPractice_template());
     }
 
     @NonNull
@@ -33,9 +51,7 @@ public class BehavioralAdapter extends RecyclerView.Adapter<BehavioralAdapter.Vi
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        BehavioralQuestion question = questions.get(position);
-
-        if (question == null) return;
+        BehavioralQuestion question = getItemAt(position);
 
         holder.tvQuestion.setText(question.getQuestion() != null ? question.getQuestion() : "");
         holder.tvCategory.setText(question.getCategory() != null ? question.getCategory() : "");
@@ -82,11 +98,6 @@ public class BehavioralAdapter extends RecyclerView.Adapter<BehavioralAdapter.Vi
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return questions != null ? questions.size() : 0;
-    }
-
     public static class ViewHolder extends RecyclerView.ViewHolder {
         CardView cardView;
         TextView tvCategory, tvDifficulty, tvQuestion, tvKeywords;
@@ -6,30 +6,32 @@ import android.widget.ImageView;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class BehavioralListActivity extends AppCompatActivity {
 
     private RecyclerView recyclerViewQuestions;
+    private LinearLayoutManager layoutManager;
     private BehavioralAdapter adapter;
-    private List<BehavioralQuestion> allQuestions = new ArrayList<>();
-    private List<BehavioralQuestion> filteredQuestions = new ArrayList<>();
+    private BehavioralQuestionPager pager;
     private ProgressBar progressBar;
     private TextView tvEmpty;
     private FirebaseFirestore db;
 
+    // Start fetching the next page this many rows before the end
+    private static final int PREFETCH_DISTANCE = 5;
+
     // Filter chips
     private TextView chipAll, chipEasy, chipMedium, chipHard;
-    private String currentCategoryFilter = "All";
-    private String currentDifficultyFilter = "All";
+    private String currentCategoryFilter = BehavioralQuestionPager.ALL;
+    private String currentDifficultyFilter = BehavioralQuestionPager.ALL;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -58,9 +60,43 @@ public class BehavioralListActivity extends AppCompatActivity {
         }
 
         // Setup RecyclerView
-        recyclerViewQuestions.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new BehavioralAdapter(this, filteredQuestions);
+        layoutManager = new LinearLayoutManager(this);
+        recyclerViewQuestions.setLayoutManager(layoutManager);
+        adapter = new BehavioralAdapter(this);
         recyclerViewQuestions.setAdapter(adapter);
+        recyclerViewQuestions.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0) {
+                    loadMoreIfNearEnd();
+                }
+            }
+        });
+
+        pager = new BehavioralQuestionPager(db.collection("behavioral_questions"),
+                new BehavioralQuestionPager.Listener() {
+                    @Override
+                    public void onPageLoaded(String category, String difficulty) {
+                        if (isCurrentFilter(category, difficulty)) {
+                            filterQuestions();
+                        }
+                    }
+
+                    @Override
+                    public void onError(String category, String difficulty, Exception e) {
+                        android.util.Log.e("BehavioralList", "Firestore error: " + e.getMessage());
+                        if (!isCurrentFilter(category, difficulty)) {
+                            return;
+                        }
+                        progressBar.setVisibility(View.GONE);
+                        if (adapter.getItemCount() == 0) {
+                            tvEmpty.setVisibility(View.VISIBLE);
+                            tvEmpty.setText("Failed to load questions: " + e.getMessage());
+                        }
+                        android.widget.Toast.makeText(BehavioralListActivity.this,
+                                "Error: " + e.getMessage(), android.widget.Toast.LENGTH_LONG).show();
+                    }
+                });
 
         // Back button
         if (btnBack != null) {
@@ -146,98 +182,49 @@ public class BehavioralListActivity extends AppCompatActivity {
     private void loadQuestions() {
         progressBar.setVisibility(View.VISIBLE);
         tvEmpty.setVisibility(View.GONE);
+        pager.loadMore(currentCategoryFilter, currentDifficultyFilter);
+    }
 
-        db.collection("behavioral_questions")
-                .get()
-                .addOnSuccessListener(queryDocumentSnapshots -> {
-                    allQuestions.clear();
-                    android.util.Log.d("BehavioralList", "Total documents: " + queryDocumentSnapshots.size());
-                    
-                    for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
-                        try {
-                            android.util.Log.d("BehavioralList", "Doc ID: " + document.getId());
-                            
-                            // Parse đúng structure Firebase của bạn
-                            BehavioralQuestion question = new BehavioralQuestion();
-                            
-                            // id là Long trong Firebase, convert sang String
-                            Long idNum = document.getLong("id");
-                            question.setId(idNum != null ? String.valueOf(idNum) : document.getId());
-                            
-                            question.setQuestion(document.getString("question"));
-                            question.setCategory(document.getString("category"));
-                            question.setDifficulty(document.getString("difficulty"));
-                            question.setSample_basic(document.getString("sample_basic"));
-                            question.setSample_intermediate(document.getString("sample_intermediate"));
-                            question.setSample_advanced(document.getString("sample_advanced"));
-                            question.setExplanation(document.getString("explanation"));
-                            question.setPractice_template(document.getString("practice_template"));
-                            
-                            // Parse keywords array
-                            Object keywordsObj = document.get("keywords");
-                            if (keywordsObj instanceof java.util.List) {
-                                @SuppressWarnings("unchecked")
-                                java.util.List<String> keywords = (java.util.List<String>) keywordsObj;
-                                question.setKeywords(keywords);
-                            }
-                            
-                            allQuestions.add(question);
-                            
-                            android.util.Log.d("BehavioralList", "✅ Loaded: " + question.getId() + " - " + question.getQuestion());
-                        } catch (Exception e) {
-                            android.util.Log.e("BehavioralList", "❌ Error doc " + document.getId() + ": " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    }
-                    
-                    android.util.Log.d("BehavioralList", "Total questions loaded: " + allQuestions.size());
-                    filterQuestions();
-                    progressBar.setVisibility(View.GONE);
-                    
-                    if (allQuestions.isEmpty()) {
-                        tvEmpty.setVisibility(View.VISIBLE);
-                        tvEmpty.setText("No behavioral questions found. Please add some to get started!");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    progressBar.setVisibility(View.GONE);
-                    tvEmpty.setVisibility(View.VISIBLE);
-                    tvEmpty.setText("Failed to load questions: " + e.getMessage());
-                    android.util.Log.e("BehavioralList", "Firestore error: " + e.getMessage());
-                    android.widget.Toast.makeText(this, "Error: " + e.getMessage(), android.widget.Toast.LENGTH_LONG).show();
-                });
+    private void loadMoreIfNearEnd() {
+        if (isFinishing() || pager.isExhausted(currentCategoryFilter, currentDifficultyFilter)) {
+            return;
+        }
+        if (layoutManager.findLastVisibleItemPosition()
+                >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+            pager.loadMore(currentCategoryFilter, currentDifficultyFilter);
+        }
+    }
+
+    private boolean isCurrentFilter(String category, String difficulty) {
+        return category.equals(currentCategoryFilter) && difficulty.equals(currentDifficultyFilter);
     }
 
     private void filterQuestions() {
-        filteredQuestions.clear();
-
-        for (BehavioralQuestion question : allQuestions) {
-            if (question == null) continue;
-            
-            String category = question.getCategory() != null ? question.getCategory() : "";
-            String difficulty = question.getDifficulty() != null ? question.getDifficulty() : "";
-            
-            boolean categoryMatch = currentCategoryFilter.equals("All") 
-                    || category.equalsIgnoreCase(currentCategoryFilter);
-            boolean difficultyMatch = currentDifficultyFilter.equals("All") 
-                    || difficulty.equalsIgnoreCase(currentDifficultyFilter);
-
-            if (categoryMatch && difficultyMatch) {
-                filteredQuestions.add(question);
-            }
-        }
+        String category = currentCategoryFilter;
+        String difficulty = currentDifficultyFilter;
 
-        if (adapter != null) {
-            adapter.notifyDataSetChanged();
+        // Already-loaded matches show at once; the query for this filter fills in the rest
+        List<BehavioralQuestion> filteredQuestions = pager.loaded(category, difficulty);
+        // Rows that don't fill the screen can't be scrolled, so check again once they are laid out
+        adapter.submitItems(filteredQuestions,
+                () -> recyclerViewQuestions.post(this::loadMoreIfNearEnd));
+
+        if (!pager.hasStarted(category, difficulty)) {
+            pager.loadMore(category, difficulty);
         }
-        
-        if (filteredQuestions.isEmpty() && !allQuestions.isEmpty()) {
-            tvEmpty.setVisibility(View.VISIBLE);
-            tvEmpty.setText("No questions match your filters");
-        } else if (filteredQuestions.isEmpty()) {
+
+        boolean loading = pager.isLoading(category, difficulty);
+        progressBar.setVisibility(loading && filteredQuestions.isEmpty() ? View.VISIBLE : View.GONE);
+
+        if (!filteredQuestions.isEmpty() || loading) {
+            tvEmpty.setVisibility(View.GONE);
+        } else if (category.equals(BehavioralQuestionPager.ALL)
+                && difficulty.equals(BehavioralQuestionPager.ALL)) {
             tvEmpty.setVisibility(View.VISIBLE);
+            tvEmpty.setText("No behavioral questions found. Please add some to get started!");
         } else {
-            tvEmpty.setVisibility(View.GONE);
+            tvEmpty.setVisibility(View.VISIBLE);
+            tvEmpty.setText("No questions match your filters");
         }
     }
 }
@@ -0,0 +1,251 @@
+package com.example.engapp;
+
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Pages behavioral_questions from Firestore one filter at a time.
+ *
+ * Category and difficulty go into the query as whereIn filters over the value's usual
+ * spellings ("easy", "Easy", "EASY"): Firestore compares strings exactly, while the bank
+ * mixes case and the chips always matched case-insensitively. Pages are ordered by document
+ * id and continue from the last document of the previous page, so no composite index is
+ * needed and nothing outside the current filter is downloaded. Each (category, difficulty)
+ * pair keeps its own cursor.
+ *
+ * Each page is read from Firestore's disk cache first and shown at once, then read again from
+ * the server to pick up edits and move the cursor on, so opening the screen or tapping a chip
+ * never waits on the network for questions it has already seen. Offline, the cursor moves on
+ * from the cached page instead.
+ *
+ * Everything loaded so far is also indexed by (category, difficulty), with "All" buckets on
+ * either axis. A chip tap then shows the matching questions at once, before the next page for
+ * that filter arrives. Main thread only.
+ */
+final class BehavioralQuestionPager {
+
+    static final String ALL = "All";
+
+    private static final int PAGE_SIZE = 20;
+
+    interface Listener {
+        void onPageLoaded(String category, String difficulty);
+
+        void onError(String category, String difficulty, Exception e);
+    }
+
+    private static final class Cursor {
+        DocumentSnapshot last;
+        boolean loading;
+        boolean exhausted;
+        boolean started;
+    }
+
+    private final CollectionReference collection;
+    private final Listener listener;
+    private final Map<String, Cursor> cursors = new HashMap<>();
+    // filter key -> loaded questions by document id, so every bucket stays in page order
+    private final Map<String, TreeMap<String, BehavioralQuestion>> index = new HashMap<>();
+
+    BehavioralQuestionPager(CollectionReference collection, Listener listener) {
+        this.collection = collection;
+        this.listener = listener;
+    }
+
+    /** Questions already loaded that match the filter, in page order. */
+    List<BehavioralQuestion> loaded(String category, String difficulty) {
+        TreeMap<String, BehavioralQuestion> bucket = index.get(key(category, difficulty));
+        return bucket != null ? new ArrayList<>(bucket.values()) : new ArrayList<>();
+    }
+
+    boolean isLoading(String category, String difficulty) {
+        return cursor(category, difficulty).loading;
+    }
+
+    boolean hasStarted(String category, String difficulty) {
+        return cursor(category, difficulty).started;
+    }
+
+    boolean isExhausted(String category, String difficulty) {
+        return cursor(category, difficulty).exhausted;
+    }
+
+    /** Fetches the next page for the filter unless one is in flight or the filter is done. */
+    void loadMore(String category, String difficulty) {
+        Cursor cursor = cursor(category, difficulty);
+        if (cursor.loading || cursor.exhausted) {
+            return;
+        }
+        cursor.loading = true;
+        cursor.started = true;
+
+        Query query = collection;
+        if (!ALL.equals(category)) {
+            query = query.whereIn("category", spellings(category));
+        }
+        if (!ALL.equals(difficulty)) {
+            query = query.whereIn("difficulty", spellings(difficulty));
+        }
+        query = query.orderBy(FieldPath.documentId()).limit(PAGE_SIZE);
+        if (cursor.last != null) {
+            query = query.startAfter(cursor.last);
+        }
+
+        Query page = query;
+        page.get(Source.CACHE).addOnCompleteListener(cached -> {
+            List<DocumentSnapshot> cachedDocuments = cached.isSuccessful()
+                    ? cached.getResult().getDocuments()
+                    : Collections.<DocumentSnapshot>emptyList();
+            if (!cachedDocuments.isEmpty()) {
+                addAll(cachedDocuments);
+                listener.onPageLoaded(category, difficulty);
+            }
+            page.get(Source.SERVER)
+                    .addOnSuccessListener(snapshot -> {
+                        List<DocumentSnapshot> documents = snapshot.getDocuments();
+                        boolean exhausted = documents.size() < PAGE_SIZE;
+                        dropDeleted(cachedDocuments, documents, exhausted);
+                        addAll(documents);
+                        if (!documents.isEmpty()) {
+                            cursor.last = documents.get(documents.size() - 1);
+                        }
+                        cursor.exhausted = exhausted;
+                        cursor.loading = false;
+                        listener.onPageLoaded(category, difficulty);
+                    })
+                    .addOnFailureListener(e -> {
+                        cursor.loading = false;
+                        if (cachedDocuments.isEmpty()) {
+                            listener.onError(category, difficulty, e);
+                            return;
+                        }
+                        // Not marked exhausted: the server may have more once it is reachable
+                        cursor.last = cachedDocuments.get(cachedDocuments.size() - 1);
+                        listener.onPageLoaded(category, difficulty);
+                    });
+        });
+    }
+
+    private void addAll(List<DocumentSnapshot> documents) {
+        for (DocumentSnapshot document : documents) {
+            BehavioralQuestion question = parse(document);
+            if (question != null) {
+                add(document.getId(), question);
+            }
+        }
+    }
+
+    // Cached documents the server page should have returned but didn't were deleted upstream;
+    // ones past the server page's last id simply belong to the next page
+    private void dropDeleted(List<DocumentSnapshot> cachedDocuments,
+                             List<DocumentSnapshot> serverDocuments, boolean exhausted) {
+        if (cachedDocuments.isEmpty()) {
+            return;
+        }
+        Set<String> serverIds = new HashSet<>();
+        for (DocumentSnapshot document : serverDocuments) {
+            serverIds.add(document.getId());
+        }
+        String lastId = serverDocuments.isEmpty()
+                ? null : serverDocuments.get(serverDocuments.size() - 1).getId();
+        for (DocumentSnapshot document : cachedDocuments) {
+            String id = document.getId();
+            if (!serverIds.contains(id) && (exhausted || id.compareTo(lastId) < 0)) {
+                for (TreeMap<String, BehavioralQuestion> bucket : index.values()) {
+                    bucket.remove(id);
+                }
+            }
+        }
+    }
+
+    private void add(String documentId, BehavioralQuestion question) {
+        String category = question.getCategory() != null ? question.getCategory() : "";
+        String difficulty = question.getDifficulty() != null ? question.getDifficulty() : "";
+        bucket(key(category, difficulty)).put(documentId, question);
+        bucket(key(category, ALL)).put(documentId, question);
+        bucket(key(ALL, difficulty)).put(documentId, question);
+        bucket(key(ALL, ALL)).put(documentId, question);
+    }
+
+    private TreeMap<String, BehavioralQuestion> bucket(String key) {
+        TreeMap<String, BehavioralQuestion> bucket = index.get(key);
+        if (bucket == null) {
+            bucket = new TreeMap<>();
+            index.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    private Cursor cursor(String category, String difficulty) {
+        String key = key(category, difficulty);
+        Cursor cursor = cursors.get(key);
+        if (cursor == null) {
+            cursor = new Cursor();
+            cursors.put(key, cursor);
+        }
+        return cursor;
+    }
+
+    // As typed, lower, upper and capitalized; at most 16 disjunctions with both filters set
+    private static List<String> spellings(String value) {
+        Set<String> spellings = new LinkedHashSet<>();
+        spellings.add(value);
+        spellings.add(value.toLowerCase(Locale.ROOT));
+        spellings.add(value.toUpperCase(Locale.ROOT));
+        if (!value.isEmpty()) {
+            spellings.add(value.substring(0, 1).toUpperCase(Locale.ROOT)
+                + value.substring(1).toLowerCase(Locale.ROOT));
+        }
+        return new ArrayList<>(spellings);
+    }
+
+    // Same case-insensitive match as the query, so every spelling lands in one bucket
+    private static String key(String category, String difficulty) {
+        return category.toLowerCase(Locale.ROOT) + '\u0000' + difficulty.toLowerCase(Locale.ROOT);
+    }
+
+    private static BehavioralQuestion parse(DocumentSnapshot document) {
+        try {
+            BehavioralQuestion question = new BehavioralQuestion();
+
+            // id là Long trong Firebase, convert sang String
+            Long idNum = document.getLong("id");
+            question.setId(idNum != null ? String.valueOf(idNum) : document.getId());
+
+            question.setQuestion(document.getString("question"));
+            question.setCategory(document.getString("category"));
+            question.setDifficulty(document.getString("difficulty"));
+            question.setSample_basic(document.getString("sample_basic"));
+            question.setSample_intermediate(document.getString("sample_intermediate"));
+            question.setSample_advanced(document.getString("sample_advanced"));
+            question.setExplanation(document.getString("explanation"));
+            question.setPractice_template(document.getString("practice_template"));
+
+            // Parse keywords array
+            Object keywordsObj = document.get("keywords");
+            if (keywordsObj instanceof List) {
+                @SuppressWarnings("unchecked")
+                List<String> keywords = (List<String>) keywordsObj;
+                question.setKeywords(keywords);
+            }
+            return question;
+        } catch (Exception e) {
+            android.util.Log.e("BehavioralList", "❌ Error doc " + document.getId() + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.example.engapp;
 
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
+import android.util.Log;
 import android.view.View;
 import android.view.animation.AnimationUtils;
 import android.widget.Button;
@@ -15,13 +15,16 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
+import com.example.engapp.database.GameRepository;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
-public class BossGateActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class BossGateActivity extends AppCompatActivity {
+
+    private static final String TAG = "BossGateActivity";
 
     private TextView tvBossEmoji, tvBossName, tvBossMessage;
     private TextView tvHealth, tvProgress;
@@ -30,7 +33,7 @@ public class BossGateActivity extends AppCompatActivity implements TextToSpeech.
     private Button btnListen;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private int planetId, sceneId;
@@ -51,7 +54,8 @@ public class BossGateActivity extends AppCompatActivity implements TextToSpeech.
 
         dbHelper = GameDatabaseHelper.getInstance(this);
         progressionManager = ProgressionManager.getInstance(this);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetId);
 
         initViews();
         loadWords();
@@ -201,9 +205,9 @@ public class BossGateActivity extends AppCompatActivity implements TextToSpeech.
     }
 
     private void speakCurrentWord() {
-        if (currentIndex < words.size() && tts != null) {
+        if (currentIndex < words.size()) {
             WordData word = words.get(currentIndex);
-            tts.speak(word.english, TextToSpeech.QUEUE_FLUSH, null, "word");
+            speech.speak(word.english, SpeechService.PRIORITY_HIGH, this);
         }
     }
 
@@ -215,20 +219,24 @@ public class BossGateActivity extends AppCompatActivity implements TextToSpeech.
         boolean victory = bossHealth <= 0;
         int stars = victory ? 3 : score >= 40 ? 2 : 1;
 
-        // Save progress
-        dbHelper.updateSceneProgress(sceneId, stars);
-        dbHelper.addStars(stars);
+        // Scene stars, stars and the boss fuel cell go out as a single transaction
+        LessonResult result = new LessonResult();
+        result.sceneId = sceneId;
+        result.sceneStars = stars;
+        result.reward.stars = stars;
+        if (victory) {
+            result.reward.fuelCells = 1;
+        }
+        GameRepository.getInstance(this).commitLessonResult(result).exceptionally(error -> {
+            Log.e(TAG, "Could not save boss result for scene " + result.sceneId, error);
+            return null;
+        });
         
         // IMPORTANT: Record lesson completion to unlock next lesson
         if (planetId > 0 && sceneId > 0) {
             progressionManager.recordLessonCompleted(planetId, sceneId, stars);
         }
 
-        // Award fuel cell for completing boss
-        if (victory) {
-            dbHelper.addFuelCells(1);
-        }
-
         String icon = victory ? "🏆" : "💪";
         String title = victory ? "CHIẾN THẮNG!" : "Cố gắng thêm!";
         String message = victory ?
@@ -238,20 +246,9 @@ public class BossGateActivity extends AppCompatActivity implements TextToSpeech.
         SpaceDialog.showResult(this, icon, title, message, stars, "Hoàn thành", () -> finish());
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
@@ -3,7 +3,6 @@ package com.example.engapp;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
 import android.view.animation.AnimationUtils;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
@@ -13,12 +12,12 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 
 import com.example.engapp.manager.BuddyManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.model.BuddyState;
 
-import java.util.Locale;
 import java.util.Random;
 
-public class BuddyRoomActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class BuddyRoomActivity extends AppCompatActivity {
 
     private static final String PREFS_NAME = "game_prefs";
     private static final String KEY_BUDDY_INDEX = "buddy_index";
@@ -28,7 +27,7 @@ public class BuddyRoomActivity extends AppCompatActivity implements TextToSpeech
     private CardView cardBuddy1, cardBuddy2, cardBuddy3, cardBuddy4;
     private LinearLayout btnTalk, btnPlay, btnLearn;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private SharedPreferences prefs;
     private BuddyManager buddyManager;
 
@@ -66,7 +65,7 @@ public class BuddyRoomActivity extends AppCompatActivity implements TextToSpeech
         setContentView(R.layout.activity_buddy_room);
         overridePendingTransition(R.anim.slide_in_right, R.anim.slide_out_left);
 
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
         prefs = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
         buddyManager = BuddyManager.getInstance(this);
 
@@ -220,11 +219,11 @@ public class BuddyRoomActivity extends AppCompatActivity implements TextToSpeech
         showBuddyMessage(message);
 
         // Speak the word
-        if (tts != null) {
-            new Handler().postDelayed(() -> {
-                tts.speak(lesson[0], TextToSpeech.QUEUE_FLUSH, null, "word");
-            }, 500);
-        }
+        new Handler().postDelayed(() -> {
+            if (!isDestroyed()) {
+                speech.speak(lesson[0], SpeechService.PRIORITY_HIGH, this);
+            }
+        }, 500);
     }
 
     private void showBuddyMessage(String message) {
@@ -232,14 +231,6 @@ public class BuddyRoomActivity extends AppCompatActivity implements TextToSpeech
         tvBuddyMessage.startAnimation(AnimationUtils.loadAnimation(this, R.anim.slide_in_right));
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     public void onBackPressed() {
         super.onBackPressed();
@@ -248,10 +239,7 @@ public class BuddyRoomActivity extends AppCompatActivity implements TextToSpeech
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
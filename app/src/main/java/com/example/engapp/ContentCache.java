@@ -0,0 +1,160 @@
+package com.example.engapp;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline-first reads for curriculum collections, keyed by collection path.
+ *
+ * A read is answered from memory, or else from Firestore's on-disk cache, so opening a screen
+ * never waits on the network. A server refresh runs in the background only when the path's
+ * watermark (last successful server read, kept in SharedPreferences) is older than
+ * REFRESH_INTERVAL_MS or nothing is cached yet; observers hear about it only if the documents
+ * actually changed. Content is edited rarely, so most opens cost no round trip at all.
+ *
+ * Main thread only; Firestore delivers task results there.
+ */
+final class ContentCache {
+
+    interface ContentObserver {
+        void onContent(QuerySnapshot snapshot);
+
+        /** Only called when there is nothing cached to show. */
+        void onError(Exception e);
+    }
+
+    private static final String PREFS_NAME = "content_cache";
+    private static final String KEY_WATERMARK_PREFIX = "synced_at:";
+    private static final long REFRESH_INTERVAL_MS = 6 * 60 * 60 * 1000L;
+
+    private static ContentCache instance;
+
+    private static final class Entry {
+        QuerySnapshot snapshot;
+        Task<QuerySnapshot> refresh;
+        final List<ContentObserver> observers = new ArrayList<>();
+    }
+
+    private final SharedPreferences prefs;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    static synchronized ContentCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentCache(Context context) {
+        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /** One-shot read: cached content if there is any, otherwise the server result. */
+    Task<QuerySnapshot> get(String path, Query query) {
+        Entry entry = entry(path);
+        if (entry.snapshot != null) {
+            refreshIfStale(path, query, entry);
+            return Tasks.forResult(entry.snapshot);
+        }
+        return query.get(Source.CACHE).continueWithTask(task -> {
+            if (task.isSuccessful() && !task.getResult().isEmpty()) {
+                if (entry.snapshot == null) {
+                    publish(entry, task.getResult());
+                }
+                refreshIfStale(path, query, entry);
+                return Tasks.forResult(entry.snapshot);
+            }
+            return refresh(path, query, entry);
+        });
+    }
+
+    /**
+     * Delivers cached content right away (or as soon as the disk cache answers), then again
+     * whenever a background refresh changes it. Remove the registration when the screen stops.
+     */
+    ListenerRegistration observe(String path, Query query, ContentObserver observer) {
+        Entry entry = entry(path);
+        entry.observers.add(observer);
+        if (entry.snapshot != null) {
+            observer.onContent(entry.snapshot);
+            refreshIfStale(path, query, entry);
+        } else {
+            get(path, query).addOnFailureListener(e -> {
+                if (entry.observers.contains(observer) && entry.snapshot == null) {
+                    observer.onError(e);
+                }
+            });
+        }
+        return () -> entry.observers.remove(observer);
+    }
+
+    private void refreshIfStale(String path, Query query, Entry entry) {
+        long syncedAt = prefs.getLong(KEY_WATERMARK_PREFIX + path, 0L);
+        if (System.currentTimeMillis() - syncedAt >= REFRESH_INTERVAL_MS) {
+            refresh(path, query, entry);
+        }
+    }
+
+    private Task<QuerySnapshot> refresh(String path, Query query, Entry entry) {
+        if (entry.refresh != null) {
+            return entry.refresh;
+        }
+        entry.refresh = query.get(Source.SERVER).addOnCompleteListener(task -> {
+            entry.refresh = null;
+            if (!task.isSuccessful()) {
+                return;
+            }
+            QuerySnapshot fresh = task.getResult();
+            prefs.edit().putLong(KEY_WATERMARK_PREFIX + path, System.currentTimeMillis()).apply();
+            if (entry.snapshot == null || !sameDocuments(entry.snapshot, fresh)) {
+                publish(entry, fresh);
+            }
+        });
+        return entry.refresh;
+    }
+
+    private static void publish(Entry entry, QuerySnapshot snapshot) {
+        entry.snapshot = snapshot;
+        for (ContentObserver observer : new ArrayList<>(entry.observers)) {
+            observer.onContent(snapshot);
+        }
+    }
+
+    private Entry entry(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(path, entry);
+        }
+        return entry;
+    }
+
+    private static boolean sameDocuments(QuerySnapshot a, QuerySnapshot b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        List<DocumentSnapshot> left = a.getDocuments();
+        List<DocumentSnapshot> right = b.getDocuments();
+        for (int i = 0; i < left.size(); i++) {
+            DocumentSnapshot x = left.get(i);
+            DocumentSnapshot y = right.get(i);
+            if (!x.getId().equals(y.getId()) || !x.getData().equals(y.getData())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -160,7 +160,8 @@ public class DailyMissionsActivity extends AppCompatActivity implements MissionA
         if (mission.isCompleted && !mission.isClaimed) {
             dbHelper.addStars(mission.reward);
             mission.isClaimed = true;
-            adapter.notifyDataSetChanged();
+            // Only the claimed row's snapshot differs, so only that row rebinds
+            adapter.submitItems(missions);
             Toast.makeText(this, "+" + mission.reward + " ⭐ claimed!", Toast.LENGTH_SHORT).show();
         }
     }
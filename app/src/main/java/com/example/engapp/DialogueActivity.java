@@ -1,7 +1,6 @@
 package com.example.engapp;
 
 import android.os.Bundle;
-import android.speech.tts.TextToSpeech;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
@@ -12,12 +11,13 @@ import androidx.cardview.widget.CardView;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
-public class DialogueActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class DialogueActivity extends AppCompatActivity {
 
     private TextView tvNpcEmoji, tvNpcName, tvNpcMessage;
     private TextView tvOption1, tvOption2, tvOption3;
@@ -26,7 +26,7 @@ public class DialogueActivity extends AppCompatActivity implements TextToSpeech.
     private TextView tvProgress, tvScore;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private int planetId, sceneId;
@@ -46,7 +46,8 @@ public class DialogueActivity extends AppCompatActivity implements TextToSpeech.
 
         dbHelper = GameDatabaseHelper.getInstance(this);
         progressionManager = ProgressionManager.getInstance(this);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetId);
 
         initViews();
         loadSentences();
@@ -192,10 +193,8 @@ public class DialogueActivity extends AppCompatActivity implements TextToSpeech.
         updateProgress();
 
         // Speak the Vietnamese
-        if (tts != null) {
-            tts.setLanguage(new Locale("vi", "VN"));
-            tts.speak(sentence.vietnamese, TextToSpeech.QUEUE_FLUSH, null, "question");
-        }
+        speech.speak(sentence.vietnamese, new Locale("vi", "VN"), SpeechService.WORD_RATE,
+            SpeechService.PRIORITY_HIGH, this);
     }
 
     private void checkAnswer(int selected) {
@@ -213,10 +212,7 @@ public class DialogueActivity extends AppCompatActivity implements TextToSpeech.
             Toast.makeText(this, "🎉 Đúng rồi!", Toast.LENGTH_SHORT).show();
 
             // Speak the correct sentence
-            if (tts != null) {
-                tts.setLanguage(Locale.US);
-                tts.speak(sentences.get(currentIndex).english, TextToSpeech.QUEUE_FLUSH, null, "answer");
-            }
+            speech.speak(sentences.get(currentIndex).english, SpeechService.PRIORITY_HIGH, this);
         } else {
             // Wrong
             cards[selected].setCardBackgroundColor(getColor(R.color.wrong_red));
@@ -224,10 +220,7 @@ public class DialogueActivity extends AppCompatActivity implements TextToSpeech.
             Toast.makeText(this, "❌ Sai rồi! Đáp án đúng: " + sentences.get(currentIndex).english, Toast.LENGTH_LONG).show();
             
             // Speak the correct answer
-            if (tts != null) {
-                tts.setLanguage(Locale.US);
-                tts.speak(sentences.get(currentIndex).english, TextToSpeech.QUEUE_FLUSH, null, "answer");
-            }
+            speech.speak(sentences.get(currentIndex).english, SpeechService.PRIORITY_HIGH, this);
         }
 
         tvScore.setText("⭐ " + score);
@@ -260,20 +253,9 @@ public class DialogueActivity extends AppCompatActivity implements TextToSpeech.
         SpaceDialog.showSuccess(this, message, stars, () -> finish());
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
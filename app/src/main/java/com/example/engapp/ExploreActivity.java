@@ -1,7 +1,6 @@
 package com.example.engapp;
 
 import android.os.Bundle;
-import android.speech.tts.TextToSpeech;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
@@ -11,20 +10,20 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.view.ConstellationView;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
-public class ExploreActivity extends AppCompatActivity implements TextToSpeech.OnInitListener, ConstellationView.OnConstellationCompleteListener {
+public class ExploreActivity extends AppCompatActivity implements ConstellationView.OnConstellationCompleteListener {
 
     private TextView tvProgress, tvCrystals, tvInstruction;
     private ProgressBar progressBar;
     private ConstellationView constellationView;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private int planetId, sceneId;
@@ -43,7 +42,8 @@ public class ExploreActivity extends AppCompatActivity implements TextToSpeech.O
 
         dbHelper = GameDatabaseHelper.getInstance(this);
         progressionManager = ProgressionManager.getInstance(this);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetId);
 
         initViews();
         loadWords();
@@ -93,9 +93,7 @@ public class ExploreActivity extends AppCompatActivity implements TextToSpeech.O
         if (collectedWords.contains(word)) return;
 
         // Play sound
-        if (tts != null) {
-            tts.speak(word.english, TextToSpeech.QUEUE_FLUSH, null, "word");
-        }
+        speech.speak(word.english, SpeechService.PRIORITY_HIGH, this);
 
         // Show word dialog
         showWordDialog(word);
@@ -119,7 +117,7 @@ public class ExploreActivity extends AppCompatActivity implements TextToSpeech.O
                         "Nghĩa: " + word.vietnamese + "\n\n" +
                         "Ví dụ: " + word.exampleSentence;
         SpaceDialog.showInfo(this, word.emoji, word.english, message, () -> {
-            if (tts != null) tts.speak(word.english, TextToSpeech.QUEUE_FLUSH, null, "word");
+            speech.speak(word.english, SpeechService.PRIORITY_HIGH, this);
         });
     }
 
@@ -170,20 +168,9 @@ public class ExploreActivity extends AppCompatActivity implements TextToSpeech.O
         SpaceDialog.showSuccess(this, message, 3, () -> finish());
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
@@ -1,5 +1,7 @@
 package com.example.engapp;
 
+import android.content.Context;
+
 import com.google.android.gms.tasks.Task;
 import com.google.firebase.firestore.*;
 
@@ -8,28 +10,48 @@ import java.util.Map;
 
 public class FirestoreRepository {
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
+    private final ContentCache contentCache;
+
+    public FirestoreRepository(Context context) {
+        this.contentCache = ContentCache.getInstance(context);
+    }
 
     // === LEVELS & UNITS (Public read) ===
+    // Served from the local content cache; the server is only asked in the background
     public Task<QuerySnapshot> getLevels() {
-        return db.collection("levels").orderBy("order").get();
+        return contentCache.get(levelsPath(), levelsQuery());
     }
 
     public Task<QuerySnapshot> getUnits(String levelId) {
-        return db.collection("levels")
-                .document(levelId)
-                .collection("units")
-                .orderBy("order")
-                .get();
+        return contentCache.get(unitsPath(levelId), unitsQuery(levelId));
     }
 
     public Task<QuerySnapshot> getQuestions(String levelId, String unitId) {
-        return db.collection("levels")
-                .document(levelId)
-                .collection("units")
-                .document(unitId)
-                .collection("questions")
-                .orderBy("order")
-                .get();
+        return contentCache.get(questionsPath(levelId, unitId), questionsQuery(levelId, unitId));
+    }
+
+    private static String levelsPath() {
+        return "levels";
+    }
+
+    private static String unitsPath(String levelId) {
+        return "levels/" + levelId + "/units";
+    }
+
+    private static String questionsPath(String levelId, String unitId) {
+        return unitsPath(levelId) + "/" + unitId + "/questions";
+    }
+
+    private Query levelsQuery() {
+        return db.collection(levelsPath()).orderBy("order");
+    }
+
+    private Query unitsQuery(String levelId) {
+        return db.collection(unitsPath(levelId)).orderBy("order");
+    }
+
+    private Query questionsQuery(String levelId, String unitId) {
+        return db.collection(questionsPath(levelId, unitId)).orderBy("order");
     }
 
     // === PROGRESS & USER DATA ===
@@ -3,6 +3,7 @@ package com.example.engapp;
 import android.content.Intent;
 import android.graphics.Color;
 import android.os.Bundle;
+import android.util.SparseIntArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -15,10 +16,14 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import com.example.engapp.adapter.DiffListAdapter;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.PlanetData;
 import com.example.engapp.database.GameDatabaseHelper.UserProgressData;
+import com.example.engapp.database.GameRepository;
+import com.example.engapp.manager.ProgressionManager;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -28,6 +33,7 @@ import java.util.List;
 public class GalaxyPlanetsActivity extends AppCompatActivity {
 
     private RecyclerView rvPlanets;
+    private PlanetAdapter planetAdapter;
     private TextView tvGalaxyName, tvGalaxyDescription, tvGalaxyEmoji;
     private TextView tvStarCount, tvFuelCount;
     private ImageButton btnBack;
@@ -35,6 +41,7 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
     private GameDatabaseHelper dbHelper;
     private List<PlanetData> planets;
     private UserProgressData userProgress;
+    private SparseIntArray planetProgress = new SparseIntArray(); // planet id -> % scenes completed
 
     private int galaxyId;
     private String galaxyName, galaxyNameVi, galaxyEmoji;
@@ -48,8 +55,8 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
 
         getIntentData();
         initViews();
-        loadData();
         setupUI();
+        // Data is loaded in onResume
     }
 
     private void getIntentData() {
@@ -78,11 +85,26 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
     }
 
     private void loadData() {
-        userProgress = dbHelper.getUserProgress();
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(repository.read(this::queryPlanets), state -> {
+            if (state == null || isFinishing() || isDestroyed()) {
+                return;
+            }
+            userProgress = state.userProgress;
+            planets = state.planets;
+            planetProgress = state.planetProgress;
+            updateStats();
+            planetAdapter.submitItems(planets);
+        });
+    }
+
+    // Runs on a database reader thread
+    private PlanetListState queryPlanets() {
+        PlanetListState state = new PlanetListState();
+        state.userProgress = dbHelper.getUserProgress();
 
         // Lấy danh sách planets theo galaxy_id
         List<PlanetData> allPlanets = dbHelper.getAllPlanets();
-        planets = new ArrayList<>();
 
         // Filter planets theo galaxy
         // Galaxy 1: planet 1-3 (Beginner - Colors, Toys, Numbers)
@@ -93,9 +115,19 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
 
         for (PlanetData planet : allPlanets) {
             if (planet.id >= startPlanet && planet.id <= endPlanet) {
-                planets.add(planet);
+                state.planets.add(planet);
+
+                // Calculate progress from scenes
+                List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planet.id);
+                int completed = 0;
+                for (GameDatabaseHelper.SceneData scene : scenes) {
+                    if (scene.isCompleted) completed++;
+                }
+                state.planetProgress.put(planet.id,
+                    scenes.size() > 0 ? (completed * 100 / scenes.size()) : 0);
             }
         }
+        return state;
     }
 
     private void setupUI() {
@@ -103,12 +135,15 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
         tvGalaxyDescription.setText(galaxyNameVi);
         tvGalaxyEmoji.setText(galaxyEmoji);
 
+        planetAdapter = new PlanetAdapter();
+        rvPlanets.setAdapter(planetAdapter);
+    }
+
+    private void updateStats() {
         if (userProgress != null) {
             tvStarCount.setText(String.valueOf(userProgress.totalStars));
             tvFuelCount.setText(String.valueOf(userProgress.totalFuelCells));
         }
-
-        rvPlanets.setAdapter(new PlanetAdapter());
     }
 
     private void openPlanet(PlanetData planet) {
@@ -148,18 +183,17 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
     protected void onResume() {
         super.onResume();
         loadData();
-        if (rvPlanets.getAdapter() != null) {
-            rvPlanets.getAdapter().notifyDataSetChanged();
-        }
-        if (userProgress != null) {
-            tvStarCount.setText(String.valueOf(userProgress.totalStars));
-            tvFuelCount.setText(String.valueOf(userProgress.totalFuelCells));
-        }
+    }
+
+    private static class PlanetListState {
+        UserProgressData userProgress;
+        final List<PlanetData> planets = new ArrayList<>();
+        final SparseIntArray planetProgress = new SparseIntArray();
     }
 
     // ============ PLANET ADAPTER ============
 
-    class PlanetAdapter extends RecyclerView.Adapter<PlanetAdapter.PlanetViewHolder> {
+    class PlanetAdapter extends DiffListAdapter<PlanetData, PlanetAdapter.PlanetViewHolder> {
 
         private int[] gradientColors = {
             Color.parseColor("#FF6B6B"), // Red/Pink
@@ -173,6 +207,36 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
             Color.parseColor("#E17055"), // Orange
         };
 
+        private final ProgressionManager progressionManager =
+            ProgressionManager.getInstance(GalaxyPlanetsActivity.this);
+
+        @Override
+        protected long getStableId(@NonNull PlanetData planet) {
+            return planet.id;
+        }
+
+        @Override
+        protected Object getContentKey(@NonNull PlanetData planet) {
+            // Lock state, stars still needed and progress live outside PlanetData
+            return Arrays.asList(planet.name, planet.nameVi, planet.emoji, planet.skillFocus,
+                planet.collectibleEmoji, isUnlocked(planet), starsNeeded(planet),
+                planetProgress.get(planet.id));
+        }
+
+        private boolean isUnlocked(PlanetData planet) {
+            return progressionManager.isPlanetUnlocked(planet.planetKey);
+        }
+
+        // -1 when the planet has no star requirement
+        private int starsNeeded(PlanetData planet) {
+            int starsRequired = progressionManager.getStarsRequiredForPlanet(planet.planetKey);
+            if (starsRequired == 0) {
+                return -1;
+            }
+            int currentStars = userProgress != null ? userProgress.totalStars : 0;
+            return Math.max(0, starsRequired - currentStars);
+        }
+
         @NonNull
         @Override
         public PlanetViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -183,7 +247,7 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
 
         @Override
         public void onBindViewHolder(@NonNull PlanetViewHolder holder, int position) {
-            PlanetData planet = planets.get(position);
+            PlanetData planet = getItemAt(position);
 
             holder.tvPlanetName.setText(planet.name);
             holder.tvPlanetNameVi.setText(planet.nameVi);
@@ -196,35 +260,23 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
             holder.planetContainer.setBackgroundColor(gradientColors[colorIndex]);
 
             // Handle lock state - Check unlock status từ ProgressionManager (dùng Stars)
-            com.example.engapp.manager.ProgressionManager progressionManager = 
-                com.example.engapp.manager.ProgressionManager.getInstance(GalaxyPlanetsActivity.this);
-            boolean isUnlocked = progressionManager.isPlanetUnlocked(planet.planetKey);
-            
-            if (isUnlocked) {
+            if (isUnlocked(planet)) {
                 holder.lockOverlay.setVisibility(View.GONE);
                 holder.btnPlay.setVisibility(View.VISIBLE);
             } else {
                 holder.lockOverlay.setVisibility(View.VISIBLE);
                 holder.btnPlay.setVisibility(View.GONE);
                 // Hiển thị stars required thay vì fuel cells
-                int starsRequired = progressionManager.getStarsRequiredForPlanet(planet.planetKey);
-                GameDatabaseHelper.UserProgressData progress = dbHelper.getUserProgress();
-                int currentStars = progress != null ? progress.totalStars : 0;
-                int needed = Math.max(0, starsRequired - currentStars);
-                if (starsRequired == 0) {
+                int needed = starsNeeded(planet);
+                if (needed < 0) {
                     holder.tvRequiredFuel.setText("⭐ Sẵn sàng!");
                 } else {
                     holder.tvRequiredFuel.setText("⭐ " + needed);
                 }
             }
 
-            // Calculate progress from scenes
-            List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planet.id);
-            int completed = 0;
-            for (GameDatabaseHelper.SceneData scene : scenes) {
-                if (scene.isCompleted) completed++;
-            }
-            int progress = scenes.size() > 0 ? (completed * 100 / scenes.size()) : 0;
+            // Scene progress is precomputed off the main thread in queryPlanets()
+            int progress = planetProgress.get(planet.id);
             holder.progressPlanet.setProgress(progress);
             holder.tvProgress.setText(progress + "%");
 
@@ -233,11 +285,6 @@ public class GalaxyPlanetsActivity extends AppCompatActivity {
             holder.btnPlay.setOnClickListener(v -> openPlanet(planet));
         }
 
-        @Override
-        public int getItemCount() {
-            return planets != null ? planets.size() : 0;
-        }
-
         class PlanetViewHolder extends RecyclerView.ViewHolder {
             View planetContainer;
             FrameLayout lockOverlay;
@@ -4,7 +4,6 @@ import android.annotation.SuppressLint;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
 import android.view.View;
 import android.view.animation.AnimationUtils;
 import android.widget.FrameLayout;
@@ -17,16 +16,16 @@ import androidx.cardview.widget.CardView;
 import com.example.engapp.data.GameDataProvider;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.model.Planet;
 import com.example.engapp.model.Word;
 import com.example.engapp.model.Zone;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Random;
 
-public class GuessNameGameActivity extends BaseBuddyActivity implements TextToSpeech.OnInitListener {
+public class GuessNameGameActivity extends BaseBuddyActivity {
 
     private TextView tvScore, tvQuestion, tvEmoji;
     private TextView tvAnswer1, tvAnswer2, tvAnswer3, tvAnswer4;
@@ -36,7 +35,7 @@ public class GuessNameGameActivity extends BaseBuddyActivity implements TextToSp
     private FrameLayout resultOverlay;
     private TextView tvResultEmoji, tvResultText, tvCorrectAnswer, tvLives;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private ProgressionManager progressionManager;
     private GameDatabaseHelper dbHelper;
     private List<Word> words;
@@ -112,7 +111,8 @@ public class GuessNameGameActivity extends BaseBuddyActivity implements TextToSp
     }
 
     private void initTTS() {
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetIdInt);
     }
 
     private void loadWords(String planetId, int zoneIndex) {
@@ -404,9 +404,7 @@ public class GuessNameGameActivity extends BaseBuddyActivity implements TextToSp
     }
 
     private void speakWord(String text) {
-        if (tts != null) {
-            tts.speak(text, TextToSpeech.QUEUE_FLUSH, null, "word");
-        }
+        speech.speak(text, SpeechService.PRIORITY_HIGH, this);
     }
 
     private String capitalizeFirst(String text) {
@@ -423,14 +421,6 @@ public class GuessNameGameActivity extends BaseBuddyActivity implements TextToSp
             .show();
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     @SuppressLint("MissingSuperCall")
     public void onBackPressed() {
@@ -439,9 +429,8 @@ public class GuessNameGameActivity extends BaseBuddyActivity implements TextToSp
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
+        if (speech != null) {
+            speech.cancel(this);
         }
         handler.removeCallbacksAndMessages(null);
         super.onDestroy();
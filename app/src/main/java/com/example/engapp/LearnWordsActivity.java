@@ -2,7 +2,7 @@ package com.example.engapp;
 
 import android.app.Dialog;
 import android.os.Bundle;
-import android.speech.tts.TextToSpeech;
+import android.util.Log;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ImageView;
@@ -13,11 +13,14 @@ import android.widget.Toast;
 import androidx.cardview.widget.CardView;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
+import com.example.engapp.database.GameRepository;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import java.util.List;
-import java.util.Locale;
 
-public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeech.OnInitListener {
+public class LearnWordsActivity extends BaseBuddyActivity {
+
+    private static final String TAG = "LearnWordsActivity";
 
     private TextView tvProgress, tvWordEmoji, tvEnglish, tvPronunciation, tvVietnamese;
     private TextView tvExample, tvExampleVi;
@@ -27,7 +30,7 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
     private ImageView btnBack;
     private CardView cardWord;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private List<WordData> words;
@@ -49,9 +52,8 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
 
         initViews();
         initTTS();
-        loadWords();
         setupClickListeners();
-        displayCurrentWord();
+        loadWords();
     }
 
     private void initViews() {
@@ -71,17 +73,25 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
     }
 
     private void initTTS() {
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetId);
     }
 
     private void loadWords() {
-        words = dbHelper.getWordsForPlanet(planetId);
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(repository.getWordsForPlanet(planetId), result -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            words = result;
 
-        if (words == null || words.isEmpty()) {
-            Toast.makeText(this, "Không có từ vựng!", Toast.LENGTH_SHORT).show();
-            finish();
-            return;
-        }
+            if (words == null || words.isEmpty()) {
+                Toast.makeText(this, "Không có từ vựng!", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            displayCurrentWord();
+        });
     }
 
     private void setupClickListeners() {
@@ -98,6 +108,9 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
         });
 
         btnNext.setOnClickListener(v -> {
+            if (words == null || words.isEmpty()) {
+                return;
+            }
             if (currentIndex < words.size() - 1) {
                 currentIndex++;
                 displayCurrentWord();
@@ -151,25 +164,30 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
     }
 
     private void speakCurrentWord() {
-        if (tts != null && words != null && currentIndex < words.size()) {
+        if (words != null && currentIndex < words.size()) {
             WordData word = words.get(currentIndex);
-            tts.speak(word.english, TextToSpeech.QUEUE_FLUSH, null, "word");
+            speech.speak(word.english, SpeechService.PRIORITY_HIGH, this);
         }
     }
 
     private void completeScene() {
-        // Mark words as learned and record progress
+        int starsEarned = 3;
+
+        // Learned words, scene stars and reward go to the database as one transaction
+        LessonResult result = new LessonResult();
         for (WordData word : words) {
-            dbHelper.markWordAsLearned(word.id);
+            result.learnedWordIds.add(word.id);
             // Record in new progression system
             recordWordLearned(word.english, word.vietnamese, String.valueOf(planetId));
         }
-
-        int starsEarned = 3;
-        
-        // Update scene progress in database
-        dbHelper.updateSceneProgress(sceneId, starsEarned);
-        dbHelper.addStars(starsEarned);
+        result.sceneId = sceneId;
+        result.sceneStars = starsEarned;
+        result.reward.stars = starsEarned;
+        GameRepository.getInstance(this).commitLessonResult(result).exceptionally(error -> {
+            // The transaction rolled back, so none of the lesson reached the database
+            Log.e(TAG, "Could not save lesson result for scene " + result.sceneId, error);
+            return null;
+        });
 
         // Add stars through new progression system
         addStars(starsEarned, "learn_words_" + sceneId);
@@ -188,14 +206,6 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
         });
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     public void onBackPressed() {
         super.onBackPressed();
@@ -212,10 +222,7 @@ public class LearnWordsActivity extends BaseBuddyActivity implements TextToSpeec
             currentDialog = null;
         }
         
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
@@ -4,7 +4,6 @@ import android.annotation.SuppressLint;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
@@ -16,15 +15,15 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import com.example.engapp.data.GameDataProvider;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.model.Planet;
 import com.example.engapp.model.Word;
 import com.example.engapp.model.Zone;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
-public class ListenChooseGameActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class ListenChooseGameActivity extends AppCompatActivity {
 
     private TextView tvScore, tvQuestion, tvLives;
     private TextView tvEmoji1, tvEmoji2, tvEmoji3, tvEmoji4;
@@ -33,7 +32,7 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
     private ProgressBar progressBar;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private ProgressionManager progressionManager;
     private List<Word> words;
     private List<Word> questions;
@@ -44,7 +43,6 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
     private int correctAnswerIndex = 0;
     private int totalQuestions = 10;
     private boolean isAnswering = false;
-    private boolean ttsReady = false;
     private int planetIdInt = -1;
     private int sceneId = -1;
 
@@ -71,6 +69,10 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
         initTTS();
         loadWords(planetId, zoneIndex);
         setupClickListeners();
+        // Words asked for before the engine is ready wait in SpeechService's queue
+        if (!isFinishing()) {
+            startGame();
+        }
     }
 
     private void initViews() {
@@ -91,7 +93,8 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
     }
 
     private void initTTS() {
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetIdInt);
     }
 
     private void loadWords(String planetId, int zoneIndex) {
@@ -179,8 +182,8 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
     }
 
     private void speakCurrentWord() {
-        if (tts != null && ttsReady && currentWord != null) {
-            tts.speak(currentWord.getEnglish(), TextToSpeech.QUEUE_FLUSH, null, "word");
+        if (currentWord != null) {
+            speech.speak(currentWord.getEnglish(), SpeechService.PRIORITY_HIGH, this);
         }
     }
 
@@ -289,18 +292,6 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
             .show();
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            int result = tts.setLanguage(Locale.US);
-            if (result != TextToSpeech.LANG_MISSING_DATA && result != TextToSpeech.LANG_NOT_SUPPORTED) {
-                ttsReady = true;
-                tts.setSpeechRate(0.8f);
-                startGame();
-            }
-        }
-    }
-
     @Override
     @SuppressLint("MissingSuperCall")
     public void onBackPressed() {
@@ -309,9 +300,8 @@ public class ListenChooseGameActivity extends AppCompatActivity implements TextT
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
+        if (speech != null) {
+            speech.cancel(this);
         }
         handler.removeCallbacksAndMessages(null);
         super.onDestroy();
@@ -4,7 +4,7 @@ import android.annotation.SuppressLint;
 import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
+import android.util.Log;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
@@ -15,23 +15,26 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import com.example.engapp.data.GameDataProvider;
 import com.example.engapp.database.GameDatabaseHelper;
+import com.example.engapp.database.GameDatabaseHelper.LessonResult;
+import com.example.engapp.database.GameRepository;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.model.Planet;
 import com.example.engapp.model.Word;
 import com.example.engapp.model.Zone;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
-public class MatchGameActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class MatchGameActivity extends AppCompatActivity {
+
+    private static final String TAG = "MatchGameActivity";
 
     private TextView tvScore, tvMatches;
     private ImageView btnBack;
     private ProgressBar progressBar;
 
-    private TextToSpeech tts;
-    private GameDatabaseHelper dbHelper;
+    private SpeechService speech;
     private ProgressionManager progressionManager;
     private List<Word> words;
     private List<MatchCard> cards = new ArrayList<>();
@@ -66,21 +69,27 @@ public class MatchGameActivity extends AppCompatActivity implements TextToSpeech
             return;
         }
 
-        dbHelper = GameDatabaseHelper.getInstance(this);
         progressionManager = ProgressionManager.getInstance(this);
 
         initViews();
         initTTS();
-        loadWords(planetId, zoneIndex);
-        
-        // Check if words loaded successfully
-        if (words == null || words.isEmpty()) {
-            Toast.makeText(this, "Không thể tải dữ liệu từ vựng. Vui lòng thử lại.", Toast.LENGTH_LONG).show();
-            finish();
-            return;
-        }
-        
-        setupGame();
+
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(repository.getWordsForPlanet(planetIdInt), wordDataList -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            loadWords(wordDataList, planetId, zoneIndex);
+
+            // Check if words loaded successfully
+            if (words == null || words.isEmpty()) {
+                Toast.makeText(this, "Không thể tải dữ liệu từ vựng. Vui lòng thử lại.", Toast.LENGTH_LONG).show();
+                finish();
+                return;
+            }
+
+            setupGame();
+        });
     }
 
     private void initViews() {
@@ -127,15 +136,15 @@ public class MatchGameActivity extends AppCompatActivity implements TextToSpeech
     }
 
     private void initTTS() {
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
+        speech.prefetchPlanet(planetIdInt);
     }
 
-    private void loadWords(String planetId, int zoneIndex) {
+    private void loadWords(List<GameDatabaseHelper.WordData> wordDataList, String planetId, int zoneIndex) {
         words = new ArrayList<>();
         
-        // Try to load from database first (preferred method)
+        // Database words are preferred (loaded off the main thread in onCreate)
         if (planetIdInt > 0) {
-            List<GameDatabaseHelper.WordData> wordDataList = dbHelper.getWordsForPlanet(planetIdInt);
             if (wordDataList != null && !wordDataList.isEmpty()) {
                 // Convert WordData to Word model
                 for (GameDatabaseHelper.WordData wordData : wordDataList) {
@@ -232,8 +241,8 @@ public class MatchGameActivity extends AppCompatActivity implements TextToSpeech
         cardViews[index].setCardBackgroundColor(0x60FFFFFF);
 
         // Phát âm từ khi chọn card hình (emoji)
-        if (card.isEmoji && tts != null) {
-            tts.speak(card.matchKey, TextToSpeech.QUEUE_FLUSH, null, "word");
+        if (card.isEmoji) {
+            speech.speak(card.matchKey, SpeechService.PRIORITY_HIGH, this);
         }
 
         if (firstSelected == null) {
@@ -301,9 +310,15 @@ public class MatchGameActivity extends AppCompatActivity implements TextToSpeech
         
         // Record lesson completion to unlock next lesson
         if (planetIdInt > 0 && sceneId > 0 && stars > 0) {
-            // Update scene progress in database
-            dbHelper.updateSceneProgress(sceneId, stars);
-            dbHelper.addStars(stars);
+            // Scene stars and the star reward go to the database as one transaction
+            LessonResult result = new LessonResult();
+            result.sceneId = sceneId;
+            result.sceneStars = stars;
+            result.reward.stars = stars;
+            GameRepository.getInstance(this).commitLessonResult(result).exceptionally(error -> {
+                Log.e(TAG, "Could not save match result for scene " + result.sceneId, error);
+                return null;
+            });
             // Record lesson completion
             progressionManager.recordLessonCompleted(planetIdInt, sceneId, stars);
         }
@@ -345,14 +360,6 @@ public class MatchGameActivity extends AppCompatActivity implements TextToSpeech
             .show();
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     @SuppressLint("MissingSuperCall")
     public void onBackPressed() {
@@ -361,9 +368,8 @@ public class MatchGameActivity extends AppCompatActivity implements TextToSpeech
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
+        if (speech != null) {
+            speech.cancel(this);
         }
         handler.removeCallbacksAndMessages(null);
         super.onDestroy();
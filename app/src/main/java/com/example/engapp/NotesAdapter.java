@@ -6,34 +6,41 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
+import com.example.engapp.adapter.DiffListAdapter;
 import com.example.engapp.database.GameDatabaseHelper.NoteData;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 
-public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHolder> {
+public class NotesAdapter extends DiffListAdapter<NoteData, NotesAdapter.NoteViewHolder> {
 
     public interface NoteActionListener {
         void onDelete(NoteData note);
     }
 
-    private List<NoteData> notes = new ArrayList<>();
     private final NoteActionListener listener;
     private final SimpleDateFormat dateFormat =
         new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
 
     public NotesAdapter(List<NoteData> notes, NoteActionListener listener) {
-        if (notes != null) {
-            this.notes = notes;
-        }
         this.listener = listener;
+        submitItems(notes);
     }
 
     public void updateNotes(List<NoteData> newNotes) {
-        notes = newNotes != null ? newNotes : new ArrayList<>();
-        notifyDataSetChanged();
+        submitItems(newNotes);
+    }
+
+    @Override
+    protected long getStableId(@NonNull NoteData note) {
+        return note.id;
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull NoteData note) {
+        return Arrays.asList(note.content, note.updatedAt);
     }
 
     @NonNull
@@ -46,13 +53,7 @@ public class NotesAdapter extends RecyclerView.Adapter<NotesAdapter.NoteViewHold
 
     @Override
     public void onBindViewHolder(@NonNull NoteViewHolder holder, int position) {
-        NoteData note = notes.get(position);
-        holder.bind(note);
-    }
-
-    @Override
-    public int getItemCount() {
-        return notes.size();
+        holder.bind(getItemAt(position));
     }
 
     class NoteViewHolder extends RecyclerView.ViewHolder {
@@ -13,13 +13,18 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import com.example.engapp.adapter.DiffListAdapter;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
+import com.example.engapp.database.GameRepository;
+import com.example.engapp.manager.SpeechService;
+import java.util.Arrays;
 import java.util.List;
 
 public class PlanetActivity extends AppCompatActivity {
 
     private RecyclerView recyclerZones;
+    private SceneAdapter sceneAdapter;
     private TextView tvPlanetName, tvPlanetNameVi, tvPlanetEmoji, tvProgress, tvStars;
     private TextView tvGrammarFocus, tvCollectibles;
     private ProgressBar progressPlanet;
@@ -30,6 +35,7 @@ public class PlanetActivity extends AppCompatActivity {
     private int planetId;
     private PlanetData currentPlanet;
     private List<SceneData> scenes;
+    private boolean contentReady;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -46,10 +52,20 @@ public class PlanetActivity extends AppCompatActivity {
         }
 
         dbHelper = GameDatabaseHelper.getInstance(this);
+        // Cache this planet's words while the player picks a scene
+        SpeechService.getInstance(this).prefetchPlanet(planetId);
 
         initViews();
-        loadPlanet();
-        setupScenes();
+        // The first screen of a process may arrive before the seeded curriculum is verified
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(dbHelper.whenPlanetsSeeded(), ready -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            contentReady = true;
+            loadPlanet();
+            setupScenes();
+        });
     }
 
     private void initViews() {
@@ -80,7 +96,6 @@ public class PlanetActivity extends AppCompatActivity {
         tvPlanetNameVi.setText(currentPlanet.nameVi);
         tvPlanetEmoji.setText(currentPlanet.emoji);
 
-        dbHelper.ensurePlanetsSeededNow();
         // Load scenes
         scenes = dbHelper.getScenesForPlanet(planetId);
 
@@ -100,7 +115,9 @@ public class PlanetActivity extends AppCompatActivity {
 
     private void setupScenes() {
         recyclerZones.setLayoutManager(new LinearLayoutManager(this));
-        recyclerZones.setAdapter(new SceneAdapter());
+        sceneAdapter = new SceneAdapter();
+        recyclerZones.setAdapter(sceneAdapter);
+        sceneAdapter.submitItems(scenes);
     }
 
     @Override
@@ -112,20 +129,44 @@ public class PlanetActivity extends AppCompatActivity {
     @Override
     protected void onResume() {
         super.onResume();
+        if (!contentReady) {
+            // onCreate's load has not run yet and will pick up the latest state itself
+            return;
+        }
         loadPlanet();
-        if (recyclerZones.getAdapter() != null) {
-            recyclerZones.getAdapter().notifyDataSetChanged();
+        if (sceneAdapter != null) {
+            // Coming back from a scene usually changes that scene and unlocks the next one
+            sceneAdapter.submitItems(scenes);
         }
     }
 
     // ============ SCENE ADAPTER ============
 
-    class SceneAdapter extends RecyclerView.Adapter<SceneAdapter.SceneViewHolder> {
+    class SceneAdapter extends DiffListAdapter<SceneData, SceneAdapter.SceneViewHolder> {
 
         private String[] sceneColors = {
             "#4ECDC4", "#FF6B6B", "#45B7D1", "#96CEB4", "#A29BFE"
         };
 
+        @Override
+        protected long getStableId(@NonNull SceneData scene) {
+            return scene.id;
+        }
+
+        @Override
+        protected Object getContentKey(@NonNull SceneData scene) {
+            return Arrays.asList(scene.name, scene.nameVi, scene.emoji, scene.description,
+                scene.starsEarned, scene.isCompleted);
+        }
+
+        @Override
+        protected Object getContentKey(@NonNull List<SceneData> items, int position) {
+            // Color and lock state come from the scene's place in the chain
+            boolean unlocked = position == 0 || items.get(position - 1).isCompleted;
+            return Arrays.asList(getContentKey(items.get(position)),
+                position % sceneColors.length, unlocked);
+        }
+
         @NonNull
         @Override
         public SceneViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -136,7 +177,7 @@ public class PlanetActivity extends AppCompatActivity {
 
         @Override
         public void onBindViewHolder(@NonNull SceneViewHolder holder, int position) {
-            SceneData scene = scenes.get(position);
+            SceneData scene = getItemAt(position);
 
             holder.tvSceneName.setText(scene.name);
             holder.tvSceneNameVi.setText(scene.nameVi);
@@ -153,7 +194,7 @@ public class PlanetActivity extends AppCompatActivity {
                 "☆☆☆");
 
             // Lock state - first scene always unlocked, others need previous completed
-            boolean isUnlocked = position == 0 || (position > 0 && scenes.get(position - 1).isCompleted);
+            boolean isUnlocked = position == 0 || getItemAt(position - 1).isCompleted;
 
             if (isUnlocked) {
                 holder.lockOverlay.setVisibility(View.GONE);
@@ -174,16 +215,11 @@ public class PlanetActivity extends AppCompatActivity {
             final boolean finalUnlocked = isUnlocked;
             holder.itemView.setOnClickListener(v -> {
                 if (finalUnlocked) {
-                    openScene(scene, position);
+                    openScene(scene, holder.getBindingAdapterPosition());
                 }
             });
         }
 
-        @Override
-        public int getItemCount() {
-            return scenes != null ? scenes.size() : 0;
-        }
-
         class SceneViewHolder extends RecyclerView.ViewHolder {
             View sceneContainer, lockOverlay;
             TextView tvSceneName, tvSceneNameVi, tvSceneEmoji;
@@ -13,6 +13,8 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.engapp.adapter.PlanetNodeAdapter;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.SceneData;
+import com.example.engapp.database.GameRepository;
+import com.example.engapp.manager.SpeechService;
 import java.util.List;
 
 public class PlanetMapActivity extends AppCompatActivity implements PlanetNodeAdapter.OnNodeClickListener {
@@ -29,6 +31,7 @@ public class PlanetMapActivity extends AppCompatActivity implements PlanetNodeAd
 
     private int planetId;
     private String planetName, planetNameVi, planetEmoji, planetColor;
+    private boolean contentReady;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -37,10 +40,20 @@ public class PlanetMapActivity extends AppCompatActivity implements PlanetNodeAd
 
         dbHelper = GameDatabaseHelper.getInstance(this);
 
-        getIntentData();
         initViews();
-        loadNodes();
-        setupUI();
+        // The first screen of a process may arrive before the seeded curriculum is verified
+        GameRepository repository = GameRepository.getInstance(this);
+        repository.deliver(dbHelper.whenPlanetsSeeded(), ready -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            contentReady = true;
+            getIntentData();
+            // Cache this planet's words while the player picks a lesson
+            SpeechService.getInstance(this).prefetchPlanet(planetId);
+            loadNodes();
+            setupUI();
+        });
     }
 
     private void getIntentData() {
@@ -113,7 +126,6 @@ public class PlanetMapActivity extends AppCompatActivity implements PlanetNodeAd
             fw.close();
         } catch (Exception e) {}
         // #endregion
-        dbHelper.ensurePlanetsSeededNow();
         nodes = dbHelper.getScenesForPlanet(planetId);
         // #region agent log
         try {
@@ -157,14 +169,13 @@ public class PlanetMapActivity extends AppCompatActivity implements PlanetNodeAd
         progressPlanet.setProgress(progress);
         tvProgress.setText(progress + "%");
 
-        // Update adapter - create new if doesn't exist, otherwise update data and notify
+        // Update adapter - create new if doesn't exist, otherwise diff in the new data
         if (adapter == null) {
-            adapter = new PlanetNodeAdapter(nodes, this);
+            adapter = new PlanetNodeAdapter(this, nodes, this);
             rvNodes.setAdapter(adapter);
         } else {
-            // Update existing adapter's data
+            // Only nodes whose stars or lock state changed rebind
             adapter.updateNodes(nodes);
-            adapter.notifyDataSetChanged();
         }
     }
 
@@ -254,6 +265,10 @@ public class PlanetMapActivity extends AppCompatActivity implements PlanetNodeAd
     @Override
     protected void onResume() {
         super.onResume();
+        if (!contentReady) {
+            // onCreate's load has not run yet and will pick up the latest state itself
+            return;
+        }
         // #region agent log
         try {
             java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
@@ -2,7 +2,6 @@ package com.example.engapp;
 
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
 import android.view.DragEvent;
 import android.view.View;
 import android.widget.ImageView;
@@ -14,20 +13,20 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 
-public class PuzzleGameActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class PuzzleGameActivity extends AppCompatActivity {
 
     private TextView tvQuestion, tvProgress, tvScore;
     private LinearLayout wordContainer, answerContainer;
     private ProgressBar progressBar;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private int planetId, sceneId;
@@ -50,7 +49,7 @@ public class PuzzleGameActivity extends AppCompatActivity implements TextToSpeec
 
         dbHelper = GameDatabaseHelper.getInstance(this);
         progressionManager = ProgressionManager.getInstance(this);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
 
         initViews();
         loadSentences();
@@ -195,9 +194,7 @@ public class PuzzleGameActivity extends AppCompatActivity implements TextToSpeec
             tvScore.setText("⭐ " + score);
             Toast.makeText(this, "🎉 Đúng rồi!", Toast.LENGTH_SHORT).show();
 
-            if (tts != null) {
-                tts.speak(correctSentence, TextToSpeech.QUEUE_FLUSH, null, "sentence");
-            }
+            speech.speak(correctSentence, SpeechService.PRIORITY_HIGH, this);
 
             new Handler().postDelayed(() -> {
                 currentIndex++;
@@ -230,20 +227,9 @@ public class PuzzleGameActivity extends AppCompatActivity implements TextToSpeec
         SpaceDialog.showResult(this, "🧩", "Hoàn thành Puzzle!", message, stars, "Tiếp tục", () -> finish());
     }
 
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
-    }
-
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
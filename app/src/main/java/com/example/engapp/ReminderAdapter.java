@@ -7,11 +7,12 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.appcompat.widget.SwitchCompat;
 import androidx.recyclerview.widget.RecyclerView;
+import com.example.engapp.adapter.DiffListAdapter;
 import com.example.engapp.database.GameDatabaseHelper.ReminderData;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-public class ReminderAdapter extends RecyclerView.Adapter<ReminderAdapter.ReminderViewHolder> {
+public class ReminderAdapter extends DiffListAdapter<ReminderData, ReminderAdapter.ReminderViewHolder> {
 
     public interface ReminderActionListener {
         void onToggle(ReminderData reminder, boolean enabled);
@@ -19,19 +20,26 @@ public class ReminderAdapter extends RecyclerView.Adapter<ReminderAdapter.Remind
         void onEdit(ReminderData reminder);
     }
 
-    private List<ReminderData> reminders = new ArrayList<>();
     private final ReminderActionListener listener;
 
     public ReminderAdapter(List<ReminderData> reminders, ReminderActionListener listener) {
-        if (reminders != null) {
-            this.reminders = reminders;
-        }
         this.listener = listener;
+        submitItems(reminders);
     }
 
     public void updateReminders(List<ReminderData> newReminders) {
-        reminders = newReminders != null ? newReminders : new ArrayList<>();
-        notifyDataSetChanged();
+        submitItems(newReminders);
+    }
+
+    @Override
+    protected long getStableId(@NonNull ReminderData reminder) {
+        return reminder.id;
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull ReminderData reminder) {
+        return Arrays.asList(reminder.label, reminder.hour, reminder.minute,
+            reminder.repeatDays, reminder.isEnabled);
     }
 
     @NonNull
@@ -44,13 +52,7 @@ public class ReminderAdapter extends RecyclerView.Adapter<ReminderAdapter.Remind
 
     @Override
     public void onBindViewHolder(@NonNull ReminderViewHolder holder, int position) {
-        ReminderData reminder = reminders.get(position);
-        holder.bind(reminder);
-    }
-
-    @Override
-    public int getItemCount() {
-        return reminders.size();
+        holder.bind(getItemAt(position));
     }
 
     class ReminderViewHolder extends RecyclerView.ViewHolder {
@@ -113,18 +113,12 @@ public class RewardActivity extends AppCompatActivity {
     private void saveRewards() {
         GameDatabaseHelper dbHelper = GameDatabaseHelper.getInstance(this);
 
-        if (starsEarned > 0) {
-            dbHelper.addStars(starsEarned);
-        }
-        if (fuelEarned > 0) {
-            dbHelper.addFuelCells(fuelEarned);
-        }
-        if (crystalsEarned > 0) {
-            dbHelper.addCrystals(crystalsEarned);
-        }
-        if (experienceEarned > 0) {
-            dbHelper.addExperience(experienceEarned);
-        }
+        GameDatabaseHelper.RewardDelta reward = new GameDatabaseHelper.RewardDelta();
+        reward.stars = Math.max(0, starsEarned);
+        reward.fuelCells = Math.max(0, fuelEarned);
+        reward.crystals = Math.max(0, crystalsEarned);
+        reward.experience = Math.max(0, experienceEarned);
+        dbHelper.applyRewards(reward);
     }
 
     @Override
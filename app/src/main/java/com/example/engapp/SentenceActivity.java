@@ -1,7 +1,6 @@
 package com.example.engapp;
 
 import android.os.Bundle;
-import android.speech.tts.TextToSpeech;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
@@ -12,6 +11,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.engapp.data.GameDataProvider;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.manager.ProgressionManager;
+import com.example.engapp.manager.SpeechService;
 import com.example.engapp.model.Planet;
 import com.example.engapp.model.Sentence;
 import com.example.engapp.model.Zone;
@@ -19,7 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
-public class SentenceActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class SentenceActivity extends AppCompatActivity {
 
     private TextView tvProgress, tvSentenceEn, tvSentenceVi, tvKeywords;
     private ProgressBar progressBar;
@@ -27,7 +27,7 @@ public class SentenceActivity extends AppCompatActivity implements TextToSpeech.
     private LinearLayout btnListen;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private ProgressionManager progressionManager;
     private List<Sentence> sentences;
@@ -97,7 +97,7 @@ public class SentenceActivity extends AppCompatActivity implements TextToSpeech.
     }
 
     private void initTTS() {
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
     }
 
     private void loadSentences(String planetId, int zoneIndex) {
@@ -311,25 +311,16 @@ public class SentenceActivity extends AppCompatActivity implements TextToSpeech.
     }
 
     private void speakSentence() {
-        if (tts != null && sentences != null && currentIndex < sentences.size()) {
+        if (sentences != null && currentIndex < sentences.size()) {
             String text = sentences.get(currentIndex).getEnglish();
-            tts.speak(text, TextToSpeech.QUEUE_FLUSH, null, "sentence");
-        }
-    }
-
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.7f);
+            speech.speak(text, Locale.US, 0.7f, SpeechService.PRIORITY_HIGH, this);
         }
     }
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
+        if (speech != null) {
+            speech.cancel(this);
         }
         super.onDestroy();
     }
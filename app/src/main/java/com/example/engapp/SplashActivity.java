@@ -10,6 +10,7 @@ import android.view.animation.AnimationUtils;
 import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 import com.example.engapp.manager.LessonUnlockManager;
+import com.example.engapp.manager.SpeechService;
 import com.google.firebase.auth.FirebaseAuth;
 
 public class SplashActivity extends AppCompatActivity {
@@ -20,6 +21,9 @@ public class SplashActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
 
+        // Bind the speech engine while the splash plays so the first game word is not silent
+        SpeechService.getInstance(this);
+
         // Get views
         TextView tvLogo = findViewById(R.id.tvLogo);
         TextView tvFire = findViewById(R.id.tvFire);
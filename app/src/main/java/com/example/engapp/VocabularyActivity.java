@@ -10,7 +10,9 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +24,7 @@ public class VocabularyActivity extends AppCompatActivity {
     private ProgressBar progressBar;
     private TextView tvCategoryTitle;
     private String selectedCategory;
+    private ListenerRegistration vocabularyRegistration;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -47,7 +50,7 @@ public class VocabularyActivity extends AppCompatActivity {
 
         // Setup RecyclerView
         vocabularyList = new ArrayList<>();
-        adapter = new VocabularyAdapter(this, vocabularyList, vocabulary -> {
+        adapter = new VocabularyAdapter(this, vocabulary -> {
             // Khi click vào từ vựng, mở VocabularyDetailActivity
             Intent intent = new Intent(VocabularyActivity.this, VocabularyDetailActivity.class);
             intent.putExtra("vocabularyId", vocabulary.getId());
@@ -69,33 +72,51 @@ public class VocabularyActivity extends AppCompatActivity {
 
     private void loadVocabulary() {
         progressBar.setVisibility(View.VISIBLE);
-        
-        db.collection("vocabulary")
-                .get()
-                .addOnCompleteListener(task -> {
-                    progressBar.setVisibility(View.GONE);
-                    if (task.isSuccessful()) {
-                        vocabularyList.clear();
-                        // Filter theo category ở client-side
-                        for (QueryDocumentSnapshot document : task.getResult()) {
-                            Vocabulary vocab = document.toObject(Vocabulary.class);
-                            if (vocab.getCategory() != null && 
-                                vocab.getCategory().equals(selectedCategory)) {
-                                vocabularyList.add(vocab);
-                            }
-                        }
-                        adapter.notifyDataSetChanged();
-                        
-                        if (vocabularyList.isEmpty()) {
-                            Toast.makeText(VocabularyActivity.this, 
-                                    "No vocabulary found for " + selectedCategory, 
-                                    Toast.LENGTH_SHORT).show();
-                        }
-                    } else {
-                        Toast.makeText(VocabularyActivity.this, 
-                                "Error loading data: " + task.getException().getMessage(), 
+
+        // Cached content shows immediately; a background refresh re-renders only if it changed
+        vocabularyRegistration = ContentCache.getInstance(this).observe(
+                "vocabulary", db.collection("vocabulary"), new ContentCache.ContentObserver() {
+                    @Override
+                    public void onContent(QuerySnapshot snapshot) {
+                        progressBar.setVisibility(View.GONE);
+                        showVocabulary(snapshot);
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        progressBar.setVisibility(View.GONE);
+                        Toast.makeText(VocabularyActivity.this,
+                                "Error loading data: " + e.getMessage(),
                                 Toast.LENGTH_SHORT).show();
                     }
                 });
     }
+
+    private void showVocabulary(QuerySnapshot snapshot) {
+        vocabularyList = new ArrayList<>();
+        // Filter theo category ở client-side
+        for (QueryDocumentSnapshot document : snapshot) {
+            Vocabulary vocab = document.toObject(Vocabulary.class);
+            if (vocab.getCategory() != null &&
+                    vocab.getCategory().equals(selectedCategory)) {
+                vocabularyList.add(vocab);
+            }
+        }
+        // A refresh that changed one definition rebinds only that row
+        adapter.submitItems(vocabularyList);
+
+        if (vocabularyList.isEmpty()) {
+            Toast.makeText(VocabularyActivity.this,
+                    "No vocabulary found for " + selectedCategory,
+                    Toast.LENGTH_SHORT).show();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (vocabularyRegistration != null) {
+            vocabularyRegistration.remove();
+        }
+    }
 }
@@ -8,23 +8,34 @@ import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
-import java.util.List;
+import com.example.engapp.adapter.DiffListAdapter;
+import java.util.Arrays;
 
-public class VocabularyAdapter extends RecyclerView.Adapter<VocabularyAdapter.VocabularyViewHolder> {
+public class VocabularyAdapter extends DiffListAdapter<Vocabulary, VocabularyAdapter.VocabularyViewHolder> {
     private Context context;
-    private List<Vocabulary> vocabularyList;
     private OnVocabularyClickListener listener;
 
     public interface OnVocabularyClickListener {
         void onVocabularyClick(Vocabulary vocabulary);
     }
 
-    public VocabularyAdapter(Context context, List<Vocabulary> vocabularyList, OnVocabularyClickListener listener) {
+    public VocabularyAdapter(Context context, OnVocabularyClickListener listener) {
         this.context = context;
-        this.vocabularyList = vocabularyList;
         this.listener = listener;
     }
 
+    @Override
+    protected long getStableId(@NonNull Vocabulary vocab) {
+        // Documents without a numeric id all come back as 0
+        return stableId(vocab.getId() + ":" + vocab.getTerm());
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull Vocabulary vocab) {
+        return Arrays.asList(vocab.getTerm(), vocab.getType(), vocab.getPronunciation(),
+                vocab.getDefinition(), vocab.getExample(), vocab.getCategory(), vocab.getImage());
+    }
+
     @NonNull
     @Override
     public VocabularyViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -34,7 +45,7 @@ public class VocabularyAdapter extends RecyclerView.Adapter<VocabularyAdapter.Vo
 
     @Override
     public void onBindViewHolder(@NonNull VocabularyViewHolder holder, int position) {
-        Vocabulary vocab = vocabularyList.get(position);
+        Vocabulary vocab = getItemAt(position);
         
         holder.tvTerm.setText(vocab.getTerm());
         holder.tvType.setText("(" + vocab.getType() + ")");
@@ -62,11 +73,6 @@ public class VocabularyAdapter extends RecyclerView.Adapter<VocabularyAdapter.Vo
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return vocabularyList.size();
-    }
-
     static class VocabularyViewHolder extends RecyclerView.ViewHolder {
         TextView tvTerm, tvType, tvPronunciation, tvDefinition;
         ImageView ivImage;
@@ -1,7 +1,6 @@
 package com.example.engapp;
 
 import android.os.Bundle;
-import android.speech.tts.TextToSpeech;
 import android.view.View;
 import android.widget.ImageButton;
 import android.widget.ImageView;
@@ -9,6 +8,8 @@ import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import com.bumptech.glide.Glide;
+import com.example.engapp.manager.SpeechService;
+
 import java.util.Locale;
 
 public class VocabularyDetailActivity extends AppCompatActivity {
@@ -16,9 +17,8 @@ public class VocabularyDetailActivity extends AppCompatActivity {
     private ImageButton btnSpeak;
     private ImageView ivVocabImage;
     private androidx.cardview.widget.CardView cardImageDetail;
-    private TextToSpeech textToSpeech;
+    private SpeechService speech;
     private String term, pronunciation;
-    private boolean ttsReady = false;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -66,57 +66,34 @@ public class VocabularyDetailActivity extends AppCompatActivity {
             cardImageDetail.setVisibility(View.GONE);
         }
 
-        // Disable nút Speak cho đến khi TTS sẵn sàng
+        // Text-to-Speech dùng chung cho cả app
+        speech = SpeechService.getInstance(this);
         btnSpeak.setEnabled(false);
         btnSpeak.setAlpha(0.5f);
-
-        // Khởi tạo Text-to-Speech
-        initTextToSpeech();
-
-        // Xử lý nút Speak
-        btnSpeak.setOnClickListener(v -> speakWord());
-    }
-
-    private void initTextToSpeech() {
-        textToSpeech = new TextToSpeech(this, status -> {
-            if (status == TextToSpeech.SUCCESS) {
-                int result = textToSpeech.setLanguage(Locale.US);
-                if (result == TextToSpeech.LANG_MISSING_DATA || result == TextToSpeech.LANG_NOT_SUPPORTED) {
-                    Toast.makeText(this, "Language not supported", Toast.LENGTH_SHORT).show();
-                    btnSpeak.setEnabled(false);
-                    btnSpeak.setAlpha(0.5f);
-                    ttsReady = false;
-                } else {
-                    // TTS sẵn sàng - enable nút và đặt alpha về bình thường
-                    ttsReady = true;
-                    btnSpeak.setEnabled(true);
-                    btnSpeak.setAlpha(1.0f);
-                }
+        speech.checkAvailability(Locale.US, this, availability -> {
+            if (availability == SpeechService.AVAILABLE) {
+                btnSpeak.setEnabled(true);
+                btnSpeak.setAlpha(1.0f);
+            } else if (availability == SpeechService.LANGUAGE_UNAVAILABLE) {
+                Toast.makeText(this, "Language not supported", Toast.LENGTH_SHORT).show();
             } else {
                 Toast.makeText(this, "Text-to-Speech initialization failed", Toast.LENGTH_SHORT).show();
-                btnSpeak.setEnabled(false);
-                btnSpeak.setAlpha(0.5f);
-                ttsReady = false;
             }
         });
+
+        // Xử lý nút Speak
+        btnSpeak.setOnClickListener(v -> speakWord());
     }
 
     private void speakWord() {
-        if (textToSpeech != null && ttsReady && term != null && !term.isEmpty()) {
-            // Dừng speech trước nếu đang chạy
-            if (textToSpeech.isSpeaking()) {
-                textToSpeech.stop();
-            }
-            textToSpeech.speak(term, TextToSpeech.QUEUE_FLUSH, null, null);
+        if (term != null && !term.isEmpty()) {
+            speech.speak(term, SpeechService.PRIORITY_HIGH, this);
         }
     }
 
     @Override
     protected void onDestroy() {
-        if (textToSpeech != null) {
-            textToSpeech.stop();
-            textToSpeech.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 }
@@ -5,7 +5,6 @@ import android.animation.AnimatorListenerAdapter;
 import android.animation.ObjectAnimator;
 import android.os.Bundle;
 import android.os.Handler;
-import android.speech.tts.TextToSpeech;
 import android.view.View;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.Animation;
@@ -17,12 +16,12 @@ import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.cardview.widget.CardView;
 import com.bumptech.glide.Glide;
+import com.example.engapp.manager.SpeechService;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Locale;
 import java.util.Random;
 
 public class VocabularyGameActivity extends AppCompatActivity {
@@ -33,8 +32,7 @@ public class VocabularyGameActivity extends AppCompatActivity {
     private View wrongOverlay1, wrongOverlay2, wrongOverlay3, wrongOverlay4;
     private ProgressBar progressBar;
     
-    private TextToSpeech tts;
-    private boolean ttsReady = false;
+    private SpeechService speech;
     
     private FirebaseFirestore db;
     private List<Vocabulary> allVocabulary = new ArrayList<>();
@@ -104,12 +102,7 @@ public class VocabularyGameActivity extends AppCompatActivity {
     }
     
     private void initTTS() {
-        tts = new TextToSpeech(this, status -> {
-            if (status == TextToSpeech.SUCCESS) {
-                int result = tts.setLanguage(Locale.US);
-                ttsReady = (result != TextToSpeech.LANG_MISSING_DATA && result != TextToSpeech.LANG_NOT_SUPPORTED);
-            }
-        });
+        speech = SpeechService.getInstance(this);
     }
     
     private void initFirestore() {
@@ -117,8 +110,8 @@ public class VocabularyGameActivity extends AppCompatActivity {
     }
     
     private void loadVocabularyData() {
-        db.collection("vocabulary")
-            .get()
+        // Same cached collection as VocabularyActivity, so a second open needs no round trip
+        ContentCache.getInstance(this).get("vocabulary", db.collection("vocabulary"))
             .addOnSuccessListener(queryDocumentSnapshots -> {
                 allVocabulary.clear();
                 for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
@@ -248,9 +241,7 @@ public class VocabularyGameActivity extends AppCompatActivity {
         Vocabulary clickedVocab = getVocabularyFromImage(imageOptions[optionIndex]);
         
         // Speak the word
-        if (ttsReady) {
-            tts.speak(currentCorrectAnswer.getTerm(), TextToSpeech.QUEUE_FLUSH, null, null);
-        }
+        speech.speak(currentCorrectAnswer.getTerm(), SpeechService.PRIORITY_HIGH, this);
         
         // Check answer
         boolean isCorrect = clickedVocab != null && clickedVocab.getId() == currentCorrectAnswer.getId();
@@ -407,9 +398,8 @@ public class VocabularyGameActivity extends AppCompatActivity {
     
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
+        if (speech != null) {
+            speech.cancel(this);
         }
         super.onDestroy();
     }
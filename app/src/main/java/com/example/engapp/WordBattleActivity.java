@@ -1,11 +1,9 @@
 package com.example.engapp;
 
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.os.SystemClock;
-import android.speech.tts.TextToSpeech;
 import android.util.TypedValue;
+import android.view.Choreographer;
 import android.view.View;
 import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
@@ -21,12 +19,10 @@ import androidx.core.content.ContextCompat;
 
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.WordData;
+import com.example.engapp.manager.SpeechService;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -37,11 +33,23 @@ import java.util.Set;
 /**
  * WordBattle - Horse race word game for kids.
  * Build words from letters to boost the player's horse.
+ *
+ * The race is simulated in fixed TICK_MS steps, driven from Choreographer frames: each frame
+ * runs however many steps are due and then draws the horses interpolated between the last two
+ * steps, so motion is smooth at any refresh rate while the rules stay frame-rate independent.
+ * Race state is kept in primitive arrays, and a view is only written when its rounded value
+ * changes.
  */
-public class WordBattleActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class WordBattleActivity extends AppCompatActivity {
 
     private static final int AI_COUNT = 3;
     private static final long TICK_MS = 50L;
+    // After a stall (GC, dialog, slow device) drop the backlog instead of fast-forwarding
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    private static final String[] AI_NAMES = {"Comet", "Bolt", "Rocket"};
+    // A rack is replaced after three correct words, so it must offer at least that many
+    private static final int MIN_RACK_WORDS = 3;
+    private static final int MAX_RACK_ATTEMPTS = 8;
     private static final long IDLE_WARN_1_MS = 12000L;
     private static final long IDLE_WARN_2_MS = 18000L;
     private static final long IDLE_LOSE_MS = 25000L;
@@ -80,18 +88,15 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
     private Button btnExit;
 
     // Game state
-    private final Handler handler = new Handler(Looper.getMainLooper());
     private final Random random = new Random();
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
 
     private final List<Character> rackLetters = new ArrayList<>();
     private final List<Button> letterButtons = new ArrayList<>();
     private final List<Integer> selectedIndices = new ArrayList<>();
     private final StringBuilder currentWord = new StringBuilder();
-    private final Set<String> validWords = new HashSet<>();
-    private final Set<String> learnedWordsSet = new HashSet<>();
-    private final Set<String> dictionaryWordsSet = new HashSet<>();
+    private WordIndex wordIndex;
     private final Set<String> usedWords = new HashSet<>();
 
     private long lastTickMs;
@@ -103,6 +108,14 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
     private float finishDistance;
     private float playerDistance;
     private float[] aiDistance = new float[AI_COUNT];
+    // Distances at the previous tick, for interpolating between ticks
+    private float prevPlayerDistance;
+    private float[] prevAiDistance = new float[AI_COUNT];
+
+    // Last values written to the views; -1 forces the next write
+    private int shownPlayerProgress = -1;
+    private int[] shownAiProgress = new int[AI_COUNT];
+    private final StringBuilder aiStatusBuilder = new StringBuilder();
 
     private float playerBaseSpeed;
     private float[] aiBaseSpeed = new float[AI_COUNT];
@@ -141,24 +154,41 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         "Dung bo cuoc, ban lam duoc!"
     };
 
-    private final Runnable raceTick = new Runnable() {
+    private final Choreographer.FrameCallback raceFrame = new Choreographer.FrameCallback() {
         @Override
-        public void run() {
+        public void doFrame(long frameTimeNanos) {
             if (!raceRunning) {
                 return;
             }
-            long now = SystemClock.uptimeMillis();
-            float deltaSec = (now - lastTickMs) / 1000f;
-            lastTickMs = now;
-
-            if (checkIdle(now) || checkPoorPlay(now)) {
-                return;
+            // Frame time shares the uptimeMillis clock the rest of the race uses
+            long frameMs = frameTimeNanos / 1_000_000L;
+            lastTickMs = Math.max(lastTickMs, frameMs - TICK_MS * MAX_TICKS_PER_FRAME);
+            while (frameMs - lastTickMs >= TICK_MS) {
+                lastTickMs += TICK_MS;
+                if (!raceTick(lastTickMs)) {
+                    return;
+                }
             }
 
-            float boost = (now < playerBoostEndMs) ? playerBoostSpeed : 0f;
-            playerDistance += (playerBaseSpeed + boost) * deltaSec;
+            float alpha = Math.max(0f, Math.min(1f, (frameMs - lastTickMs) / (float) TICK_MS));
+            updateRaceUI(alpha);
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    };
+
+    /** Advances the race by one TICK_MS step. Returns false once the race is over. */
+    private boolean raceTick(long now) {
+        if (checkIdle(now) || checkPoorPlay(now)) {
+            return false;
+        }
+        float deltaSec = TICK_MS / 1000f;
 
-            for (int i = 0; i < AI_COUNT; i++) {
+        prevPlayerDistance = playerDistance;
+        float boost = (now < playerBoostEndMs) ? playerBoostSpeed : 0f;
+        playerDistance += (playerBaseSpeed + boost) * deltaSec;
+
+        for (int i = 0; i < AI_COUNT; i++) {
+            prevAiDistance[i] = aiDistance[i];
             if (now >= aiNextBoostMs[i]) {
                 applyAiWordBoost(i, now);
             }
@@ -167,16 +197,13 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
             aiDistance[i] += (aiBaseSpeed[i] + aiBoost + jitter) * deltaSec;
         }
 
-            updateRaceUI();
-
-            if (checkRaceFinish()) {
-                endRace();
-                return;
-            }
-
-            handler.postDelayed(this, TICK_MS);
+        if (checkRaceFinish()) {
+            updateRaceUI(1f);
+            endRace();
+            return false;
         }
-    };
+        return true;
+    }
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -184,7 +211,7 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         setContentView(R.layout.activity_word_battle);
 
         dbHelper = GameDatabaseHelper.getInstance(this);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
 
         initViews();
         setupDifficulty();
@@ -240,9 +267,9 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
 
         tvTitle.setText("Word Race");
         tvPlayerName.setText("You");
-        tvAiName[0].setText("Comet");
-        tvAiName[1].setText("Bolt");
-        tvAiName[2].setText("Rocket");
+        for (int i = 0; i < AI_COUNT; i++) {
+            tvAiName[i].setText(AI_NAMES[i]);
+        }
 
         Animation bob = AnimationUtils.loadAnimation(this, R.anim.horse_bob);
         horsePlayer.startAnimation(bob);
@@ -287,10 +314,6 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
     }
 
     private void loadWordPool() {
-        validWords.clear();
-        learnedWordsSet.clear();
-        dictionaryWordsSet.clear();
-
         List<WordData> learnedWords = dbHelper.getLearnedWords();
         if (learnedWords.isEmpty()) {
             for (int i = 1; i <= 9; i++) {
@@ -298,26 +321,26 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
             }
         }
 
+        List<String> learned = new ArrayList<>(learnedWords.size());
         for (WordData word : learnedWords) {
             if (word == null || word.english == null) {
                 continue;
             }
-            String cleaned = word.english.toLowerCase(Locale.US).replaceAll("[^a-z]", "");
+            String cleaned = WordIndex.clean(word.english);
             if (cleaned.length() >= 1) {
-                learnedWordsSet.add(cleaned);
-                validWords.add(cleaned);
+                learned.add(cleaned);
             }
         }
 
-        loadDictionaryWords();
-        validWords.addAll(dictionaryWordsSet);
+        // The dictionary is indexed once per process; only this game's words are added here
+        wordIndex = WordIndex.dictionary(this).plus(learned);
 
-        if (validWords.size() < 10) {
-            Collections.addAll(validWords,
+        if (wordIndex.size() < 10) {
+            wordIndex = wordIndex.plus(Arrays.asList(
                 "a", "i", "am", "an", "at", "be", "cat", "dog", "sun", "star",
                 "moon", "ball", "fish", "car", "book", "tree", "rain", "bird",
                 "frog", "cake", "milk", "shoe", "blue", "pink", "jump", "play"
-            );
+            ));
         }
     }
 
@@ -331,13 +354,22 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         wrongAttempts = 0;
         correctWords = 0;
 
+        shownPlayerProgress = -1;
         for (int i = 0; i < AI_COUNT; i++) {
             aiNextBoostMs[i] = now + 1400L + (i * 700L);
             aiBoostEndMs[i] = 0L;
+            shownAiProgress[i] = -1;
         }
 
         tvRaceStatus.setText("Build words to boost your horse!");
-        handler.post(raceTick);
+        scheduleRaceFrame();
+    }
+
+    private void scheduleRaceFrame() {
+        // onCreate and onResume both start the race; keep a single callback queued
+        Choreographer choreographer = Choreographer.getInstance();
+        choreographer.removeFrameCallback(raceFrame);
+        choreographer.postFrameCallback(raceFrame);
     }
 
     private void restartGame() {
@@ -349,8 +381,10 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         generateLetterRack();
 
         playerDistance = 0f;
+        prevPlayerDistance = 0f;
         for (int i = 0; i < AI_COUNT; i++) {
             aiDistance[i] = 0f;
+            prevAiDistance[i] = 0f;
         }
         playerBoostSpeed = 0f;
         playerBoostEndMs = 0L;
@@ -359,6 +393,25 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
     }
 
     private void generateLetterRack() {
+        // Retry until the rack spells enough unused words; keep the best rack if none does
+        List<Character> bestRack = null;
+        int bestCount = -1;
+        for (int attempt = 0; attempt < MAX_RACK_ATTEMPTS && bestCount < MIN_RACK_WORDS; attempt++) {
+            fillRack();
+            int count = countUnusedWords(wordIndex.formableFrom(rackLetters, 2));
+            if (count > bestCount) {
+                bestCount = count;
+                bestRack = new ArrayList<>(rackLetters);
+            }
+        }
+        rackLetters.clear();
+        rackLetters.addAll(bestRack);
+
+        Collections.shuffle(rackLetters);
+        renderLetters();
+    }
+
+    private void fillRack() {
         rackLetters.clear();
 
         String seedWord = pickSeedWord();
@@ -369,20 +422,21 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         while (rackLetters.size() < rackSize) {
             rackLetters.add(randomLetter());
         }
-
-        Collections.shuffle(rackLetters);
-        renderLetters();
     }
 
-    private String pickSeedWord() {
-        List<String> pool = new ArrayList<>(validWords);
-        Collections.shuffle(pool);
-        for (String word : pool) {
-            if (word.length() <= rackSize && word.length() <= maxWordLength) {
-                return word;
+    private int countUnusedWords(List<String> words) {
+        int count = 0;
+        for (int i = 0; i < words.size(); i++) {
+            if (!usedWords.contains(words.get(i))) {
+                count++;
             }
         }
-        return "cat";
+        return count;
+    }
+
+    private String pickSeedWord() {
+        String word = wordIndex.randomWordUpTo(random, Math.min(rackSize, maxWordLength));
+        return word != null ? word : "cat";
     }
 
     private char randomLetter() {
@@ -476,12 +530,13 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
 
     private void submitWord() {
         recordInput();
-        String word = currentWord.toString().toLowerCase(Locale.US);
+        // Rack letters are lowercase a-z already
+        String word = currentWord.toString();
         if (word.length() > rackSize) {
             registerWrong("Tu dai qua roi!");
             return;
         }
-        if (!validWords.contains(word)) {
+        if (!wordIndex.contains(word)) {
             registerWrong("Tu nay khong dung hoac chua co trong tu dien");
             return;
         }
@@ -512,11 +567,11 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
     }
 
     private void autoSubmitIfReady() {
-        String word = currentWord.toString().toLowerCase(Locale.US);
-        if (word.length() < 2) {
+        if (currentWord.length() < 2) {
             return;
         }
-        if (!validWords.contains(word)) {
+        String word = currentWord.toString();
+        if (!wordIndex.contains(word)) {
             return;
         }
         if (usedWords.contains(word)) {
@@ -583,14 +638,25 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         return messages[random.nextInt(messages.length)];
     }
 
-    private void updateRaceUI() {
-        float playerProgress = Math.min(1f, playerDistance / finishDistance);
-        progressPlayer.setProgress((int) (playerProgress * 100));
+    /** Writes the race to the views, alpha of the way from the previous tick to the last one. */
+    private void updateRaceUI(float alpha) {
+        float playerShown = prevPlayerDistance + (playerDistance - prevPlayerDistance) * alpha;
+        float playerProgress = Math.min(1f, playerShown / finishDistance);
+        int playerPercent = (int) (playerProgress * 100);
+        if (playerPercent != shownPlayerProgress) {
+            shownPlayerProgress = playerPercent;
+            progressPlayer.setProgress(playerPercent);
+        }
         updateHorsePosition(lanePlayer, horsePlayer, playerProgress);
 
         for (int i = 0; i < AI_COUNT; i++) {
-            float aiProgress = Math.min(1f, aiDistance[i] / finishDistance);
-            progressAi[i].setProgress((int) (aiProgress * 100));
+            float aiShown = prevAiDistance[i] + (aiDistance[i] - prevAiDistance[i]) * alpha;
+            float aiProgress = Math.min(1f, aiShown / finishDistance);
+            int aiPercent = (int) (aiProgress * 100);
+            if (aiPercent != shownAiProgress[i]) {
+                shownAiProgress[i] = aiPercent;
+                progressAi[i].setProgress(aiPercent);
+            }
             updateHorsePosition(laneAi[i], horseAi[i], aiProgress);
         }
     }
@@ -602,7 +668,11 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
             return;
         }
         float maxX = laneWidth - horseWidth - dp(8);
-        horse.setTranslationX(maxX * progress);
+        // Whole pixels only, so a horse that hasn't visibly moved costs no redraw
+        float x = Math.round(maxX * progress);
+        if (horse.getTranslationX() != x) {
+            horse.setTranslationX(x);
+        }
     }
 
     private void configureAiProfile(int index, int tier) {
@@ -640,19 +710,17 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         aiNextBoostMs[index] = now + aiBoostIntervalMs[index] + random.nextInt(500);
 
         if (tvAiStatus[index] != null) {
-            tvAiStatus[index].setText(tvAiName[index].getText() + ": " + word.toUpperCase(Locale.US) + " +" + length);
+            aiStatusBuilder.setLength(0);
+            aiStatusBuilder.append(AI_NAMES[index]).append(": ")
+                .append(word.toUpperCase(Locale.US)).append(" +").append(length);
+            tvAiStatus[index].setText(aiStatusBuilder);
         }
     }
 
     private String pickAiWord(int length) {
-        List<String> pool = new ArrayList<>();
-        for (String word : validWords) {
-            if (word.length() == length) {
-                pool.add(word);
-            }
-        }
-        if (!pool.isEmpty()) {
-            return pool.get(random.nextInt(pool.size()));
+        String word = wordIndex.randomWord(random, length);
+        if (word != null) {
+            return word;
         }
         String letters = "abcdefghijklmnopqrstuvwxyz";
         StringBuilder sb = new StringBuilder();
@@ -662,21 +730,6 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         return sb.toString();
     }
 
-    private void loadDictionaryWords() {
-        InputStream inputStream = getResources().openRawResource(R.raw.wordlist_en);
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String cleaned = line.trim().toLowerCase(Locale.US).replaceAll("[^a-z]", "");
-                if (cleaned.length() >= 1) {
-                    dictionaryWordsSet.add(cleaned);
-                }
-            }
-        } catch (IOException e) {
-            // Ignore dictionary load issues; fallback list will be used.
-        }
-    }
-
     private boolean checkRaceFinish() {
         if (playerDistance >= finishDistance) {
             tvResultTitle.setText("You win!");
@@ -686,7 +739,7 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         for (int i = 0; i < AI_COUNT; i++) {
             if (aiDistance[i] >= finishDistance) {
                 tvResultTitle.setText("Try again!");
-                tvResultDetail.setText(tvAiName[i].getText() + " wins this race.");
+                tvResultDetail.setText(AI_NAMES[i] + " wins this race.");
                 return true;
             }
         }
@@ -710,17 +763,14 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
     }
 
     private void speakWord(String word) {
-        if (tts == null) {
-            return;
-        }
-        tts.speak(word, TextToSpeech.QUEUE_FLUSH, null, "word");
+        speech.speak(word, SpeechService.PRIORITY_HIGH, this);
     }
 
     @Override
     protected void onPause() {
         super.onPause();
         raceRunning = false;
-        handler.removeCallbacks(raceTick);
+        Choreographer.getInstance().removeFrameCallback(raceFrame);
     }
 
     @Override
@@ -729,25 +779,14 @@ public class WordBattleActivity extends AppCompatActivity implements TextToSpeec
         if (resultOverlay.getVisibility() != View.VISIBLE) {
             raceRunning = true;
             lastTickMs = SystemClock.uptimeMillis();
-            handler.post(raceTick);
+            scheduleRaceFrame();
         }
     }
 
     @Override
     protected void onDestroy() {
-        handler.removeCallbacks(raceTick);
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        Choreographer.getInstance().removeFrameCallback(raceFrame);
+        speech.cancel(this);
         super.onDestroy();
     }
-
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.9f);
-        }
-    }
 }
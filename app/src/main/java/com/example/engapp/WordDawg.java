@@ -0,0 +1,207 @@
+package com.example.engapp;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Read-only word graph packed at build time by DawgWriter (buildSrc) from
+ * src/main/dictionary/wordlist_en.txt.
+ *
+ * The asset is stored uncompressed and memory-mapped, so opening it costs the same however
+ * many words it holds, and pages are only read as lookups touch them. Membership and prefix
+ * queries walk edges by absolute reads and allocate nothing; only words handed back to the
+ * caller become Strings. See DawgWriter for the layout.
+ */
+final class WordDawg {
+
+    static final String ASSET = "dictionary/wordlist_en.dawg";
+
+    private static final int MAGIC = 0x44415747; // "DAWG"
+    private static final int VERSION = 1;
+    private static final int END_OF_WORD = 1 << 8;
+    private static final int LAST_EDGE = 1 << 9;
+    private static final int CHILD_SHIFT = 10;
+    private static final int EDGE_BYTES = 8;
+    // lengthMask has one bit per word length
+    private static final int MAX_RANDOM_LENGTH = 32;
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int root;
+    private final int[] countByLength;
+    private final int edgesOffset;
+
+    private WordDawg(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a version " + VERSION + " dictionary");
+        }
+        wordCount = buffer.getInt(8);
+        root = buffer.getInt(12);
+        int maxLength = buffer.getInt(16);
+        countByLength = new int[maxLength + 1];
+        for (int length = 0; length <= maxLength; length++) {
+            countByLength[length] = buffer.getInt(20 + length * 4);
+        }
+        // Followed by the edge count, then the edges
+        edgesOffset = 20 + (maxLength + 1) * 4 + 4;
+    }
+
+    /** Maps the bundled dictionary; falls back to reading it into memory if it is compressed. */
+    static WordDawg open(Context context) throws IOException {
+        ByteBuffer buffer;
+        try (AssetFileDescriptor fd = context.getAssets().openFd(ASSET);
+             FileInputStream in = fd.createInputStream()) {
+            buffer = in.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                fd.getStartOffset(), fd.getLength());
+        } catch (IOException compressed) {
+            // openFd only works for stored assets, e.g. not if noCompress was dropped
+            try (InputStream in = context.getAssets().open(ASSET)) {
+                buffer = readFully(in);
+            }
+        }
+        return new WordDawg(buffer);
+    }
+
+    private static ByteBuffer readFully(InputStream in) throws IOException {
+        byte[] bytes = new byte[Math.max(in.available(), 4096)];
+        int length = 0;
+        int read;
+        while ((read = in.read(bytes, length, bytes.length - length)) != -1) {
+            length += read;
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+        }
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    int size() {
+        return wordCount;
+    }
+
+    int countOfLength(int length) {
+        return length >= 0 && length < countByLength.length ? countByLength[length] : 0;
+    }
+
+    boolean contains(CharSequence word) {
+        int edge = walk(word);
+        return edge > 0 && (info(edge) & END_OF_WORD) != 0;
+    }
+
+    /** True if some word starts with prefix (every word starts with ""). */
+    boolean hasPrefix(CharSequence prefix) {
+        return prefix.length() == 0 || walk(prefix) > 0;
+    }
+
+    // Edge reached by the last character of text, or 0 if the graph has no such path
+    private int walk(CharSequence text) {
+        int list = root;
+        int edge = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (list == 0) {
+                return 0;
+            }
+            edge = findEdge(list, text.charAt(i));
+            if (edge == 0) {
+                return 0;
+            }
+            list = info(edge) >>> CHILD_SHIFT;
+        }
+        return edge;
+    }
+
+    private int findEdge(int list, char letter) {
+        for (int edge = list; ; edge++) {
+            int info = info(edge);
+            if ((char) (info & 0xFF) == letter) {
+                return edge;
+            }
+            if ((info & LAST_EDGE) != 0) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A random word of exactly this length, or null if there is none. Each step picks evenly
+     * among the letters that still lead to such a word, so words in sparse branches come up
+     * more often than in a uniform draw; fine for picking game words.
+     */
+    String randomWord(Random random, int length) {
+        if (length <= 0 || length > MAX_RANDOM_LENGTH || countOfLength(length) == 0) {
+            return null;
+        }
+        char[] letters = new char[length];
+        int list = root;
+        for (int depth = 0; depth < length; depth++) {
+            int bit = 1 << (length - depth - 1);
+            int candidates = 0;
+            for (int edge = list; ; edge++) {
+                if ((mask(edge) & bit) != 0) {
+                    candidates++;
+                }
+                if ((info(edge) & LAST_EDGE) != 0) {
+                    break;
+                }
+            }
+            int pick = random.nextInt(candidates);
+            for (int edge = list; ; edge++) {
+                if ((mask(edge) & bit) != 0 && pick-- == 0) {
+                    int info = info(edge);
+                    letters[depth] = (char) (info & 0xFF);
+                    list = info >>> CHILD_SHIFT;
+                    break;
+                }
+            }
+        }
+        return new String(letters);
+    }
+
+    /** Adds every word of at least minLength letters spelled from counts (a-z) to out. */
+    void collectFormable(int[] counts, int maxLength, int minLength, List<String> out) {
+        if (root != 0 && maxLength > 0) {
+            collectFormable(root, counts, new char[maxLength], 0, minLength, out);
+        }
+    }
+
+    private void collectFormable(int list, int[] counts, char[] buffer, int depth,
+                                 int minLength, List<String> out) {
+        for (int edge = list; ; edge++) {
+            int info = info(edge);
+            int letter = (info & 0xFF) - 'a';
+            if (letter >= 0 && letter < counts.length && counts[letter] > 0) {
+                counts[letter]--;
+                buffer[depth] = (char) ('a' + letter);
+                if ((info & END_OF_WORD) != 0 && depth + 1 >= minLength) {
+                    out.add(new String(buffer, 0, depth + 1));
+                }
+                int child = info >>> CHILD_SHIFT;
+                if (child != 0 && depth + 1 < buffer.length) {
+                    collectFormable(child, counts, buffer, depth + 1, minLength, out);
+                }
+                counts[letter]++;
+            }
+            if ((info & LAST_EDGE) != 0) {
+                return;
+            }
+        }
+    }
+
+    private int info(int edge) {
+        return buffer.getInt(edgesOffset + edge * EDGE_BYTES);
+    }
+
+    private int mask(int edge) {
+        return buffer.getInt(edgesOffset + edge * EDGE_BYTES + 4);
+    }
+}
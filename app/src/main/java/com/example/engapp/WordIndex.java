@@ -0,0 +1,214 @@
+package com.example.engapp;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Word lookups for the WordBattle rack game.
+ *
+ * Words are indexed three ways: a set for membership, buckets by length for picking a random
+ * word of a given size, and buckets by letter signature (the word's letters sorted, so all
+ * anagrams share one) for "which words can this rack spell". The last query walks the rack's
+ * sub-multisets, at most 2^rackSize lookups however large the dictionary is.
+ *
+ * The bundled dictionary is not indexed this way: it is a WordDawg mapped once per process,
+ * which answers the same queries by walking its graph. A game layers its own words on top with
+ * plus(), which indexes only the extra words and falls through to the dictionary.
+ */
+final class WordIndex {
+
+    private static final String TAG = "WordIndex";
+
+    private static WordIndex dictionary;
+
+    // Consulted after this index's own words; null for the dictionary itself
+    private final WordIndex base;
+    // Only set on the dictionary index
+    private final WordDawg dawg;
+    private final Set<String> words = new HashSet<>();
+    private final List<List<String>> byLength = new ArrayList<>();
+    private final Map<String, List<String>> bySignature = new HashMap<>();
+
+    private WordIndex(WordIndex base, WordDawg dawg) {
+        this.base = base;
+        this.dawg = dawg;
+    }
+
+    /** The bundled dictionary, mapped on first use and kept for the life of the process. */
+    static synchronized WordIndex dictionary(Context context) {
+        if (dictionary == null) {
+            WordDawg dawg = null;
+            try {
+                dawg = WordDawg.open(context.getApplicationContext());
+            } catch (IOException e) {
+                // Callers fall back to their own words.
+                Log.w(TAG, "Dictionary unavailable", e);
+            }
+            dictionary = new WordIndex(null, dawg);
+        }
+        return dictionary;
+    }
+
+    /** A new index answering for this one's words plus the given ones. */
+    WordIndex plus(Collection<String> extraWords) {
+        WordIndex index = new WordIndex(this, null);
+        for (String word : extraWords) {
+            if (!contains(word)) {
+                index.add(word);
+            }
+        }
+        return index;
+    }
+
+    /** Lowercase a-z only, e.g. "Ice-cream" -> "icecream"; DawgWriter cleans the same way. */
+    static String clean(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = Character.toLowerCase(raw.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void add(String word) {
+        if (word.isEmpty() || !words.add(word)) {
+            return;
+        }
+        while (byLength.size() <= word.length()) {
+            byLength.add(new ArrayList<>());
+        }
+        byLength.get(word.length()).add(word);
+
+        String signature = signature(word);
+        List<String> anagrams = bySignature.get(signature);
+        if (anagrams == null) {
+            anagrams = new ArrayList<>(1);
+            bySignature.put(signature, anagrams);
+        }
+        anagrams.add(word);
+    }
+
+    boolean contains(String word) {
+        return words.contains(word)
+            || (dawg != null && dawg.contains(word))
+            || (base != null && base.contains(word));
+    }
+
+    int size() {
+        return words.size() + ownDictionarySize() + (base != null ? base.size() : 0);
+    }
+
+    private int ownDictionarySize() {
+        return dawg != null ? dawg.size() : 0;
+    }
+
+    int countOfLength(int length) {
+        return ownCountOfLength(length) + (base != null ? base.countOfLength(length) : 0);
+    }
+
+    private int ownCountOfLength(int length) {
+        int own = length < byLength.size() ? byLength.get(length).size() : 0;
+        return own + (dawg != null ? dawg.countOfLength(length) : 0);
+    }
+
+    /** Random word of exactly this length, or null if there is none. */
+    String randomWord(Random random, int length) {
+        int count = countOfLength(length);
+        if (count == 0) {
+            return null;
+        }
+        int pick = random.nextInt(count);
+        int listed = length < byLength.size() ? byLength.get(length).size() : 0;
+        if (pick < listed) {
+            return byLength.get(length).get(pick);
+        }
+        if (pick < ownCountOfLength(length)) {
+            return dawg.randomWord(random, length);
+        }
+        return base.randomWord(random, length);
+    }
+
+    /** Random word of 1..maxLength letters; lengths are weighted by how many words they have. */
+    String randomWordUpTo(Random random, int maxLength) {
+        int total = 0;
+        for (int length = 1; length <= maxLength; length++) {
+            total += countOfLength(length);
+        }
+        if (total == 0) {
+            return null;
+        }
+        int pick = random.nextInt(total);
+        for (int length = 1; length <= maxLength; length++) {
+            int count = countOfLength(length);
+            if (pick < count) {
+                return randomWord(random, length);
+            }
+            pick -= count;
+        }
+        return null;
+    }
+
+    /** Every indexed word of at least minLength letters that the rack's letters can spell. */
+    List<String> formableFrom(List<Character> rack, int minLength) {
+        int[] counts = new int[26];
+        for (int i = 0; i < rack.size(); i++) {
+            char c = rack.get(i);
+            if (c >= 'a' && c <= 'z') {
+                counts[c - 'a']++;
+            }
+        }
+        List<String> out = new ArrayList<>();
+        for (WordIndex index = this; index != null; index = index.base) {
+            if (index.dawg != null) {
+                index.dawg.collectFormable(counts, rack.size(), minLength, out);
+            }
+        }
+        collectFormable(counts, 0, new char[rack.size()], 0, minLength, out);
+        return out;
+    }
+
+    // Builds each sub-multiset of the rack in sorted order, which is exactly its signature
+    private void collectFormable(int[] counts, int letter, char[] buffer, int length,
+                                 int minLength, List<String> out) {
+        if (letter == counts.length) {
+            if (length >= minLength) {
+                addAnagrams(new String(buffer, 0, length), out);
+            }
+            return;
+        }
+        for (int n = 0; n <= counts[letter]; n++) {
+            if (n > 0) {
+                buffer[length + n - 1] = (char) ('a' + letter);
+            }
+            collectFormable(counts, letter + 1, buffer, length + n, minLength, out);
+        }
+    }
+
+    private void addAnagrams(String signature, List<String> out) {
+        for (WordIndex index = this; index != null; index = index.base) {
+            List<String> anagrams = index.bySignature.get(signature);
+            if (anagrams != null) {
+                out.addAll(anagrams);
+            }
+        }
+    }
+
+    private static String signature(String word) {
+        char[] letters = word.toCharArray();
+        Arrays.sort(letters);
+        return new String(letters);
+    }
+}
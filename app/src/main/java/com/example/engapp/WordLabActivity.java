@@ -1,7 +1,6 @@
 package com.example.engapp;
 
 import android.os.Bundle;
-import android.speech.tts.TextToSpeech;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,20 +10,22 @@ import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
+import com.example.engapp.adapter.DiffListAdapter;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.*;
+import com.example.engapp.manager.SpeechService;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 
-public class WordLabActivity extends AppCompatActivity implements TextToSpeech.OnInitListener {
+public class WordLabActivity extends AppCompatActivity {
 
     private RecyclerView recyclerWords;
     private TextView tvTotalWords;
     private TextView tabAll, tabColors, tabShapes, tabAdjectives;
     private ImageView btnBack;
 
-    private TextToSpeech tts;
+    private SpeechService speech;
     private GameDatabaseHelper dbHelper;
     private List<WordData> allWords = new ArrayList<>();
     private List<WordData> filteredWords = new ArrayList<>();
@@ -37,7 +38,7 @@ public class WordLabActivity extends AppCompatActivity implements TextToSpeech.O
         setContentView(R.layout.activity_word_lab);
 
         dbHelper = GameDatabaseHelper.getInstance(this);
-        tts = new TextToSpeech(this, this);
+        speech = SpeechService.getInstance(this);
 
         initViews();
         loadWords();
@@ -89,7 +90,7 @@ public class WordLabActivity extends AppCompatActivity implements TextToSpeech.O
 
     private void filterWords(String category) {
         currentFilter = category;
-        filteredWords.clear();
+        filteredWords = new ArrayList<>();
 
         if (category.equals("all")) {
             filteredWords.addAll(allWords);
@@ -107,35 +108,34 @@ public class WordLabActivity extends AppCompatActivity implements TextToSpeech.O
         tabShapes.setBackgroundResource(category.equals("shape") ? R.drawable.bg_tab_selected : R.drawable.bg_tab_normal);
         tabAdjectives.setBackgroundResource(category.equals("adjective") ? R.drawable.bg_tab_selected : R.drawable.bg_tab_normal);
 
-        adapter.notifyDataSetChanged();
+        // Switching tabs keeps the cards both tabs share instead of rebuilding the grid
+        adapter.submitItems(filteredWords);
     }
 
     private void speakWord(String word) {
-        if (tts != null) {
-            tts.speak(word, TextToSpeech.QUEUE_FLUSH, null, "word");
-        }
-    }
-
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            tts.setLanguage(Locale.US);
-            tts.setSpeechRate(0.8f);
-        }
+        speech.speak(word, SpeechService.PRIORITY_HIGH, this);
     }
 
     @Override
     protected void onDestroy() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speech.cancel(this);
         super.onDestroy();
     }
 
     // ============ WORD ADAPTER ============
 
-    class WordAdapter extends RecyclerView.Adapter<WordAdapter.WordViewHolder> {
+    class WordAdapter extends DiffListAdapter<WordData, WordAdapter.WordViewHolder> {
+
+        @Override
+        protected long getStableId(@NonNull WordData word) {
+            return word.id;
+        }
+
+        @Override
+        protected Object getContentKey(@NonNull WordData word) {
+            return Arrays.asList(word.emoji, word.english, word.pronunciation,
+                word.vietnamese, word.isLearned);
+        }
 
         @NonNull
         @Override
@@ -147,7 +147,7 @@ public class WordLabActivity extends AppCompatActivity implements TextToSpeech.O
 
         @Override
         public void onBindViewHolder(@NonNull WordViewHolder holder, int position) {
-            WordData word = filteredWords.get(position);
+            WordData word = getItemAt(position);
 
             holder.tvWordEmoji.setText(word.emoji);
             holder.tvEnglish.setText(capitalize(word.english));
@@ -164,11 +164,6 @@ public class WordLabActivity extends AppCompatActivity implements TextToSpeech.O
             holder.itemView.setOnClickListener(v -> speakWord(word.english));
         }
 
-        @Override
-        public int getItemCount() {
-            return filteredWords.size();
-        }
-
         class WordViewHolder extends RecyclerView.ViewHolder {
             TextView tvWordEmoji, tvEnglish, tvPronunciation, tvVietnamese;
             TextView btnListen, tvLearnedBadge;
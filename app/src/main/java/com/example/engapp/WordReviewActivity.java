@@ -184,8 +184,10 @@ public class WordReviewActivity extends AppCompatActivity {
         tvReviewStats.setText("You reviewed " + wordsReviewed + " words today\n🔥 Best streak: " + streak);
 
         // Award completion bonus
-        dbHelper.addStars(wordsReviewed);
-        dbHelper.addExperience(wordsReviewed * 5);
+        GameDatabaseHelper.RewardDelta reward = new GameDatabaseHelper.RewardDelta();
+        reward.stars = wordsReviewed;
+        reward.experience = wordsReviewed * 5;
+        dbHelper.applyRewards(reward);
 
         cardComplete.startAnimation(AnimationUtils.loadAnimation(this, R.anim.fade_scale_in));
     }
@@ -0,0 +1,108 @@
+package com.example.engapp.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base for list screens that update in place instead of calling notifyDataSetChanged().
+ *
+ * Every submitted item is wrapped in a Row holding its stable id and a content key taken at
+ * submit time. ListAdapter diffs the old and new rows on a background thread and only rows
+ * whose key changed are rebound, so claiming a mission or editing a note touches one row.
+ * Because the key is a snapshot, this also works for model objects that callers mutate in
+ * place and submit again.
+ *
+ * Subclasses describe an item by getStableId() and getContentKey(); the key should cover
+ * everything onBindViewHolder() shows, e.g. Arrays.asList(title, stars, isUnlocked).
+ * Call submitItems() from the main thread.
+ */
+public abstract class DiffListAdapter<T, VH extends RecyclerView.ViewHolder>
+        extends ListAdapter<DiffListAdapter.Row<T>, VH> {
+
+    public static final class Row<T> {
+        private final T item;
+        private final long id;
+        private final Object contentKey;
+
+        Row(T item, long id, Object contentKey) {
+            this.item = item;
+            this.id = id;
+            this.contentKey = contentKey;
+        }
+    }
+
+    private static final class RowDiff<T> extends DiffUtil.ItemCallback<Row<T>> {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row<T> oldRow, @NonNull Row<T> newRow) {
+            return oldRow.id == newRow.id;
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row<T> oldRow, @NonNull Row<T> newRow) {
+            return Objects.equals(oldRow.contentKey, newRow.contentKey);
+        }
+    }
+
+    protected DiffListAdapter() {
+        super(new RowDiff<>());
+        setHasStableIds(true);
+    }
+
+    /** Identity of the item across submissions; must be unique within one list. */
+    protected abstract long getStableId(@NonNull T item);
+
+    /** Value object covering everything the row shows; compared with equals(). */
+    protected abstract Object getContentKey(@NonNull T item);
+
+    /**
+     * Key for a row whose look depends on its neighbours (lock chains, connector lines).
+     * Defaults to the item's own key.
+     */
+    protected Object getContentKey(@NonNull List<T> items, int position) {
+        return getContentKey(items.get(position));
+    }
+
+    public void submitItems(@Nullable List<T> items) {
+        submitItems(items, null);
+    }
+
+    /** commitCallback runs once the new list is displayed, like ListAdapter.submitList(). */
+    public void submitItems(@Nullable List<T> items, @Nullable Runnable commitCallback) {
+        List<T> source = items != null ? items : Collections.emptyList();
+        List<Row<T>> rows = new ArrayList<>(source.size());
+        for (int i = 0; i < source.size(); i++) {
+            T item = source.get(i);
+            rows.add(new Row<>(item, getStableId(item), getContentKey(source, i)));
+        }
+        submitList(rows, commitCallback);
+    }
+
+    public T getItemAt(int position) {
+        return getItem(position).item;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).id;
+    }
+
+    /** Stable id for items keyed by a string (64-bit FNV-1a). */
+    public static long stableId(@Nullable String key) {
+        long hash = 0xcbf29ce484222325L;
+        if (key != null) {
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+}
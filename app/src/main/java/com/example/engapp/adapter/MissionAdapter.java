@@ -10,11 +10,11 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.engapp.DailyMissionsActivity.MissionData;
 import com.example.engapp.R;
+import java.util.Arrays;
 import java.util.List;
 
-public class MissionAdapter extends RecyclerView.Adapter<MissionAdapter.MissionViewHolder> {
+public class MissionAdapter extends DiffListAdapter<MissionData, MissionAdapter.MissionViewHolder> {
 
-    private List<MissionData> missions;
     private OnMissionClaimListener listener;
 
     public interface OnMissionClaimListener {
@@ -22,8 +22,20 @@ public class MissionAdapter extends RecyclerView.Adapter<MissionAdapter.MissionV
     }
 
     public MissionAdapter(List<MissionData> missions, OnMissionClaimListener listener) {
-        this.missions = missions;
         this.listener = listener;
+        submitItems(missions);
+    }
+
+    @Override
+    protected long getStableId(@NonNull MissionData mission) {
+        return mission.id;
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull MissionData mission) {
+        return Arrays.asList(mission.icon, mission.title, mission.description,
+                mission.currentProgress, mission.targetProgress, mission.reward,
+                mission.isCompleted, mission.isClaimed);
     }
 
     @NonNull
@@ -36,13 +48,7 @@ public class MissionAdapter extends RecyclerView.Adapter<MissionAdapter.MissionV
 
     @Override
     public void onBindViewHolder(@NonNull MissionViewHolder holder, int position) {
-        MissionData mission = missions.get(position);
-        holder.bind(mission);
-    }
-
-    @Override
-    public int getItemCount() {
-        return missions.size();
+        holder.bind(getItemAt(position));
     }
 
     class MissionViewHolder extends RecyclerView.ViewHolder {
@@ -13,12 +13,12 @@ import androidx.cardview.widget.CardView;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.engapp.R;
 import com.example.engapp.model.Planet;
+import java.util.Arrays;
 import java.util.List;
 
-public class PlanetAdapter extends RecyclerView.Adapter<PlanetAdapter.PlanetViewHolder> {
+public class PlanetAdapter extends DiffListAdapter<Planet, PlanetAdapter.PlanetViewHolder> {
 
     private Context context;
-    private List<Planet> planets;
     private OnPlanetClickListener listener;
 
     public interface OnPlanetClickListener {
@@ -27,8 +27,21 @@ public class PlanetAdapter extends RecyclerView.Adapter<PlanetAdapter.PlanetView
 
     public PlanetAdapter(Context context, List<Planet> planets, OnPlanetClickListener listener) {
         this.context = context;
-        this.planets = planets;
         this.listener = listener;
+        submitItems(planets);
+    }
+
+    @Override
+    protected long getStableId(@NonNull Planet planet) {
+        return stableId(planet.getId());
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull Planet planet) {
+        // Planets are shared GameDataProvider objects that get unlocked in place
+        return Arrays.asList(planet.getName(), planet.getNameVi(), planet.getEmoji(),
+            planet.getColor(), planet.getProgress(), planet.getStarsEarned(),
+            planet.isUnlocked(), planet.getRequiredStars());
     }
 
     @NonNull
@@ -40,18 +53,11 @@ public class PlanetAdapter extends RecyclerView.Adapter<PlanetAdapter.PlanetView
 
     @Override
     public void onBindViewHolder(@NonNull PlanetViewHolder holder, int position) {
-        Planet planet = planets.get(position);
-        holder.bind(planet);
-    }
-
-    @Override
-    public int getItemCount() {
-        return planets.size();
+        holder.bind(getItemAt(position));
     }
 
     public void updatePlanets(List<Planet> newPlanets) {
-        this.planets = newPlanets;
-        notifyDataSetChanged();
+        submitItems(newPlanets);
     }
 
     class PlanetViewHolder extends RecyclerView.ViewHolder {
@@ -1,5 +1,6 @@
 package com.example.engapp.adapter;
 
+import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,24 +11,49 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.engapp.R;
 import com.example.engapp.database.GameDatabaseHelper.SceneData;
+import com.example.engapp.manager.LessonUnlockManager;
+import java.util.Arrays;
 import java.util.List;
 
-public class PlanetNodeAdapter extends RecyclerView.Adapter<PlanetNodeAdapter.NodeViewHolder> {
+public class PlanetNodeAdapter extends DiffListAdapter<SceneData, PlanetNodeAdapter.NodeViewHolder> {
 
-    private List<SceneData> nodes;
     private OnNodeClickListener listener;
+    private final LessonUnlockManager unlockManager;
 
     public interface OnNodeClickListener {
         void onNodeClick(SceneData node, int position);
     }
 
-    public PlanetNodeAdapter(List<SceneData> nodes, OnNodeClickListener listener) {
-        this.nodes = nodes;
+    public PlanetNodeAdapter(Context context, List<SceneData> nodes, OnNodeClickListener listener) {
         this.listener = listener;
+        this.unlockManager = LessonUnlockManager.getInstance(context);
+        submitItems(nodes);
     }
     
     public void updateNodes(List<SceneData> newNodes) {
-        this.nodes = newNodes;
+        submitItems(newNodes);
+    }
+
+    @Override
+    protected long getStableId(@NonNull SceneData node) {
+        return node.id;
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull SceneData node) {
+        return Arrays.asList(node.name, node.nameVi, node.emoji, node.sceneType,
+            node.starsEarned, node.isCompleted);
+    }
+
+    @Override
+    protected Object getContentKey(@NonNull List<SceneData> items, int position) {
+        // Lock state and the connector to the next node depend on the rest of the path
+        SceneData node = items.get(position);
+        return Arrays.asList(getContentKey(node), isLocked(node), position < items.size() - 1);
+    }
+
+    private boolean isLocked(SceneData node) {
+        return !unlockManager.isLessonUnlocked(node.planetId, node.id);
     }
 
     @NonNull
@@ -40,13 +66,7 @@ public class PlanetNodeAdapter extends RecyclerView.Adapter<PlanetNodeAdapter.No
 
     @Override
     public void onBindViewHolder(@NonNull NodeViewHolder holder, int position) {
-        SceneData node = nodes.get(position);
-        holder.bind(node, position);
-    }
-
-    @Override
-    public int getItemCount() {
-        return nodes.size();
+        holder.bind(getItemAt(position), position);
     }
 
     class NodeViewHolder extends RecyclerView.ViewHolder {
@@ -100,29 +120,26 @@ public class PlanetNodeAdapter extends RecyclerView.Adapter<PlanetNodeAdapter.No
             }
 
             // Use LessonUnlockManager to check unlock status
-            android.content.Context context = itemView.getContext();
-            com.example.engapp.manager.LessonUnlockManager unlockManager = 
-                com.example.engapp.manager.LessonUnlockManager.getInstance(context);
-            
-            boolean isLocked = !unlockManager.isLessonUnlocked(node.planetId, node.id);
+            boolean isLocked = isLocked(node);
             lockOverlay.setVisibility(isLocked ? View.VISIBLE : View.GONE);
             itemView.setAlpha(isLocked ? 0.7f : 1.0f);
 
-            if (position < nodes.size() - 1) {
+            if (position < getItemCount() - 1) {
                 connectionLine.setVisibility(View.VISIBLE);
             } else {
                 connectionLine.setVisibility(View.GONE);
             }
 
+            // Rows that only moved aren't rebound, so read the position at click time
             itemView.setOnClickListener(v -> {
                 if (listener != null && !isLocked) {
-                    listener.onNodeClick(node, position);
+                    listener.onNodeClick(node, getBindingAdapterPosition());
                 }
             });
 
             btnPlay.setOnClickListener(v -> {
                 if (listener != null && !isLocked) {
-                    listener.onNodeClick(node, position);
+                    listener.onNodeClick(node, getBindingAdapterPosition());
                 }
             });
         }
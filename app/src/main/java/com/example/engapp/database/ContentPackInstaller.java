@@ -0,0 +1,253 @@
+package com.example.engapp.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Installs the prebuilt curriculum database shipped in assets/content.
+ *
+ * A fresh install copies the pack straight into place so GameDatabaseHelper never has to run
+ * its seeding inserts. An existing install with an older pack stamp gets the content tables
+ * refreshed in place; user tables and progress columns are left untouched. A refresh that
+ * fails keeps the existing content and is not retried until a newer pack ships.
+ *
+ * The pack is committed to assets/content. Whenever GameDatabaseHelper's schema or seed data
+ * changes, bump assets/content/space_english_game.version (BuildConfig.CONTENT_PACK_VERSION is
+ * read from it) and run the generateContentPack Gradle task.
+ */
+public final class ContentPackInstaller {
+
+    private static final String TAG = "ContentPackInstaller";
+
+    public static final String ASSET_DIR = "content";
+    public static final String PACK_FILE_NAME = "space_english_game.db";
+    public static final String VERSION_FILE_NAME = "space_english_game.version";
+
+    private static final String PREFS_NAME = "content_pack_prefs";
+    private static final String KEY_INSTALLED_VERSION = "installed_version";
+    private static final String KEY_FAILED_VERSION = "failed_version";
+
+    // Content table -> columns holding per-user state that must survive a content refresh.
+    // Planet, scene and word progress moved to its own tables in v10, but a refresh can run
+    // before an older install has migrated, so the legacy columns are still carried over.
+    private static final String[][] CONTENT_TABLES = {
+        {GameDatabaseHelper.TABLE_GALAXIES, "is_unlocked"},
+        {GameDatabaseHelper.TABLE_PLANETS, "is_unlocked"},
+        {GameDatabaseHelper.TABLE_SCENES, "is_completed", "stars_earned"},
+        {GameDatabaseHelper.TABLE_WORDS, "is_learned"},
+        {GameDatabaseHelper.TABLE_SENTENCES, "is_learned"},
+        {GameDatabaseHelper.TABLE_MINIGAMES}
+    };
+
+    private ContentPackInstaller() {
+    }
+
+    /**
+     * Makes sure the newest shipped content pack is in place. GameDatabaseHelper runs it on the
+     * database writer before the first open; it copies files and rewrites tables, so never call
+     * it on the main thread. Returns false when the pack was not applied: with no database yet the
+     * helper then falls back to seeding in onCreate, otherwise the existing content is kept.
+     */
+    public static boolean install(Context context, String databaseName) {
+        int assetVersion = readAssetVersion(context);
+        if (assetVersion <= 0) {
+            return false;
+        }
+
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        int installedVersion = prefs.getInt(KEY_INSTALLED_VERSION, 0);
+        int failedVersion = prefs.getInt(KEY_FAILED_VERSION, 0);
+        File dbFile = context.getDatabasePath(databaseName);
+        boolean refreshing = false;
+
+        try {
+            if (!dbFile.exists()) {
+                copyAsset(context, ASSET_DIR + "/" + PACK_FILE_NAME, dbFile);
+            } else if (installedVersion < assetVersion && failedVersion < assetVersion) {
+                refreshing = true;
+                File packFile = new File(context.getCacheDir(), PACK_FILE_NAME);
+                copyAsset(context, ASSET_DIR + "/" + PACK_FILE_NAME, packFile);
+                try {
+                    refreshContent(dbFile, packFile);
+                } finally {
+                    packFile.delete();
+                }
+            } else {
+                return true;
+            }
+        } catch (IOException | RuntimeException e) {
+            if (refreshing) {
+                // An existing database is never re-seeded, so its content stays as it was
+                Log.e(TAG, "Content pack " + assetVersion + " refresh failed, keeping existing content", e);
+                prefs.edit().putInt(KEY_FAILED_VERSION, assetVersion).apply();
+            } else {
+                Log.e(TAG, "Content pack install failed, falling back to seeding", e);
+            }
+            return false;
+        }
+
+        prefs.edit().putInt(KEY_INSTALLED_VERSION, assetVersion).apply();
+        return true;
+    }
+
+    /**
+     * Writes a ready-to-ship content pack and its version stamp into outDir. Runs the same
+     * schema and seed data as GameDatabaseHelper.onCreate, so the pack never drifts from it.
+     */
+    public static void exportPack(GameDatabaseHelper helper, File outDir, int version)
+            throws IOException {
+        if (!outDir.exists() && !outDir.mkdirs()) {
+            throw new IOException("Cannot create " + outDir);
+        }
+        File packFile = new File(outDir, PACK_FILE_NAME);
+        SQLiteDatabase.deleteDatabase(packFile);
+
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(packFile, null);
+        try {
+            db.beginTransaction();
+            try {
+                helper.onCreate(db);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            db.setVersion(GameDatabaseHelper.DATABASE_VERSION);
+            // Ship a single self-contained file
+            db.rawQuery("PRAGMA journal_mode=DELETE", null).close();
+            db.execSQL("VACUUM");
+        } finally {
+            db.close();
+        }
+
+        FileWriter writer = new FileWriter(new File(outDir, VERSION_FILE_NAME));
+        try {
+            writer.write(String.valueOf(version));
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static int readAssetVersion(Context context) {
+        try {
+            InputStream in = context.getAssets().open(ASSET_DIR + "/" + VERSION_FILE_NAME);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in));
+            try {
+                String line = reader.readLine();
+                return line != null ? Integer.parseInt(line.trim()) : 0;
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | NumberFormatException e) {
+            // No pack shipped with this build
+            return 0;
+        }
+    }
+
+    private static void copyAsset(Context context, String assetPath, File target) throws IOException {
+        File parent = target.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        // Copy to a temp file first so a crash mid-copy never leaves a half-written database
+        File temp = new File(target.getPath() + ".tmp");
+        InputStream in = context.getAssets().open(assetPath);
+        try {
+            OutputStream out = new FileOutputStream(temp);
+            try {
+                byte[] buffer = new byte[16 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Cannot move content pack into " + target);
+        }
+    }
+
+    private static void refreshContent(File dbFile, File packFile) {
+        // Short-lived connection: ATTACH would otherwise stick to the helper's connection pool
+        SQLiteDatabase db = SQLiteDatabase.openDatabase(dbFile.getPath(), null,
+            SQLiteDatabase.OPEN_READWRITE);
+        try {
+            db.execSQL("ATTACH DATABASE ? AS pack", new Object[]{packFile.getPath()});
+            db.beginTransaction();
+            try {
+                for (String[] table : CONTENT_TABLES) {
+                    refreshTable(db, table[0], Arrays.asList(table).subList(1, table.length));
+                }
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            db.execSQL("DETACH DATABASE pack");
+        } finally {
+            db.close();
+        }
+    }
+
+    private static void refreshTable(SQLiteDatabase db, String table, List<String> progressColumns) {
+        List<String> columns = getColumns(db, table);
+        if (columns.isEmpty()) {
+            return;
+        }
+        StringBuilder insertColumns = new StringBuilder();
+        StringBuilder selectColumns = new StringBuilder();
+        for (String column : columns) {
+            if (insertColumns.length() > 0) {
+                insertColumns.append(',');
+                selectColumns.append(',');
+            }
+            insertColumns.append(column);
+            if (progressColumns.contains(column)) {
+                selectColumns.append("COALESCE(m.").append(column).append(", p.").append(column).append(')');
+            } else {
+                selectColumns.append("p.").append(column);
+            }
+        }
+        db.execSQL("INSERT OR REPLACE INTO main." + table + " (" + insertColumns + ")"
+            + " SELECT " + selectColumns + " FROM pack." + table + " p"
+            + " LEFT JOIN main." + table + " m ON m.id = p.id");
+        db.execSQL("DELETE FROM main." + table + " WHERE id NOT IN (SELECT id FROM pack." + table + ")");
+    }
+
+    private static List<String> getColumns(SQLiteDatabase db, String table) {
+        // Only columns both schemas agree on, so an older main schema still refreshes cleanly
+        List<String> packColumns = readColumns(db, "pack", table);
+        List<String> mainColumns = readColumns(db, "main", table);
+        packColumns.retainAll(mainColumns);
+        return packColumns;
+    }
+
+    private static List<String> readColumns(SQLiteDatabase db, String schema, String table) {
+        List<String> columns = new ArrayList<>();
+        Cursor cursor = db.rawQuery("PRAGMA " + schema + ".table_info(" + table + ")", null);
+        int nameIndex = cursor.getColumnIndexOrThrow("name");
+        while (cursor.moveToNext()) {
+            columns.add(cursor.getString(nameIndex));
+        }
+        cursor.close();
+        return columns;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.engapp.database;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-process gate for the seeded curriculum check.
+ *
+ * The stored seed checksum is compared once per process on the database writer; integrity
+ * repair only runs when it mismatches. Screens wait for it with {@link #whenVerified()};
+ * synchronous readers block in {@link #awaitVerified()}, which is already open on every call
+ * after the first check. The curriculum cache is warmed on the writer right after.
+ */
+final class ContentSeedState {
+
+    private final GameDatabaseHelper helper;
+    private final CompletableFuture<Void> verified = new CompletableFuture<>();
+    private final AtomicBoolean queued = new AtomicBoolean(false);
+    private final AtomicBoolean started = new AtomicBoolean(false);
+
+    ContentSeedState(GameDatabaseHelper helper) {
+        this.helper = helper;
+    }
+
+    boolean isVerified() {
+        return verified.isDone();
+    }
+
+    void verifyInBackground() {
+        if (isVerified() || !queued.compareAndSet(false, true)) {
+            return;
+        }
+        DatabaseExecutors.getInstance().writer().execute(() -> {
+            verifyOnce();
+            // After the gate opens, so readers are never held up by the warm-up
+            helper.warmCurriculumCache();
+        });
+    }
+
+    /** Completes once the check has run; never completes exceptionally. */
+    CompletableFuture<Void> whenVerified() {
+        verifyInBackground();
+        return verified;
+    }
+
+    void awaitVerified() {
+        if (isVerified()) {
+            return;
+        }
+        verifyInBackground();
+        // A caller on the writer itself would otherwise wait on the task queued behind it,
+        // so whoever gets here before the queued check runs it inline
+        if (verifyOnce()) {
+            return;
+        }
+        try {
+            verified.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Not reached: verifyOnce() only ever completes it normally
+        }
+    }
+
+    private boolean verifyOnce() {
+        if (!started.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            helper.verifySeededContent();
+        } finally {
+            verified.complete(null);
+        }
+        return true;
+    }
+}
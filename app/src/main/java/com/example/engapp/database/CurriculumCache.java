@@ -0,0 +1,344 @@
+package com.example.engapp.database;
+
+import android.util.SparseArray;
+
+import com.example.engapp.database.GameDatabaseHelper.PlanetData;
+import com.example.engapp.database.GameDatabaseHelper.SceneData;
+import com.example.engapp.database.GameDatabaseHelper.SentenceData;
+import com.example.engapp.database.GameDatabaseHelper.WordData;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Process-wide copy of the seeded curriculum: planets, scenes, words and sentences.
+ *
+ * Each table is loaded in one query the first time it is needed (normally by the background
+ * warm-up after the seed check) and then served from memory. Writes to a progress column
+ * invalidate only the table they touch; the next read reloads it. Learning words is the
+ * exception: it is frequent, so the affected entries are replaced in memory instead.
+ *
+ * Callers get fresh lists of fresh objects they may shuffle, sort or modify (screens overlay
+ * unlock and learned state onto them). The cached objects themselves are never handed out or
+ * changed; an update swaps in copies.
+ */
+final class CurriculumCache {
+
+    private static final class Planets {
+        final List<PlanetData> ordered;
+        final SparseArray<PlanetData> byId = new SparseArray<>();
+        final Map<String, PlanetData> byKey = new HashMap<>();
+        final SparseArray<List<PlanetData>> byGalaxy = new SparseArray<>();
+
+        Planets(List<PlanetData> ordered) {
+            this.ordered = ordered;
+            for (PlanetData planet : ordered) {
+                byId.put(planet.id, planet);
+                byKey.put(planet.planetKey, planet);
+                group(byGalaxy, planet.galaxyId).add(planet);
+            }
+        }
+    }
+
+    private static final class Words {
+        final List<WordData> all;
+        final SparseArray<List<WordData>> byPlanet = new SparseArray<>();
+        final List<WordData> learned = new ArrayList<>();
+
+        Words(List<WordData> all) {
+            this.all = all;
+            for (WordData word : all) {
+                group(byPlanet, word.planetId).add(word);
+                if (word.isLearned) {
+                    learned.add(word);
+                }
+            }
+        }
+    }
+
+    private static final class Sentences {
+        final SparseArray<List<SentenceData>> byPlanet = new SparseArray<>();
+        final SparseArray<List<SentenceData>> byScene = new SparseArray<>();
+
+        Sentences(List<SentenceData> all) {
+            for (SentenceData sentence : all) {
+                group(byPlanet, sentence.planetId).add(sentence);
+                group(byScene, sentence.sceneId).add(sentence);
+            }
+        }
+    }
+
+    private final GameDatabaseHelper helper;
+
+    private volatile Planets planets;
+    private volatile int planetGeneration;
+    private volatile SparseArray<List<SceneData>> scenesByPlanet;
+    private volatile Words words;
+    private volatile Sentences sentences;
+
+    CurriculumCache(GameDatabaseHelper helper) {
+        this.helper = helper;
+    }
+
+    void warm() {
+        planets();
+        scenes();
+        words();
+        sentences();
+    }
+
+    // ============ READS ============
+
+    List<PlanetData> getAllPlanets() {
+        return copyPlanets(planets().ordered);
+    }
+
+    List<PlanetData> getPlanetsForGalaxy(int galaxyId) {
+        return copyPlanets(planets().byGalaxy.get(galaxyId, Collections.<PlanetData>emptyList()));
+    }
+
+    PlanetData getPlanetById(int id) {
+        return copyPlanet(planets().byId.get(id));
+    }
+
+    PlanetData getPlanetByKey(String planetKey) {
+        return copyPlanet(planets().byKey.get(planetKey));
+    }
+
+    List<SceneData> getScenesForPlanet(int planetId) {
+        List<SceneData> source = scenes().get(planetId, Collections.<SceneData>emptyList());
+        List<SceneData> copies = new ArrayList<>(source.size());
+        for (SceneData scene : source) {
+            copies.add(copyScene(scene));
+        }
+        return copies;
+    }
+
+    List<WordData> getWordsForPlanet(int planetId) {
+        return copyWords(words().byPlanet.get(planetId, Collections.<WordData>emptyList()));
+    }
+
+    List<WordData> getLearnedWords() {
+        return copyWords(words().learned);
+    }
+
+    List<SentenceData> getSentencesForPlanet(int planetId) {
+        return copySentences(sentences().byPlanet.get(planetId,
+            Collections.<SentenceData>emptyList()));
+    }
+
+    List<SentenceData> getSentencesForScene(int sceneId) {
+        return copySentences(sentences().byScene.get(sceneId,
+            Collections.<SentenceData>emptyList()));
+    }
+
+    // ============ UPDATES ============
+
+    /** Marks the words learned in memory after the same change was committed to the database. */
+    synchronized void markWordsLearned(Collection<Integer> wordIds) {
+        Words current = words;
+        if (current == null || wordIds.isEmpty()) {
+            // Not loaded yet; the first read will see the committed rows
+            return;
+        }
+        Set<Integer> ids = new HashSet<>(wordIds);
+        List<WordData> updated = new ArrayList<>(current.all.size());
+        for (WordData word : current.all) {
+            if (!word.isLearned && ids.contains(word.id)) {
+                WordData learned = copyWord(word);
+                learned.isLearned = true;
+                updated.add(learned);
+            } else {
+                updated.add(word);
+            }
+        }
+        words = new Words(updated);
+    }
+
+    /** Changes every time the planet list is dropped, so holders of derived state can tell. */
+    int planetGeneration() {
+        return planetGeneration;
+    }
+
+    // ============ INVALIDATION ============
+    // Synchronized with the loaders, so a load that raced a write is dropped, not kept
+
+    synchronized void invalidatePlanets() {
+        planets = null;
+        planetGeneration++;
+    }
+
+    synchronized void invalidateScenes() {
+        scenesByPlanet = null;
+    }
+
+    synchronized void invalidateAll() {
+        planets = null;
+        planetGeneration++;
+        scenesByPlanet = null;
+        words = null;
+        sentences = null;
+    }
+
+    // ============ LOADERS ============
+
+    private Planets planets() {
+        Planets result = planets;
+        if (result == null) {
+            synchronized (this) {
+                result = planets;
+                if (result == null) {
+                    result = new Planets(helper.queryAllPlanets());
+                    planets = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private SparseArray<List<SceneData>> scenes() {
+        SparseArray<List<SceneData>> result = scenesByPlanet;
+        if (result == null) {
+            synchronized (this) {
+                result = scenesByPlanet;
+                if (result == null) {
+                    result = new SparseArray<>();
+                    for (SceneData scene : helper.queryAllScenes()) {
+                        group(result, scene.planetId).add(scene);
+                    }
+                    scenesByPlanet = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Words words() {
+        Words result = words;
+        if (result == null) {
+            synchronized (this) {
+                result = words;
+                if (result == null) {
+                    result = new Words(helper.queryAllWords());
+                    words = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Sentences sentences() {
+        Sentences result = sentences;
+        if (result == null) {
+            synchronized (this) {
+                result = sentences;
+                if (result == null) {
+                    result = new Sentences(helper.queryAllSentences());
+                    sentences = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static <T> List<T> group(SparseArray<List<T>> groups, int key) {
+        List<T> list = groups.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            groups.put(key, list);
+        }
+        return list;
+    }
+
+    private static SceneData copyScene(SceneData source) {
+        SceneData s = new SceneData();
+        s.id = source.id;
+        s.planetId = source.planetId;
+        s.sceneKey = source.sceneKey;
+        s.sceneType = source.sceneType;
+        s.name = source.name;
+        s.nameVi = source.nameVi;
+        s.description = source.description;
+        s.emoji = source.emoji;
+        s.orderIndex = source.orderIndex;
+        s.isCompleted = source.isCompleted;
+        s.starsEarned = source.starsEarned;
+        return s;
+    }
+
+    private static List<WordData> copyWords(List<WordData> source) {
+        List<WordData> copies = new ArrayList<>(source.size());
+        for (WordData word : source) {
+            copies.add(copyWord(word));
+        }
+        return copies;
+    }
+
+    private static WordData copyWord(WordData source) {
+        WordData w = new WordData();
+        w.id = source.id;
+        w.planetId = source.planetId;
+        w.english = source.english;
+        w.vietnamese = source.vietnamese;
+        w.pronunciation = source.pronunciation;
+        w.emoji = source.emoji;
+        w.category = source.category;
+        w.exampleSentence = source.exampleSentence;
+        w.exampleTranslation = source.exampleTranslation;
+        w.isLearned = source.isLearned;
+        return w;
+    }
+
+    private static List<SentenceData> copySentences(List<SentenceData> source) {
+        List<SentenceData> copies = new ArrayList<>(source.size());
+        for (SentenceData sentence : source) {
+            SentenceData s = new SentenceData();
+            s.id = sentence.id;
+            s.planetId = sentence.planetId;
+            s.sceneId = sentence.sceneId;
+            s.english = sentence.english;
+            s.vietnamese = sentence.vietnamese;
+            s.keywords = sentence.keywords;
+            s.sentenceType = sentence.sentenceType;
+            copies.add(s);
+        }
+        return copies;
+    }
+
+    private static List<PlanetData> copyPlanets(List<PlanetData> source) {
+        List<PlanetData> copies = new ArrayList<>(source.size());
+        for (PlanetData planet : source) {
+            copies.add(copyPlanet(planet));
+        }
+        return copies;
+    }
+
+    private static PlanetData copyPlanet(PlanetData source) {
+        if (source == null) {
+            return null;
+        }
+        PlanetData p = new PlanetData();
+        p.id = source.id;
+        p.galaxyId = source.galaxyId;
+        p.planetKey = source.planetKey;
+        p.name = source.name;
+        p.nameVi = source.nameVi;
+        p.description = source.description;
+        p.emoji = source.emoji;
+        p.themeColor = source.themeColor;
+        p.collectibleName = source.collectibleName;
+        p.collectibleEmoji = source.collectibleEmoji;
+        p.grammarFocus = source.grammarFocus;
+        p.skillFocus = source.skillFocus;
+        p.requiredFuelCells = source.requiredFuelCells;
+        p.orderIndex = source.orderIndex;
+        p.isUnlocked = source.isUnlocked;
+        return p;
+    }
+}
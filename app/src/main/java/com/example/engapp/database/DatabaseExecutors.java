@@ -0,0 +1,75 @@
+package com.example.engapp.database;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for database work: one writer so writes never contend for the SQLite write lock,
+ * a small pool of readers (WAL lets them run next to the writer), and the main thread for
+ * delivering results.
+ *
+ * The reader queue is unbounded: a burst of screen loads waits its turn rather than being
+ * rejected, since a rejected read would reach the screen as "no data".
+ */
+public final class DatabaseExecutors {
+
+    private static final int READER_THREADS = 2;
+
+    private static DatabaseExecutors instance;
+
+    private final ExecutorService writer;
+    private volatile Thread writerThread;
+    private final ExecutorService readers;
+    private final Executor mainThread;
+
+    public static synchronized DatabaseExecutors getInstance() {
+        if (instance == null) {
+            instance = new DatabaseExecutors();
+        }
+        return instance;
+    }
+
+    private DatabaseExecutors() {
+        ThreadFactory writerThreads = backgroundThreads("db-writer");
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = writerThreads.newThread(runnable);
+            writerThread = thread;
+            return thread;
+        });
+        readers = Executors.newFixedThreadPool(READER_THREADS, backgroundThreads("db-reader"));
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        mainThread = mainHandler::post;
+    }
+
+    public Executor writer() {
+        return writer;
+    }
+
+    /** True on the writer thread, where waiting for a writer task would deadlock. */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+
+    public Executor readers() {
+        return readers;
+    }
+
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    private static ThreadFactory backgroundThreads(String name) {
+        AtomicInteger count = new AtomicInteger(1);
+        return runnable -> new Thread(() -> {
+            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+            runnable.run();
+        }, name + "-" + count.getAndIncrement());
+    }
+}
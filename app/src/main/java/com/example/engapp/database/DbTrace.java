@@ -0,0 +1,108 @@
+package com.example.engapp.database;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.engapp.BuildConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Debug-only trace of recent database events.
+ *
+ * Events go into a fixed-size lock-free ring buffer; nothing touches disk or logcat until
+ * dump() is called, which debug builds expose as a broadcast (see DbTraceDumpReceiver in
+ * src/debug). In release builds ENABLED is false, so start() and record() return after one
+ * static field check without allocating. The bodies still ship: BuildConfig.DEBUG is not a
+ * compile-time constant and the release build is not minified.
+ */
+public final class DbTrace {
+
+    private static final String TAG = "DbTrace";
+
+    public static final boolean ENABLED = BuildConfig.DEBUG;
+
+    // Power of two so the slot index is a mask of the sequence number
+    private static final int CAPACITY = 256;
+    private static final int MASK = CAPACITY - 1;
+
+    private static final AtomicReferenceArray<Event> EVENTS = new AtomicReferenceArray<>(CAPACITY);
+    private static final AtomicLong NEXT_SEQ = new AtomicLong();
+
+    private DbTrace() {
+    }
+
+    public static final class Event {
+        public final long seq;
+        public final long timeMillis;
+        public final String name;
+        public final int id;
+        public final int result;
+        public final long durationNanos;
+
+        Event(long seq, long timeMillis, String name, int id, int result, long durationNanos) {
+            this.seq = seq;
+            this.timeMillis = timeMillis;
+            this.name = name;
+            this.id = id;
+            this.result = result;
+            this.durationNanos = durationNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + seq + " " + timeMillis + " " + name + " id=" + id + " result=" + result
+                + " took=" + (durationNanos / 1000) + "us";
+        }
+    }
+
+    /** Start timestamp for a later record() call; 0 when tracing is off. */
+    public static long start() {
+        return ENABLED ? SystemClock.elapsedRealtimeNanos() : 0L;
+    }
+
+    /**
+     * Records one event. id is the entity the call was about (planet, scene, ...), result is
+     * the row count it produced or touched.
+     */
+    public static void record(String name, int id, int result, long startNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        long duration = SystemClock.elapsedRealtimeNanos() - startNanos;
+        long seq = NEXT_SEQ.getAndIncrement();
+        EVENTS.set((int) (seq & MASK),
+            new Event(seq, System.currentTimeMillis(), name, id, result, duration));
+    }
+
+    /** Recent events, oldest first. Slots overwritten while copying are skipped. */
+    public static List<Event> snapshot() {
+        List<Event> events = new ArrayList<>();
+        if (!ENABLED) {
+            return events;
+        }
+        long end = NEXT_SEQ.get();
+        for (long seq = Math.max(0, end - CAPACITY); seq < end; seq++) {
+            Event event = EVENTS.get((int) (seq & MASK));
+            if (event != null && event.seq == seq) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    public static void dump() {
+        for (Event event : snapshot()) {
+            Log.d(TAG, event.toString());
+        }
+    }
+
+    public static void clear() {
+        for (int i = 0; i < CAPACITY; i++) {
+            EVENTS.set(i, null);
+        }
+    }
+}
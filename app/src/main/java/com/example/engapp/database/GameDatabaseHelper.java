@@ -5,15 +5,24 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+import android.util.SparseArray;
 import com.example.engapp.model.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class GameDatabaseHelper extends SQLiteOpenHelper {
 
     private static final String DATABASE_NAME = "space_english_game.db";
-    private static final int DATABASE_VERSION = 7;
+    static final int DATABASE_VERSION = 10;
     private static final int EXPECTED_PLANET_COUNT = 19;
+    // Bump when ensurePlanetsSeeded changes so installs re-run the integrity repair once
+    private static final int SEED_REVISION = 1;
+    private static final String KEY_SEED_CHECKSUM = "seed_checksum";
 
     // Table names
     public static final String TABLE_GALAXIES = "galaxies";
@@ -32,9 +41,17 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     public static final String TABLE_INVENTORY = "inventory";
     public static final String TABLE_NOTES = "notes";
     public static final String TABLE_REMINDERS = "reminders";
+    public static final String TABLE_CONTENT_STATE = "content_state";
+    public static final String TABLE_PLANET_PROGRESS = "planet_progress";
+    public static final String TABLE_SCENE_PROGRESS = "scene_progress";
+    public static final String TABLE_WORD_PROGRESS = "word_progress";
 
     private static GameDatabaseHelper instance;
     private Context context;
+    private final ContentSeedState seedState = new ContentSeedState(this);
+    private final CurriculumCache curriculum = new CurriculumCache(this);
+    private final CompletableFuture<Void> contentPackInstalled = new CompletableFuture<>();
+    private final AtomicBoolean contentPackStarted = new AtomicBoolean(false);
 
     public static synchronized GameDatabaseHelper getInstance(Context context) {
         if (instance == null) {
@@ -46,6 +63,12 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     private GameDatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
         this.context = context;
+        // Prebuilt content pack (assets/content) replaces first-launch seeding when shipped.
+        // Copying or refreshing it is file and SQL work, so it runs as the writer's first task;
+        // every open waits for it, and whenPlanetsSeeded() only completes after it.
+        DatabaseExecutors.getInstance().writer().execute(this::installContentPackOnce);
+        // WAL lets GameRepository's reader threads query while the writer commits
+        setWriteAheadLoggingEnabled(true);
     }
 
     @Override
@@ -288,8 +311,64 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
             "updated_at TEXT" +
         ")");
 
+        createContentStateTable(db);
+        createProgressTables(db);
+        createIndexes(db);
+
         // Insert initial data
         insertInitialData(db);
+        ensurePlanetsSeeded(db);
+        writeSeedChecksum(db);
+    }
+
+    private void createContentStateTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CONTENT_STATE + " (" +
+            "key TEXT PRIMARY KEY," +
+            "value TEXT" +
+        ")");
+    }
+
+    // Per-user state keyed by content id. The matching columns on planets, scenes and words
+    // only hold the seeded defaults now, so content rows are never written after seeding.
+    private void createProgressTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_PLANET_PROGRESS + " (" +
+            "planet_id INTEGER PRIMARY KEY," +
+            "is_unlocked INTEGER DEFAULT 0" +
+        ")");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_SCENE_PROGRESS + " (" +
+            "scene_id INTEGER PRIMARY KEY," +
+            "is_completed INTEGER DEFAULT 0," +
+            "stars_earned INTEGER DEFAULT 0" +
+        ")");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_WORD_PROGRESS + " (" +
+            "word_id INTEGER PRIMARY KEY," +
+            "is_learned INTEGER DEFAULT 0" +
+        ")");
+        // Learned words are a small slice of the table; only queries spelling the
+        // predicate as the literal is_learned = 1 can use this partial index
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_word_progress_learned ON " +
+            TABLE_WORD_PROGRESS + "(word_id) WHERE is_learned = 1");
+    }
+
+    private void migrateProgressColumns(SQLiteDatabase db) {
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE_PLANET_PROGRESS + " (planet_id, is_unlocked)" +
+            " SELECT id, is_unlocked FROM " + TABLE_PLANETS + " WHERE is_unlocked = 1");
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE_SCENE_PROGRESS +
+            " (scene_id, is_completed, stars_earned)" +
+            " SELECT id, is_completed, stars_earned FROM " + TABLE_SCENES +
+            " WHERE is_completed = 1 OR stars_earned > 0");
+        // words.times_correct and times_wrong were never written, so only is_learned moves
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE_WORD_PROGRESS + " (word_id, is_learned)" +
+            " SELECT id, is_learned FROM " + TABLE_WORDS + " WHERE is_learned = 1");
+    }
+
+    private void createIndexes(SQLiteDatabase db) {
+        // The curriculum cache loads whole tables; these let the planet and scene loads come
+        // back already ordered. Words and sentences load in rowid order and need none.
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_planets_order ON " + TABLE_PLANETS +
+            "(order_index)");
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_scenes_planet_order ON " + TABLE_SCENES +
+            "(planet_id, order_index)");
     }
 
     @Override
@@ -460,6 +539,29 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
             ")");
             ensurePlanetsSeeded(db);
         }
+
+        if (oldVersion < 8) {
+            // Seed checksum is written by the first background verification after upgrade
+            createContentStateTable(db);
+        }
+
+        if (oldVersion < 9) {
+            // Version 9: secondary indexes for planets, scenes, words and sentences
+            createIndexes(db);
+        }
+
+        if (oldVersion < 10) {
+            // Version 10: move progress columns into their own tables, keyed by content id
+            createProgressTables(db);
+            migrateProgressColumns(db);
+            // words.is_learned is no longer written, so its version 9 partial index is dead,
+            // and per-planet/per-scene lookups gave way to whole-table cache loads
+            db.execSQL("DROP INDEX IF EXISTS idx_words_learned");
+            db.execSQL("DROP INDEX IF EXISTS idx_planets_galaxy_order");
+            db.execSQL("DROP INDEX IF EXISTS idx_words_planet");
+            db.execSQL("DROP INDEX IF EXISTS idx_sentences_planet");
+            db.execSQL("DROP INDEX IF EXISTS idx_sentences_scene");
+        }
         
         // For other upgrades, use the old method (drop and recreate)
         if (oldVersion < 5) {
@@ -483,26 +585,112 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
         }
     }
 
+    @Override
+    public SQLiteDatabase getWritableDatabase() {
+        awaitContentPack();
+        return super.getWritableDatabase();
+    }
+
+    @Override
+    public SQLiteDatabase getReadableDatabase() {
+        awaitContentPack();
+        return super.getReadableDatabase();
+    }
+
+    private void awaitContentPack() {
+        if (contentPackInstalled.isDone()) {
+            return;
+        }
+        // A writer task that got queued ahead of the install would otherwise wait on itself
+        if (DatabaseExecutors.getInstance().isWriterThread()) {
+            installContentPackOnce();
+            return;
+        }
+        try {
+            contentPackInstalled.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Not reached: installContentPackOnce() only ever completes it normally
+        }
+    }
+
+    private void installContentPackOnce() {
+        if (!contentPackStarted.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ContentPackInstaller.install(context, DATABASE_NAME);
+        } finally {
+            contentPackInstalled.complete(null);
+        }
+    }
+
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
-        ensurePlanetsSeeded(db);
-        if (getPlanetsCount(db) < EXPECTED_PLANET_COUNT) {
-            rebuildDatabase(db);
-            ensurePlanetsSeeded(db);
-        }
+        seedState.verifyInBackground();
+    }
+
+    /**
+     * Completes once this process has installed the content pack and verified the seeded
+     * curriculum; already complete after the first check. Screens continue from it instead of
+     * blocking the main thread.
+     */
+    public CompletableFuture<Void> whenPlanetsSeeded() {
+        return seedState.whenVerified();
     }
 
-    public void ensurePlanetsSeededNow() {
+    // Called once per process by ContentSeedState, usually on the database writer
+    void verifySeededContent() {
         SQLiteDatabase db = getWritableDatabase();
-        ensurePlanetsSeeded(db);
-        if (getPlanetsCount(db) < EXPECTED_PLANET_COUNT) {
-            rebuildDatabase(db);
+        Cursor cursor = db.query(TABLE_CONTENT_STATE, new String[]{"value"}, "key = ?",
+            new String[]{KEY_SEED_CHECKSUM}, null, null, null);
+        String stored = cursor.moveToFirst() ? cursor.getString(0) : null;
+        cursor.close();
+        if (computeSeedChecksum(db).equals(stored)) {
+            return;
+        }
+
+        db.beginTransaction();
+        try {
             ensurePlanetsSeeded(db);
+            if (getPlanetsCount(db) < EXPECTED_PLANET_COUNT) {
+                rebuildDatabase(db);
+                ensurePlanetsSeeded(db);
+            }
+            writeSeedChecksum(db);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
         }
+        curriculum.invalidateAll();
+    }
+
+    // Seed revision plus row count and id sum of the seeded tables, built in one query
+    private String computeSeedChecksum(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT " +
+            "(SELECT COUNT(*) || '/' || TOTAL(id) FROM " + TABLE_GALAXIES + ") || ':' || " +
+            "(SELECT COUNT(*) || '/' || TOTAL(id) FROM " + TABLE_PLANETS + ") || ':' || " +
+            "(SELECT COUNT(*) || '/' || TOTAL(id) FROM " + TABLE_SCENES + ")", null);
+        String checksum = "";
+        if (cursor.moveToFirst()) {
+            checksum = cursor.getString(0);
+        }
+        cursor.close();
+        return SEED_REVISION + ":" + checksum;
+    }
+
+    private void writeSeedChecksum(SQLiteDatabase db) {
+        ContentValues values = new ContentValues();
+        values.put("key", KEY_SEED_CHECKSUM);
+        values.put("value", computeSeedChecksum(db));
+        db.insertWithOnConflict(TABLE_CONTENT_STATE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
     }
 
+    // Progress tables are kept: seeding is deterministic, so content ids line up again
     private void rebuildDatabase(SQLiteDatabase db) {
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CONTENT_STATE);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_REMINDERS);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_NOTES);
         db.execSQL("DROP TABLE IF EXISTS " + TABLE_INVENTORY);
@@ -523,12 +711,13 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     }
 
     public int ensureMinimumPlanets(int minCount) {
+        seedState.awaitVerified();
         SQLiteDatabase db = getWritableDatabase();
-        ensurePlanetsSeeded(db);
         int count = getPlanetsCount(db);
         if (count < minCount) {
             insertBasePlanets(db);
             count = getPlanetsCount(db);
+            curriculum.invalidatePlanets();
         }
         return count;
     }
@@ -2814,155 +3003,159 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
 
     // ============ QUERY METHODS ============
 
-    public List<PlanetData> getAllPlanets() {
-        SQLiteDatabase db = getWritableDatabase();
-        ensurePlanetsSeeded(db);
-        if (getPlanetsCount(db) < EXPECTED_PLANET_COUNT) {
-            rebuildDatabase(db);
-            ensurePlanetsSeeded(db);
-        }
-        List<PlanetData> planets = new ArrayList<>();
-        Cursor cursor = db.query(TABLE_PLANETS, null, null, null, null, null, "order_index ASC");
+    // Curriculum reads are served by CurriculumCache; the queryAll* loaders below fill it
 
-        while (cursor.moveToNext()) {
-            planets.add(cursorToPlanet(cursor));
-        }
-        cursor.close();
-        return planets;
+    /**
+     * Changes whenever the cached planet list is dropped (rebuild, repair, unlock), for
+     * callers that derive their own structures from getAllPlanets().
+     */
+    public int getPlanetGeneration() {
+        return curriculum.planetGeneration();
     }
 
-    public PlanetData getPlanetById(int id) {
-        SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_PLANETS, null, "id = ?",
-            new String[]{String.valueOf(id)}, null, null, null);
+    public List<PlanetData> getAllPlanets() {
+        seedState.awaitVerified();
+        return curriculum.getAllPlanets();
+    }
 
-        PlanetData planet = null;
-        if (cursor.moveToFirst()) {
-            planet = cursorToPlanet(cursor);
-        }
-        cursor.close();
-        return planet;
+    public PlanetData getPlanetById(int id) {
+        seedState.awaitVerified();
+        return curriculum.getPlanetById(id);
     }
 
     public PlanetData getPlanetByKey(String planetKey) {
-        SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_PLANETS, null, "planet_key = ?",
-            new String[]{planetKey}, null, null, null);
-
-        PlanetData planet = null;
-        if (cursor.moveToFirst()) {
-            planet = cursorToPlanet(cursor);
-        }
-        cursor.close();
-        return planet;
+        seedState.awaitVerified();
+        return curriculum.getPlanetByKey(planetKey);
     }
 
     public List<SceneData> getScenesForPlanet(int planetId) {
-        List<SceneData> scenes = new ArrayList<>();
+        return curriculum.getScenesForPlanet(planetId);
+    }
+
+    public List<WordData> getWordsForPlanet(int planetId) {
+        return curriculum.getWordsForPlanet(planetId);
+    }
+
+    public List<WordData> getLearnedWords() {
+        return curriculum.getLearnedWords();
+    }
+
+    public List<SentenceData> getSentencesForPlanet(int planetId) {
+        long traceStart = DbTrace.start();
+        List<SentenceData> sentences = curriculum.getSentencesForPlanet(planetId);
+        DbTrace.record("sentencesForPlanet", planetId, sentences.size(), traceStart);
+        return sentences;
+    }
+
+    public List<SentenceData> getSentencesForScene(int sceneId) {
+        long traceStart = DbTrace.start();
+        List<SentenceData> sentences = curriculum.getSentencesForScene(sceneId);
+        DbTrace.record("sentencesForScene", sceneId, sentences.size(), traceStart);
+        return sentences;
+    }
+
+    // Called from a background thread once the seed check has finished
+    void warmCurriculumCache() {
+        curriculum.warm();
+    }
+
+    // Walks idx_planets_order; QueryPlanTest explains these loader statements as written
+    static final String ALL_PLANETS_QUERY =
+        "SELECT * FROM " + TABLE_PLANETS + " ORDER BY order_index ASC";
+
+    // Walks idx_scenes_planet_order, so each planet's scenes come out already ordered
+    static final String ALL_SCENES_QUERY =
+        "SELECT * FROM " + TABLE_SCENES + " ORDER BY planet_id ASC, order_index ASC";
+
+    // Rowid order, so no index and no sort
+    static final String ALL_WORDS_QUERY = "SELECT * FROM " + TABLE_WORDS + " ORDER BY id ASC";
+    static final String ALL_SENTENCES_QUERY =
+        "SELECT * FROM " + TABLE_SENTENCES + " ORDER BY id ASC";
+
+    List<PlanetData> queryAllPlanets() {
+        List<PlanetData> planets = new ArrayList<>();
+        SparseArray<PlanetData> byId = new SparseArray<>();
         SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_SCENES, null, "planet_id = ?",
-            new String[]{String.valueOf(planetId)}, null, null, "order_index ASC");
+        Cursor cursor = db.rawQuery(ALL_PLANETS_QUERY, null);
+        while (cursor.moveToNext()) {
+            PlanetData planet = cursorToPlanet(cursor);
+            planets.add(planet);
+            byId.put(planet.id, planet);
+        }
+        cursor.close();
 
+        cursor = db.query(TABLE_PLANET_PROGRESS, new String[]{"planet_id", "is_unlocked"},
+            null, null, null, null, null);
         while (cursor.moveToNext()) {
-            scenes.add(cursorToScene(cursor));
+            PlanetData planet = byId.get(cursor.getInt(0));
+            if (planet != null && cursor.getInt(1) == 1) {
+                planet.isUnlocked = true;
+            }
         }
         cursor.close();
-        return scenes;
+        return planets;
     }
 
-    public List<WordData> getWordsForPlanet(int planetId) {
-        List<WordData> words = new ArrayList<>();
+    List<SceneData> queryAllScenes() {
+        List<SceneData> scenes = new ArrayList<>();
         SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_WORDS, null, "planet_id = ?",
-            new String[]{String.valueOf(planetId)}, null, null, null);
+        Cursor cursor = db.rawQuery(ALL_SCENES_QUERY, null);
+        SparseArray<SceneData> byId = new SparseArray<>();
+        while (cursor.moveToNext()) {
+            SceneData scene = cursorToScene(cursor);
+            scenes.add(scene);
+            byId.put(scene.id, scene);
+        }
+        cursor.close();
 
+        cursor = db.query(TABLE_SCENE_PROGRESS, new String[]{"scene_id", "is_completed", "stars_earned"},
+            null, null, null, null, null);
         while (cursor.moveToNext()) {
-            words.add(cursorToWord(cursor));
+            SceneData scene = byId.get(cursor.getInt(0));
+            if (scene != null) {
+                scene.isCompleted = cursor.getInt(1) == 1;
+                scene.starsEarned = cursor.getInt(2);
+            }
         }
         cursor.close();
-        return words;
+        return scenes;
     }
 
-    public List<WordData> getLearnedWords() {
+    // Served from idx_word_progress_learned; QueryPlanTest checks this exact statement
+    static final String LEARNED_WORD_IDS_QUERY =
+        "SELECT word_id FROM " + TABLE_WORD_PROGRESS + " WHERE is_learned = 1";
+
+    List<WordData> queryAllWords() {
         List<WordData> words = new ArrayList<>();
         SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_WORDS, null, "is_learned = ?",
-            new String[]{"1"}, null, null, null);
-
+        Cursor cursor = db.rawQuery(ALL_WORDS_QUERY, null);
+        SparseArray<WordData> byId = new SparseArray<>();
         while (cursor.moveToNext()) {
-            words.add(cursorToWord(cursor));
+            WordData word = cursorToWord(cursor);
+            words.add(word);
+            byId.put(word.id, word);
         }
         cursor.close();
-        return words;
-    }
-
-    public List<SentenceData> getSentencesForPlanet(int planetId) {
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"C\",\"location\":\"GameDatabaseHelper.getSentencesForPlanet:1061\",\"message\":\"Query entry\",\"data\":{\"planetId\":" + planetId + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
-        List<SentenceData> sentences = new ArrayList<>();
-        SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_SENTENCES, null, "planet_id = ?",
-            new String[]{String.valueOf(planetId)}, null, null, null);
-        
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"C\",\"location\":\"GameDatabaseHelper.getSentencesForPlanet:1065\",\"message\":\"Cursor result\",\"data\":{\"planetId\":" + planetId + ",\"count\":" + cursor.getCount() + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
 
+        cursor = db.rawQuery(LEARNED_WORD_IDS_QUERY, null);
         while (cursor.moveToNext()) {
-            sentences.add(cursorToSentence(cursor));
+            WordData word = byId.get(cursor.getInt(0));
+            if (word != null) {
+                word.isLearned = true;
+            }
         }
         cursor.close();
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"C\",\"location\":\"GameDatabaseHelper.getSentencesForPlanet:1071\",\"message\":\"Query exit\",\"data\":{\"planetId\":" + planetId + ",\"resultCount\":" + sentences.size() + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
-        return sentences;
+        return words;
     }
-    
-    public List<SentenceData> getSentencesForScene(int sceneId) {
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"B\",\"location\":\"GameDatabaseHelper.getSentencesForScene:1074\",\"message\":\"Query entry\",\"data\":{\"sceneId\":" + sceneId + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
+
+    List<SentenceData> queryAllSentences() {
         List<SentenceData> sentences = new ArrayList<>();
         SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_SENTENCES, null, "scene_id = ?",
-            new String[]{String.valueOf(sceneId)}, null, null, null);
-        
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"B\",\"location\":\"GameDatabaseHelper.getSentencesForScene:1078\",\"message\":\"Cursor result\",\"data\":{\"sceneId\":" + sceneId + ",\"count\":" + cursor.getCount() + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
-
+        Cursor cursor = db.rawQuery(ALL_SENTENCES_QUERY, null);
         while (cursor.moveToNext()) {
             sentences.add(cursorToSentence(cursor));
         }
         cursor.close();
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"B\",\"location\":\"GameDatabaseHelper.getSentencesForScene:1084\",\"message\":\"Query exit\",\"data\":{\"sceneId\":" + sceneId + ",\"resultCount\":" + sentences.size() + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
         return sentences;
     }
 
@@ -3082,75 +3275,139 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     }
 
     public void addStars(int starsToAdd) {
-        UserProgressData progress = getUserProgress();
-        if (progress != null) {
-            SQLiteDatabase db = getWritableDatabase();
-            ContentValues values = new ContentValues();
-            values.put("total_stars", progress.totalStars + starsToAdd);
-            db.update(TABLE_USER_PROGRESS, values, "user_id = ?", new String[]{"default"});
-        }
+        RewardDelta reward = new RewardDelta();
+        reward.stars = starsToAdd;
+        applyRewards(reward);
     }
 
     public void addFuelCells(int cells) {
-        UserProgressData progress = getUserProgress();
-        if (progress != null) {
-            SQLiteDatabase db = getWritableDatabase();
-            ContentValues values = new ContentValues();
-            values.put("total_fuel_cells", progress.totalFuelCells + cells);
-            db.update(TABLE_USER_PROGRESS, values, "user_id = ?", new String[]{"default"});
-        }
+        RewardDelta reward = new RewardDelta();
+        reward.fuelCells = cells;
+        applyRewards(reward);
     }
 
     public void addCrystals(int crystals) {
-        UserProgressData progress = getUserProgress();
-        if (progress != null) {
-            SQLiteDatabase db = getWritableDatabase();
-            ContentValues values = new ContentValues();
-            values.put("total_crystals", progress.totalCrystals + crystals);
-            db.update(TABLE_USER_PROGRESS, values, "user_id = ?", new String[]{"default"});
-        }
+        RewardDelta reward = new RewardDelta();
+        reward.crystals = crystals;
+        applyRewards(reward);
     }
 
     public void addExperience(int xp) {
-        UserProgressData progress = getUserProgress();
-        if (progress != null) {
-            SQLiteDatabase db = getWritableDatabase();
-            ContentValues values = new ContentValues();
-            int newXp = progress.experiencePoints + xp;
-            int newLevel = newXp / 100 + 1; // Level up every 100 XP
-            values.put("experience_points", newXp);
-            values.put("current_level", newLevel);
-            db.update(TABLE_USER_PROGRESS, values, "user_id = ?", new String[]{"default"});
+        RewardDelta reward = new RewardDelta();
+        reward.experience = xp;
+        applyRewards(reward);
+    }
+
+    /**
+     * Applies every currency and XP change from a finished game as one UPDATE. The increments
+     * run in SQL, so concurrent rewards never overwrite each other with a stale read.
+     */
+    public void applyRewards(RewardDelta reward) {
+        if (reward == null || reward.isEmpty()) {
+            return;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE " + TABLE_USER_PROGRESS + " SET ");
+        List<Object> args = new ArrayList<>();
+        appendIncrement(sql, args, "total_stars", reward.stars);
+        appendIncrement(sql, args, "total_fuel_cells", reward.fuelCells);
+        appendIncrement(sql, args, "total_crystals", reward.crystals);
+        if (reward.experience != 0) {
+            appendIncrement(sql, args, "experience_points", reward.experience);
+            // SET expressions see the old row, so add the delta again; level up every 100 XP
+            sql.append(", current_level = (experience_points + ?) / 100 + 1");
+            args.add(reward.experience);
         }
+        sql.append(" WHERE user_id = ?");
+        args.add("default");
+
+        SQLiteDatabase db = getWritableDatabase();
+        db.execSQL(sql.toString(), args.toArray());
+    }
+
+    private static void appendIncrement(StringBuilder sql, List<Object> args, String column, int amount) {
+        if (amount == 0) {
+            return;
+        }
+        if (!args.isEmpty()) {
+            sql.append(", ");
+        }
+        sql.append(column).append(" = ").append(column).append(" + ?");
+        args.add(amount);
     }
 
     public void markWordAsLearned(int wordId) {
         SQLiteDatabase db = getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put("is_learned", 1);
-        db.update(TABLE_WORDS, values, "id = ?", new String[]{String.valueOf(wordId)});
+        Object[] args = {wordId};
+        // No UPSERT before SQLite 3.24; insert-or-ignore then update keeps the answer counters
+        db.beginTransaction();
+        try {
+            db.execSQL("INSERT OR IGNORE INTO " + TABLE_WORD_PROGRESS + " (word_id) VALUES (?)", args);
+            db.execSQL("UPDATE " + TABLE_WORD_PROGRESS + " SET is_learned = 1 WHERE word_id = ?", args);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        curriculum.markWordsLearned(Collections.singletonList(wordId));
+    }
+
+    /**
+     * Commits everything a finished lesson produces (learned words, scene stars and rewards)
+     * in one transaction, so the whole lesson costs a single journal sync. Blocks on disk I/O;
+     * call it through GameRepository.commitLessonResult from screens.
+     */
+    public void commitLessonResult(LessonResult result) {
+        if (result == null) {
+            return;
+        }
+        long traceStart = DbTrace.start();
+        SQLiteDatabase db = getWritableDatabase();
+        SQLiteStatement insertWord = db.compileStatement(
+            "INSERT OR IGNORE INTO " + TABLE_WORD_PROGRESS + " (word_id) VALUES (?)");
+        SQLiteStatement markLearned = db.compileStatement(
+            "UPDATE " + TABLE_WORD_PROGRESS + " SET is_learned = 1 WHERE word_id = ?");
+        SQLiteStatement recordScene = db.compileStatement(
+            "INSERT OR REPLACE INTO " + TABLE_SCENE_PROGRESS +
+            " (scene_id, is_completed, stars_earned) VALUES (?, 1, ?)");
+        db.beginTransaction();
+        try {
+            for (int wordId : result.learnedWordIds) {
+                insertWord.bindLong(1, wordId);
+                insertWord.execute();
+                markLearned.bindLong(1, wordId);
+                markLearned.executeUpdateDelete();
+            }
+            if (result.sceneId > 0) {
+                recordScene.bindLong(1, result.sceneId);
+                recordScene.bindLong(2, result.sceneStars);
+                recordScene.executeInsert();
+            }
+            applyRewards(result.reward);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insertWord.close();
+            markLearned.close();
+            recordScene.close();
+        }
+
+        curriculum.markWordsLearned(result.learnedWordIds);
+        if (result.sceneId > 0) {
+            curriculum.invalidateScenes();
+        }
+        DbTrace.record("commitLessonResult", result.sceneId, result.learnedWordIds.size(), traceStart);
     }
 
     public void updateSceneProgress(int sceneId, int stars) {
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"C\",\"location\":\"GameDatabaseHelper.updateSceneProgress:1238\",\"message\":\"updateSceneProgress entry\",\"data\":{\"sceneId\":" + sceneId + ",\"stars\":" + stars + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
+        long traceStart = DbTrace.start();
         SQLiteDatabase db = getWritableDatabase();
         ContentValues values = new ContentValues();
+        values.put("scene_id", sceneId);
         values.put("is_completed", 1);
         values.put("stars_earned", stars);
-        int rowsUpdated = db.update(TABLE_SCENES, values, "id = ?", new String[]{String.valueOf(sceneId)});
-        // #region agent log
-        try {
-            java.io.FileWriter fw = new java.io.FileWriter("c:\\Users\\ADMIN\\Downloads\\MobileApp_Project-main (2)\\MobileApp_Project-main\\.cursor\\debug.log", true);
-            fw.write("{\"sessionId\":\"debug-session\",\"runId\":\"run1\",\"hypothesisId\":\"C\",\"location\":\"GameDatabaseHelper.updateSceneProgress:1244\",\"message\":\"updateSceneProgress result\",\"data\":{\"sceneId\":" + sceneId + ",\"stars\":" + stars + ",\"rowsUpdated\":" + rowsUpdated + "},\"timestamp\":" + System.currentTimeMillis() + "}\n");
-            fw.close();
-        } catch (Exception e) {}
-        // #endregion
+        long rowId = db.insertWithOnConflict(TABLE_SCENE_PROGRESS, null, values,
+            SQLiteDatabase.CONFLICT_REPLACE);
+        curriculum.invalidateScenes();
+        DbTrace.record("updateSceneProgress", sceneId, rowId != -1 ? 1 : 0, traceStart);
     }
 
     public void updateSceneUnlockStatus(int sceneId, boolean isUnlocked) {
@@ -3162,8 +3419,10 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     public void unlockPlanet(int planetId) {
         SQLiteDatabase db = getWritableDatabase();
         ContentValues values = new ContentValues();
+        values.put("planet_id", planetId);
         values.put("is_unlocked", 1);
-        db.update(TABLE_PLANETS, values, "id = ?", new String[]{String.valueOf(planetId)});
+        db.insertWithOnConflict(TABLE_PLANET_PROGRESS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        curriculum.invalidatePlanets();
     }
 
     public List<BadgeData> getAllBadges() {
@@ -3235,6 +3494,7 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
         SentenceData s = new SentenceData();
         s.id = c.getInt(c.getColumnIndexOrThrow("id"));
         s.planetId = c.getInt(c.getColumnIndexOrThrow("planet_id"));
+        s.sceneId = c.getInt(c.getColumnIndexOrThrow("scene_id"));
         s.english = c.getString(c.getColumnIndexOrThrow("english"));
         s.vietnamese = c.getString(c.getColumnIndexOrThrow("vietnamese"));
         s.keywords = c.getString(c.getColumnIndexOrThrow("keywords"));
@@ -3344,6 +3604,7 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     public static class SentenceData {
         public int id;
         public int planetId;
+        public int sceneId;
         public String english;
         public String vietnamese;
         public String keywords;
@@ -3365,6 +3626,24 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
         public int experiencePoints;
     }
 
+    public static class RewardDelta {
+        public int stars;
+        public int fuelCells;
+        public int crystals;
+        public int experience;
+
+        public boolean isEmpty() {
+            return stars == 0 && fuelCells == 0 && crystals == 0 && experience == 0;
+        }
+    }
+
+    public static class LessonResult {
+        public final List<Integer> learnedWordIds = new ArrayList<>();
+        public int sceneId;
+        public int sceneStars;
+        public final RewardDelta reward = new RewardDelta();
+    }
+
     public static class BadgeData {
         public int id;
         public String badgeKey;
@@ -3449,17 +3728,8 @@ public class GameDatabaseHelper extends SQLiteOpenHelper {
     }
 
     public List<PlanetData> getPlanetsForGalaxy(int galaxyId) {
-        ensurePlanetsSeeded(getWritableDatabase());
-        List<PlanetData> planets = new ArrayList<>();
-        SQLiteDatabase db = getReadableDatabase();
-        Cursor cursor = db.query(TABLE_PLANETS, null, "galaxy_id = ?",
-            new String[]{String.valueOf(galaxyId)}, null, null, "order_index ASC");
-
-        while (cursor.moveToNext()) {
-            planets.add(cursorToPlanet(cursor));
-        }
-        cursor.close();
-        return planets;
+        seedState.awaitVerified();
+        return curriculum.getPlanetsForGalaxy(galaxyId);
     }
 
     public void unlockGalaxy(int galaxyId) {
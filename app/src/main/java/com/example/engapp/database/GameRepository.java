@@ -0,0 +1,126 @@
+package com.example.engapp.database;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.engapp.database.GameDatabaseHelper.PlanetData;
+import com.example.engapp.database.GameDatabaseHelper.SceneData;
+import com.example.engapp.database.GameDatabaseHelper.SentenceData;
+import com.example.engapp.database.GameDatabaseHelper.UserProgressData;
+import com.example.engapp.database.GameDatabaseHelper.WordData;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous access to GameDatabaseHelper for screens. Reads run on the reader pool, writes
+ * on the single writer thread; use {@link #deliver} to get results back on the main thread.
+ * The helper's synchronous methods stay available for code that is already off the main thread.
+ */
+public class GameRepository {
+
+    private static final String TAG = "GameRepository";
+
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    private static GameRepository instance;
+
+    private final GameDatabaseHelper dbHelper;
+    private final DatabaseExecutors executors;
+
+    public static synchronized GameRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new GameRepository(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private GameRepository(Context context) {
+        this.dbHelper = GameDatabaseHelper.getInstance(context);
+        this.executors = DatabaseExecutors.getInstance();
+    }
+
+    // ============ READS ============
+
+    public CompletableFuture<List<PlanetData>> getAllPlanets() {
+        return read(dbHelper::getAllPlanets);
+    }
+
+    public CompletableFuture<PlanetData> getPlanetById(int planetId) {
+        return read(() -> dbHelper.getPlanetById(planetId));
+    }
+
+    public CompletableFuture<List<SceneData>> getScenesForPlanet(int planetId) {
+        return read(() -> dbHelper.getScenesForPlanet(planetId));
+    }
+
+    public CompletableFuture<List<WordData>> getWordsForPlanet(int planetId) {
+        return read(() -> dbHelper.getWordsForPlanet(planetId));
+    }
+
+    public CompletableFuture<List<SentenceData>> getSentencesForScene(int sceneId) {
+        return read(() -> dbHelper.getSentencesForScene(sceneId));
+    }
+
+    public CompletableFuture<UserProgressData> getUserProgress() {
+        return read(dbHelper::getUserProgress);
+    }
+
+    /**
+     * Runs a screen's combined load (several helper calls) as one reader task.
+     */
+    public <T> CompletableFuture<T> read(Supplier<T> query) {
+        return submit(executors.readers(), query);
+    }
+
+    // ============ WRITES ============
+
+    public CompletableFuture<Void> commitLessonResult(GameDatabaseHelper.LessonResult result) {
+        return write(() -> dbHelper.commitLessonResult(result));
+    }
+
+    public CompletableFuture<Void> write(Runnable update) {
+        return submit(executors.writer(), () -> {
+            update.run();
+            return null;
+        });
+    }
+
+    // ============ DELIVERY ============
+
+    /**
+     * Delivers the result on the main thread. Failures are logged and delivered as null, which
+     * screens already treat as "no data".
+     */
+    public <T> void deliver(CompletableFuture<T> future, Callback<T> callback) {
+        future.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                Log.e(TAG, "Database task failed", error);
+                callback.onResult(null);
+            } else {
+                callback.onResult(result);
+            }
+        }, executors.mainThread());
+    }
+
+    private <T> CompletableFuture<T> submit(Executor executor, Supplier<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -4,7 +4,6 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.Handler;
 import android.os.Looper;
-import android.speech.tts.TextToSpeech;
 
 import com.example.engapp.model.BuddyState;
 import com.google.gson.Gson;
@@ -19,14 +18,13 @@ import java.util.Random;
  * Singleton manager for Buddy companion behavior across the app.
  * Handles state transitions, speech, and reactions.
  */
-public class BuddyManager implements TextToSpeech.OnInitListener {
+public class BuddyManager {
 
     private static BuddyManager instance;
     private Context context;
     private SharedPreferences prefs;
     private Gson gson;
-    private TextToSpeech tts;
-    private boolean ttsReady = false;
+    private SpeechService speechService;
 
     private BuddyState buddyState;
     private List<BuddyEventListener> listeners;
@@ -81,16 +79,7 @@ public class BuddyManager implements TextToSpeech.OnInitListener {
     }
 
     private void initTTS() {
-        tts = new TextToSpeech(context, this);
-    }
-
-    @Override
-    public void onInit(int status) {
-        if (status == TextToSpeech.SUCCESS) {
-            int result = tts.setLanguage(Locale.US);
-            ttsReady = (result != TextToSpeech.LANG_MISSING_DATA &&
-                        result != TextToSpeech.LANG_NOT_SUPPORTED);
-        }
+        speechService = SpeechService.getInstance(context);
     }
 
     // State Management
@@ -222,10 +211,11 @@ public class BuddyManager implements TextToSpeech.OnInitListener {
         }
 
         // Only speak English words with TTS
-        if (ttsReady && containsEnglish(message)) {
+        if (containsEnglish(message)) {
             String englishPart = extractEnglish(message);
             if (!englishPart.isEmpty()) {
-                tts.speak(englishPart, TextToSpeech.QUEUE_FLUSH, null, "buddy_speech");
+                // Chatter never talks over a word the player is listening to
+                speechService.speak(englishPart, Locale.US, 1.0f, SpeechService.PRIORITY_LOW, this);
             }
         }
     }
@@ -491,10 +481,7 @@ public class BuddyManager implements TextToSpeech.OnInitListener {
 
     // Cleanup
     public void shutdown() {
-        if (tts != null) {
-            tts.stop();
-            tts.shutdown();
-        }
+        speechService.cancel(this);
         handler.removeCallbacksAndMessages(null);
         saveBuddyState();
     }
@@ -0,0 +1,280 @@
+package com.example.engapp.manager;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persistent outbox for progress that still has to reach users/{uid}.
+ *
+ * Changes are recorded as deltas: the latest star total and the planets unlocked since the
+ * last acknowledged write. They coalesce in memory and in SharedPreferences, so a burst of
+ * rewards becomes one entry and nothing is lost if the process dies. A flush sends everything
+ * pending as one batched write. A failed write is retried with exponential backoff.
+ *
+ * The Backend is the only part that talks to Firestore and the Scheduler the only part that
+ * touches the main looper, so tests can swap in fakes for both. State is confined to the
+ * scheduler's thread (the main thread in the app); recording calls from other threads are
+ * posted there.
+ */
+final class CloudSyncOutbox {
+
+    static final int NO_STARS = -1;
+
+    private static final String PREFS_NAME = "cloud_sync_outbox";
+    private static final String KEY_STARS = "outbox_total_stars";
+    private static final String KEY_PLANETS = "outbox_added_planets";
+    private static final String KEY_ATTEMPTS = "outbox_attempts";
+
+    static final long COALESCE_WINDOW_MS = 5_000;
+    static final long MAX_BACKOFF_MS = 5 * 60_000;
+
+    interface Backend {
+        /** False while there is nobody to sync for; pending deltas are kept until there is. */
+        boolean canCommit();
+
+        /**
+         * Writes one delta as a single batch. totalStars is NO_STARS when unchanged. Exactly one
+         * of the callbacks must run on the scheduler's thread once the write settles.
+         */
+        void commit(int totalStars, List<String> addedPlanets, Runnable onSuccess, Runnable onFailure);
+    }
+
+    interface Scheduler {
+        boolean isCurrentThread();
+
+        void post(Runnable task);
+
+        void postDelayed(Runnable task, long delayMs);
+
+        void cancel(Runnable task);
+    }
+
+    private final SharedPreferences prefs;
+    private final Backend backend;
+    private final Scheduler scheduler;
+    private final Gson gson = new Gson();
+    private final Runnable flushTask = this::flush;
+
+    private int pendingStars;
+    private final Set<String> pendingPlanets;
+    private int attempts;
+    private boolean inFlight;
+    private boolean flushScheduled;
+    // Held until the first merge with the cloud copy has run
+    private boolean paused = true;
+
+    private static CloudSyncOutbox instance;
+
+    /** The process-wide outbox, shared by ProgressionManager and LessonUnlockManager. */
+    static synchronized CloudSyncOutbox getInstance(Context context) {
+        if (instance == null) {
+            Context appContext = context.getApplicationContext();
+            instance = new CloudSyncOutbox(
+                appContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE),
+                new FirestoreBackend(FirebaseFirestore.getInstance()),
+                new MainThreadScheduler());
+        }
+        return instance;
+    }
+
+    CloudSyncOutbox(SharedPreferences prefs, Backend backend, Scheduler scheduler) {
+        this.prefs = prefs;
+        this.backend = backend;
+        this.scheduler = scheduler;
+        this.pendingStars = prefs.getInt(KEY_STARS, NO_STARS);
+        this.attempts = prefs.getInt(KEY_ATTEMPTS, 0);
+        Type type = new TypeToken<LinkedHashSet<String>>(){}.getType();
+        Set<String> planets = gson.fromJson(prefs.getString(KEY_PLANETS, "[]"), type);
+        this.pendingPlanets = planets != null ? planets : new LinkedHashSet<>();
+    }
+
+    void setTotalStars(int totalStars) {
+        if (!scheduler.isCurrentThread()) {
+            scheduler.post(() -> setTotalStars(totalStars));
+            return;
+        }
+        if (pendingStars == totalStars) {
+            return;
+        }
+        pendingStars = totalStars;
+        prefs.edit().putInt(KEY_STARS, totalStars).apply();
+        scheduleFlush(COALESCE_WINDOW_MS);
+    }
+
+    void addPlanets(Collection<String> planetKeys) {
+        if (!scheduler.isCurrentThread()) {
+            List<String> copy = new ArrayList<>(planetKeys);
+            scheduler.post(() -> addPlanets(copy));
+            return;
+        }
+        if (pendingPlanets.addAll(planetKeys)) {
+            prefs.edit().putString(KEY_PLANETS, gson.toJson(pendingPlanets)).apply();
+            scheduleFlush(COALESCE_WINDOW_MS);
+        }
+    }
+
+    boolean hasPending() {
+        return pendingStars != NO_STARS || !pendingPlanets.isEmpty();
+    }
+
+    /** Lets flushes through and sends whatever was queued while paused. */
+    void resume() {
+        paused = false;
+        if (hasPending()) {
+            scheduleFlush(0);
+        }
+    }
+
+    void pause() {
+        paused = true;
+        cancelScheduledFlush();
+    }
+
+    void flush() {
+        flushScheduled = false;
+        if (paused || inFlight || !hasPending() || !backend.canCommit()) {
+            return;
+        }
+        int sentStars = pendingStars;
+        List<String> sentPlanets = new ArrayList<>(pendingPlanets);
+        inFlight = true;
+        backend.commit(sentStars, sentPlanets,
+            () -> onCommitted(sentStars, sentPlanets),
+            this::onFailed);
+    }
+
+    private void onCommitted(int sentStars, List<String> sentPlanets) {
+        inFlight = false;
+        attempts = 0;
+        // Anything recorded while the write was in flight stays queued
+        if (pendingStars == sentStars) {
+            pendingStars = NO_STARS;
+        }
+        pendingPlanets.removeAll(sentPlanets);
+        SharedPreferences.Editor editor = prefs.edit().remove(KEY_ATTEMPTS);
+        if (pendingStars == NO_STARS) {
+            editor.remove(KEY_STARS);
+        }
+        editor.putString(KEY_PLANETS, gson.toJson(pendingPlanets)).apply();
+
+        if (hasPending()) {
+            scheduleFlush(COALESCE_WINDOW_MS);
+        }
+    }
+
+    private void onFailed() {
+        inFlight = false;
+        attempts++;
+        prefs.edit().putInt(KEY_ATTEMPTS, attempts).apply();
+        cancelScheduledFlush();
+        scheduleFlush(backoffMillis(attempts));
+    }
+
+    static long backoffMillis(int attempts) {
+        int shift = Math.min(attempts, 16);
+        return Math.min(MAX_BACKOFF_MS, COALESCE_WINDOW_MS << shift);
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (paused) {
+            return;
+        }
+        if (delayMs == 0) {
+            cancelScheduledFlush();
+        } else if (flushScheduled) {
+            // The window is already open; this change rides along with it
+            return;
+        }
+        flushScheduled = true;
+        scheduler.postDelayed(flushTask, delayMs);
+    }
+
+    private void cancelScheduledFlush() {
+        flushScheduled = false;
+        scheduler.cancel(flushTask);
+    }
+
+    static final class MainThreadScheduler implements Scheduler {
+        private final Handler handler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public boolean isCurrentThread() {
+            return Looper.myLooper() == Looper.getMainLooper();
+        }
+
+        @Override
+        public void post(Runnable task) {
+            handler.post(task);
+        }
+
+        @Override
+        public void postDelayed(Runnable task, long delayMs) {
+            handler.postDelayed(task, delayMs);
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            handler.removeCallbacks(task);
+        }
+    }
+
+    /** Writes deltas to users/{uid} for the signed-in user. */
+    static final class FirestoreBackend implements Backend {
+        private final FirebaseFirestore firestore;
+
+        FirestoreBackend(FirebaseFirestore firestore) {
+            this.firestore = firestore;
+        }
+
+        @Override
+        public boolean canCommit() {
+            return FirebaseAuth.getInstance().getCurrentUser() != null;
+        }
+
+        @Override
+        public void commit(int totalStars, List<String> addedPlanets,
+                           Runnable onSuccess, Runnable onFailure) {
+            FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+            if (user == null) {
+                onFailure.run();
+                return;
+            }
+            Map<String, Object> data = new HashMap<>();
+            if (totalStars != NO_STARS) {
+                data.put("totalStars", totalStars);
+            }
+            if (!addedPlanets.isEmpty()) {
+                data.put("unlockedPlanets", FieldValue.arrayUnion(addedPlanets.toArray()));
+            }
+            data.put("updatedAt", FieldValue.serverTimestamp());
+
+            DocumentReference doc = firestore.collection("users").document(user.getUid());
+            WriteBatch batch = firestore.batch();
+            batch.set(doc, data, SetOptions.merge());
+            batch.commit()
+                .addOnSuccessListener(unused -> onSuccess.run())
+                .addOnFailureListener(e -> onFailure.run());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.engapp.manager;
+
+import android.content.SharedPreferences;
+import android.util.Base64;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Unlocked and completed lessons as two bitsets indexed by scene id.
+ *
+ * Scene ids are dense and each belongs to exactly one planet, so a lookup is a single bit
+ * test. State is loaded once; every change is written back as a compact Base64 blob through
+ * SharedPreferences.apply(), which does the disk write in the background.
+ */
+final class LessonProgressState {
+
+    private static final String KEY_UNLOCKED_BITS = "unlocked_lessons_bits";
+    private static final String KEY_COMPLETED_BITS = "completed_lessons_bits";
+
+    private final SharedPreferences prefs;
+    private final BitSet unlocked;
+    private final BitSet completed;
+
+    LessonProgressState(SharedPreferences prefs, String legacyUnlockedKey, String legacyCompletedKey) {
+        this.prefs = prefs;
+        this.unlocked = load(KEY_UNLOCKED_BITS, legacyUnlockedKey);
+        this.completed = load(KEY_COMPLETED_BITS, legacyCompletedKey);
+    }
+
+    synchronized boolean isUnlocked(int sceneId) {
+        return sceneId >= 0 && unlocked.get(sceneId);
+    }
+
+    synchronized boolean isCompleted(int sceneId) {
+        return sceneId >= 0 && completed.get(sceneId);
+    }
+
+    synchronized boolean hasAnyUnlocked() {
+        return !unlocked.isEmpty();
+    }
+
+    /** Returns true when the lesson was not unlocked before. */
+    synchronized boolean unlock(int sceneId) {
+        if (sceneId < 0 || unlocked.get(sceneId)) {
+            return false;
+        }
+        unlocked.set(sceneId);
+        persist(KEY_UNLOCKED_BITS, unlocked);
+        return true;
+    }
+
+    /** Returns true when the lesson was not completed before. */
+    synchronized boolean complete(int sceneId) {
+        if (sceneId < 0 || completed.get(sceneId)) {
+            return false;
+        }
+        completed.set(sceneId);
+        persist(KEY_COMPLETED_BITS, completed);
+        return true;
+    }
+
+    synchronized int countCompleted(int[] sceneIds) {
+        int count = 0;
+        for (int sceneId : sceneIds) {
+            if (completed.get(sceneId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    synchronized boolean allCompleted(int[] sceneIds) {
+        if (sceneIds.length == 0) {
+            return false;
+        }
+        for (int sceneId : sceneIds) {
+            if (!completed.get(sceneId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized void clear() {
+        unlocked.clear();
+        completed.clear();
+        prefs.edit().remove(KEY_UNLOCKED_BITS).remove(KEY_COMPLETED_BITS).apply();
+    }
+
+    private void persist(String key, BitSet bits) {
+        String encoded = Base64.encodeToString(bits.toByteArray(), Base64.NO_WRAP);
+        prefs.edit().putString(key, encoded).apply();
+    }
+
+    private BitSet load(String key, String legacyKey) {
+        String encoded = prefs.getString(key, null);
+        if (encoded != null) {
+            return BitSet.valueOf(Base64.decode(encoded, Base64.NO_WRAP));
+        }
+        // One-time migration from the old JSON set of "planetId_sceneId" strings
+        BitSet bits = new BitSet();
+        String json = prefs.getString(legacyKey, null);
+        if (json != null) {
+            Type type = new TypeToken<Set<String>>(){}.getType();
+            Set<String> keys = new Gson().fromJson(json, type);
+            if (keys != null) {
+                for (String lessonKey : keys) {
+                    int sceneId = parseSceneId(lessonKey);
+                    if (sceneId >= 0) {
+                        bits.set(sceneId);
+                    }
+                }
+            }
+            persist(key, bits);
+            prefs.edit().remove(legacyKey).apply();
+        }
+        return bits;
+    }
+
+    private static int parseSceneId(String lessonKey) {
+        int separator = lessonKey.indexOf('_');
+        if (separator < 0) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(lessonKey.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -2,16 +2,17 @@ package com.example.engapp.manager;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.util.SparseArray;
 
 import com.example.engapp.database.GameDatabaseHelper;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Type;
-import java.util.HashMap;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -33,6 +34,50 @@ public class LessonUnlockManager {
     private SharedPreferences prefs;
     private Gson gson;
 
+    // Lesson state lives in bitsets keyed by scene id; planet and galaxy keys stay string sets,
+    // but all of it is loaded once instead of re-parsed from JSON on every check
+    private final LessonProgressState lessonState;
+    private final Set<String> unlockedPlanets;
+    private final Set<String> unlockedGalaxies;
+    // Mirror of unlockedPlanets indexed by PlanetRegistry handle, rebuilt when the registry changes
+    private final BitSet unlockedPlanetBits = new BitSet();
+    private PlanetRegistry planetRegistry;
+    // planetId -> scene ids and order indexes sorted by orderIndex; curriculum never changes
+    private final SparseArray<PlanetLessons> planetLessons = new SparseArray<>();
+
+    private static final class PlanetLessons {
+        final int[] sceneIds;
+        final int[] orderIndexes;
+
+        PlanetLessons(List<GameDatabaseHelper.SceneData> scenes) {
+            scenes.sort((a, b) -> Integer.compare(a.orderIndex, b.orderIndex));
+            sceneIds = new int[scenes.size()];
+            orderIndexes = new int[scenes.size()];
+            for (int i = 0; i < scenes.size(); i++) {
+                sceneIds[i] = scenes.get(i).id;
+                orderIndexes[i] = scenes.get(i).orderIndex;
+            }
+        }
+
+        int indexOfScene(int sceneId) {
+            for (int i = 0; i < sceneIds.length; i++) {
+                if (sceneIds[i] == sceneId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int indexOfOrder(int orderIndex) {
+            for (int i = 0; i < orderIndexes.length; i++) {
+                if (orderIndexes[i] == orderIndex) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
     private static final String PREFS_NAME = "lesson_unlock_prefs";
     private static final String KEY_UNLOCKED_LESSONS = "unlocked_lessons"; // Set<String> "planetId_sceneId"
     private static final String KEY_COMPLETED_LESSONS = "completed_lessons"; // Set<String> "planetId_sceneId"
@@ -44,6 +89,9 @@ public class LessonUnlockManager {
         this.dbHelper = GameDatabaseHelper.getInstance(this.context);
         this.prefs = this.context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         this.gson = new Gson();
+        this.lessonState = new LessonProgressState(prefs, KEY_UNLOCKED_LESSONS, KEY_COMPLETED_LESSONS);
+        this.unlockedPlanets = loadKeySet(KEY_UNLOCKED_PLANETS);
+        this.unlockedGalaxies = loadKeySet(KEY_UNLOCKED_GALAXIES);
         
         // Initialize first lesson of first planet
         initializeFirstLesson();
@@ -56,8 +104,7 @@ public class LessonUnlockManager {
      * Khởi tạo planet đầu tiên (animal) - luôn được mở khóa
      */
     private void initializeFirstPlanet() {
-        Set<String> unlockedPlanets = getUnlockedPlanets();
-        if (!unlockedPlanets.contains("animal")) {
+        if (!isPlanetUnlocked("animal")) {
             unlockPlanet("animal");
         }
     }
@@ -73,8 +120,7 @@ public class LessonUnlockManager {
      * Khởi tạo lesson đầu tiên của planet đầu tiên
      */
     private void initializeFirstLesson() {
-        Set<String> unlockedLessons = getUnlockedLessons();
-        if (unlockedLessons.isEmpty()) {
+        if (!lessonState.hasAnyUnlocked()) {
             // Unlock first scene of first planet (planet_id = 1, order_index = 1)
             unlockLesson(1, 1);
         }
@@ -89,8 +135,7 @@ public class LessonUnlockManager {
      * @return true nếu lesson đã được mở khóa
      */
     public boolean isLessonUnlocked(int planetId, int sceneId) {
-        String key = planetId + "_" + sceneId;
-        return getUnlockedLessons().contains(key);
+        return lessonState.isUnlocked(sceneId);
     }
 
     /**
@@ -100,18 +145,12 @@ public class LessonUnlockManager {
      * @return true nếu lesson đã được mở khóa
      */
     public boolean isLessonUnlockedByOrder(int planetId, int orderIndex) {
-        List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planetId);
-        if (scenes == null || orderIndex < 1 || orderIndex > scenes.size()) {
+        PlanetLessons lessons = getPlanetLessons(planetId);
+        if (orderIndex < 1 || orderIndex > lessons.sceneIds.length) {
             return false;
         }
-        
-        // Find scene with matching orderIndex
-        for (GameDatabaseHelper.SceneData scene : scenes) {
-            if (scene.orderIndex == orderIndex) {
-                return isLessonUnlocked(planetId, scene.id);
-            }
-        }
-        return false;
+        int index = lessons.indexOfOrder(orderIndex);
+        return index >= 0 && lessonState.isUnlocked(lessons.sceneIds[index]);
     }
 
     /**
@@ -120,11 +159,7 @@ public class LessonUnlockManager {
      * @param sceneId ID của scene/lesson
      */
     public void unlockLesson(int planetId, int sceneId) {
-        String key = planetId + "_" + sceneId;
-        Set<String> unlocked = getUnlockedLessons();
-        if (unlocked.add(key)) {
-            saveUnlockedLessons(unlocked);
-            
+        if (lessonState.unlock(sceneId)) {
             // Also update database
             dbHelper.updateSceneUnlockStatus(sceneId, true);
         }
@@ -139,14 +174,7 @@ public class LessonUnlockManager {
      */
     public boolean completeLesson(int planetId, int sceneId, int starsEarned) {
         // Mark lesson as completed
-        String key = planetId + "_" + sceneId;
-        Set<String> completed = getCompletedLessons();
-        boolean wasAlreadyCompleted = completed.contains(key);
-        
-        if (!wasAlreadyCompleted) {
-            completed.add(key);
-            saveCompletedLessons(completed);
-            
+        if (lessonState.complete(sceneId)) {
             // Update database
             dbHelper.updateSceneProgress(sceneId, starsEarned);
         }
@@ -167,37 +195,18 @@ public class LessonUnlockManager {
      * @return true nếu có lesson mới được mở khóa
      */
     private boolean unlockNextLesson(int planetId, int completedSceneId) {
-        List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planetId);
-        if (scenes == null || scenes.isEmpty()) {
-            return false;
-        }
-
-        // Find completed scene's orderIndex
-        int completedOrder = -1;
-        for (GameDatabaseHelper.SceneData scene : scenes) {
-            if (scene.id == completedSceneId) {
-                completedOrder = scene.orderIndex;
-                break;
-            }
-        }
-
-        if (completedOrder == -1) {
+        PlanetLessons lessons = getPlanetLessons(planetId);
+        int completedIndex = lessons.indexOfScene(completedSceneId);
+        if (completedIndex < 0) {
             return false;
         }
 
         // Find next scene (orderIndex = completedOrder + 1)
-        int nextOrder = completedOrder + 1;
-        for (GameDatabaseHelper.SceneData scene : scenes) {
-            if (scene.orderIndex == nextOrder) {
-                // Unlock next lesson
-                if (!isLessonUnlocked(planetId, scene.id)) {
-                    unlockLesson(planetId, scene.id);
-                    return true;
-                }
-                break;
-            }
+        int nextIndex = lessons.indexOfOrder(lessons.orderIndexes[completedIndex] + 1);
+        if (nextIndex >= 0 && !lessonState.isUnlocked(lessons.sceneIds[nextIndex])) {
+            unlockLesson(planetId, lessons.sceneIds[nextIndex]);
+            return true;
         }
-
         return false;
     }
     
@@ -214,26 +223,18 @@ public class LessonUnlockManager {
      * Dựa trên quy tắc: lesson N được mở khóa khi lesson N-1 đã hoàn thành
      */
     public void refreshPlanetLessons(int planetId) {
-        List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planetId);
-        if (scenes == null || scenes.isEmpty()) {
+        int[] sceneIds = getPlanetLessons(planetId).sceneIds;
+        if (sceneIds.length == 0) {
             return;
         }
 
-        // Sort by orderIndex
-        scenes.sort((a, b) -> Integer.compare(a.orderIndex, b.orderIndex));
-
         // First lesson is always unlocked
-        if (!scenes.isEmpty()) {
-            unlockLesson(planetId, scenes.get(0).id);
-        }
+        unlockLesson(planetId, sceneIds[0]);
 
         // Unlock subsequent lessons if previous one is completed
-        for (int i = 1; i < scenes.size(); i++) {
-            GameDatabaseHelper.SceneData previousScene = scenes.get(i - 1);
-            GameDatabaseHelper.SceneData currentScene = scenes.get(i);
-
-            if (isLessonCompleted(planetId, previousScene.id)) {
-                unlockLesson(planetId, currentScene.id);
+        for (int i = 1; i < sceneIds.length; i++) {
+            if (lessonState.isCompleted(sceneIds[i - 1])) {
+                unlockLesson(planetId, sceneIds[i]);
             }
         }
     }
@@ -242,43 +243,35 @@ public class LessonUnlockManager {
      * Kiểm tra xem một lesson đã hoàn thành chưa
      */
     public boolean isLessonCompleted(int planetId, int sceneId) {
-        String key = planetId + "_" + sceneId;
-        return getCompletedLessons().contains(key);
+        return lessonState.isCompleted(sceneId);
     }
 
     /**
      * Lấy số lesson đã hoàn thành trong một planet
      */
     public int getCompletedLessonsCount(int planetId) {
-        List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planetId);
-        if (scenes == null) {
-            return 0;
-        }
-
-        int count = 0;
-        for (GameDatabaseHelper.SceneData scene : scenes) {
-            if (isLessonCompleted(planetId, scene.id)) {
-                count++;
-            }
-        }
-        return count;
+        return lessonState.countCompleted(getPlanetLessons(planetId).sceneIds);
     }
 
     /**
      * Kiểm tra xem một planet đã hoàn thành tất cả lessons chưa
      */
     public boolean isPlanetCompleted(int planetId) {
-        List<GameDatabaseHelper.SceneData> scenes = dbHelper.getScenesForPlanet(planetId);
-        if (scenes == null || scenes.isEmpty()) {
-            return false;
-        }
+        return lessonState.allCompleted(getPlanetLessons(planetId).sceneIds);
+    }
 
-        for (GameDatabaseHelper.SceneData scene : scenes) {
-            if (!isLessonCompleted(planetId, scene.id)) {
-                return false;
+    private PlanetLessons getPlanetLessons(int planetId) {
+        synchronized (planetLessons) {
+            PlanetLessons lessons = planetLessons.get(planetId);
+            if (lessons == null) {
+                lessons = new PlanetLessons(dbHelper.getScenesForPlanet(planetId));
+                // Don't pin an empty result; the planet may simply not be seeded yet
+                if (lessons.sceneIds.length > 0) {
+                    planetLessons.put(planetId, lessons);
+                }
             }
+            return lessons;
         }
-        return true;
     }
 
     /**
@@ -299,31 +292,35 @@ public class LessonUnlockManager {
      * 1. Đạt đủ số sao yêu cầu (checked by ProgressionManager)
      * 2. VÀ được đánh dấu là unlocked trong LessonUnlockManager
      */
-    public boolean isPlanetUnlocked(String planetKey) {
-        return getUnlockedPlanets().contains(planetKey);
+    public synchronized boolean isPlanetUnlocked(String planetKey) {
+        return unlockedPlanets.contains(planetKey);
+    }
+
+    /**
+     * Như isPlanetUnlocked(String) nhưng dùng handle từ PlanetRegistry (không theo alias)
+     */
+    public synchronized boolean isPlanetUnlocked(int planetHandle) {
+        registry();
+        return planetHandle >= 0 && unlockedPlanetBits.get(planetHandle);
     }
 
-    public Set<String> getUnlockedPlanetsCopy() {
-        return new HashSet<>(getUnlockedPlanets());
+    public synchronized Set<String> getUnlockedPlanetsCopy() {
+        return new HashSet<>(unlockedPlanets);
     }
 
-    public void mergeUnlockedPlanets(Set<String> planetKeys) {
+    public synchronized void mergeUnlockedPlanets(Set<String> planetKeys) {
         if (planetKeys == null || planetKeys.isEmpty()) {
             return;
         }
-        Set<String> unlocked = getUnlockedPlanets();
         boolean changed = false;
         for (String key : planetKeys) {
-            if (unlocked.add(key)) {
+            if (unlockedPlanets.add(key)) {
                 changed = true;
-                GameDatabaseHelper.PlanetData planet = dbHelper.getPlanetByKey(key);
-                if (planet != null) {
-                    refreshPlanetLessons(planet.id);
-                }
+                onPlanetUnlocked(key);
             }
         }
         if (changed) {
-            saveUnlockedPlanets(unlocked);
+            saveKeySet(KEY_UNLOCKED_PLANETS, unlockedPlanets);
         }
     }
 
@@ -331,17 +328,53 @@ public class LessonUnlockManager {
      * Mở khóa một planet
      * @param planetKey Key của planet (ví dụ: "animal", "color")
      */
-    public void unlockPlanet(String planetKey) {
-        Set<String> unlocked = getUnlockedPlanets();
-        if (unlocked.add(planetKey)) {
-            saveUnlockedPlanets(unlocked);
-            
-            // Unlock first lesson of the planet
+    public synchronized void unlockPlanet(String planetKey) {
+        if (unlockedPlanets.add(planetKey)) {
+            saveKeySet(KEY_UNLOCKED_PLANETS, unlockedPlanets);
+            onPlanetUnlocked(planetKey);
+        }
+    }
+
+    public synchronized void unlockPlanet(int planetHandle) {
+        unlockPlanet(registry().keyOf(planetHandle));
+    }
+
+    // Caller holds the lock and has already added planetKey to unlockedPlanets
+    private void onPlanetUnlocked(String planetKey) {
+        PlanetRegistry registry = registry();
+        int handle = registry.handleOf(planetKey);
+        int planetId = 0;
+        if (handle != PlanetRegistry.NO_PLANET) {
+            unlockedPlanetBits.set(handle);
+            planetId = registry.planetIdOf(handle);
+        } else {
+            // Installed after the registry was built
             GameDatabaseHelper.PlanetData planet = dbHelper.getPlanetByKey(planetKey);
             if (planet != null) {
-                refreshPlanetLessons(planet.id);
+                planetId = planet.id;
             }
         }
+        // Unlock first lesson of the planet
+        if (planetId > 0) {
+            refreshPlanetLessons(planetId);
+        }
+        CloudSyncOutbox.getInstance(context).addPlanets(Collections.singleton(planetKey));
+    }
+
+    // Caller holds the lock
+    private PlanetRegistry registry() {
+        PlanetRegistry current = PlanetRegistry.getInstance(context);
+        if (current != planetRegistry) {
+            planetRegistry = current;
+            unlockedPlanetBits.clear();
+            for (String key : unlockedPlanets) {
+                int handle = current.handleOf(key);
+                if (handle != PlanetRegistry.NO_PLANET) {
+                    unlockedPlanetBits.set(handle);
+                }
+            }
+        }
+        return current;
     }
 
     /**
@@ -361,6 +394,12 @@ public class LessonUnlockManager {
         }
     }
 
+    public void checkAndUnlockPlanet(int planetHandle, int requiredStars, int currentStars) {
+        if (!isPlanetUnlocked(planetHandle) && currentStars >= requiredStars) {
+            unlockPlanet(planetHandle);
+        }
+    }
+
     /**
      * Kiểm tra xem planet trước đó đã hoàn thành chưa
      */
@@ -392,77 +431,42 @@ public class LessonUnlockManager {
     /**
      * Kiểm tra xem một galaxy có được mở khóa không
      */
-    public boolean isGalaxyUnlocked(String galaxyKey) {
-        return getUnlockedGalaxies().contains(galaxyKey);
+    public synchronized boolean isGalaxyUnlocked(String galaxyKey) {
+        return unlockedGalaxies.contains(galaxyKey);
     }
 
     /**
      * Mở khóa một galaxy
      */
-    public void unlockGalaxy(String galaxyKey) {
-        Set<String> unlocked = getUnlockedGalaxies();
-        if (unlocked.add(galaxyKey)) {
-            saveUnlockedGalaxies(unlocked);
+    public synchronized void unlockGalaxy(String galaxyKey) {
+        if (unlockedGalaxies.add(galaxyKey)) {
+            saveKeySet(KEY_UNLOCKED_GALAXIES, unlockedGalaxies);
         }
     }
 
     // ============ HELPER METHODS ============
 
-    private Set<String> getUnlockedLessons() {
-        String json = prefs.getString(KEY_UNLOCKED_LESSONS, "[]");
-        Type type = new TypeToken<Set<String>>(){}.getType();
-        Set<String> set = gson.fromJson(json, type);
-        return set != null ? set : new HashSet<>();
-    }
-
-    private void saveUnlockedLessons(Set<String> lessons) {
-        String json = gson.toJson(lessons);
-        prefs.edit().putString(KEY_UNLOCKED_LESSONS, json).apply();
-    }
-
-    private Set<String> getCompletedLessons() {
-        String json = prefs.getString(KEY_COMPLETED_LESSONS, "[]");
-        Type type = new TypeToken<Set<String>>(){}.getType();
-        Set<String> set = gson.fromJson(json, type);
-        return set != null ? set : new HashSet<>();
-    }
-
-    private void saveCompletedLessons(Set<String> lessons) {
-        String json = gson.toJson(lessons);
-        prefs.edit().putString(KEY_COMPLETED_LESSONS, json).apply();
-    }
-
-    private Set<String> getUnlockedPlanets() {
-        String json = prefs.getString(KEY_UNLOCKED_PLANETS, "[]");
-        Type type = new TypeToken<Set<String>>(){}.getType();
-        Set<String> set = gson.fromJson(json, type);
-        return set != null ? set : new HashSet<>();
-    }
-
-    private void saveUnlockedPlanets(Set<String> planets) {
-        String json = gson.toJson(planets);
-        prefs.edit().putString(KEY_UNLOCKED_PLANETS, json).apply();
-    }
-
-    private Set<String> getUnlockedGalaxies() {
-        String json = prefs.getString(KEY_UNLOCKED_GALAXIES, "[]");
+    private Set<String> loadKeySet(String key) {
+        String json = prefs.getString(key, "[]");
         Type type = new TypeToken<Set<String>>(){}.getType();
         Set<String> set = gson.fromJson(json, type);
-        return set != null ? set : new HashSet<>();
+        return set != null ? new HashSet<>(set) : new HashSet<>();
     }
 
-    private void saveUnlockedGalaxies(Set<String> galaxies) {
-        String json = gson.toJson(galaxies);
-        prefs.edit().putString(KEY_UNLOCKED_GALAXIES, json).apply();
+    private void saveKeySet(String key, Set<String> keys) {
+        String json = gson.toJson(keys);
+        prefs.edit().putString(key, json).apply();
     }
 
     /**
      * Reset tất cả progress (for testing/debugging)
      */
-    public void resetAllProgress() {
+    public synchronized void resetAllProgress() {
+        lessonState.clear();
+        unlockedPlanets.clear();
+        unlockedGalaxies.clear();
+        planetRegistry = null;
         prefs.edit()
-            .remove(KEY_UNLOCKED_LESSONS)
-            .remove(KEY_COMPLETED_LESSONS)
             .remove(KEY_UNLOCKED_PLANETS)
             .remove(KEY_UNLOCKED_GALAXIES)
             .apply();
@@ -473,10 +477,10 @@ public class LessonUnlockManager {
      * Unlock tất cả planets và lessons - CHỈ DÙNG CHO TEST
      * Gọi method này để unlock tất cả nội dung cho việc kiểm thử
      */
-    public void unlockAllForTesting() {
+    public synchronized void unlockAllForTesting() {
         // Unlock tất cả planets
         List<GameDatabaseHelper.PlanetData> allPlanets = dbHelper.getAllPlanets();
-        Set<String> unlockedPlanets = new HashSet<>();
+        unlockedPlanets.clear();
         for (GameDatabaseHelper.PlanetData planet : allPlanets) {
             unlockedPlanets.add(planet.planetKey);
             // Unlock tất cả lessons của mỗi planet
@@ -487,14 +491,16 @@ public class LessonUnlockManager {
                 }
             }
         }
-        saveUnlockedPlanets(unlockedPlanets);
+        saveKeySet(KEY_UNLOCKED_PLANETS, unlockedPlanets);
+        planetRegistry = null;
+        CloudSyncOutbox.getInstance(context).addPlanets(unlockedPlanets);
 
         // Unlock tất cả galaxies
-        Set<String> unlockedGalaxies = new HashSet<>();
+        unlockedGalaxies.clear();
         unlockedGalaxies.add("beginner");
         unlockedGalaxies.add("explorer");
         unlockedGalaxies.add("advanced");
-        saveUnlockedGalaxies(unlockedGalaxies);
+        saveKeySet(KEY_UNLOCKED_GALAXIES, unlockedGalaxies);
     }
 }
 
@@ -0,0 +1,157 @@
+package com.example.engapp.manager;
+
+import android.content.Context;
+import android.util.SparseIntArray;
+
+import com.example.engapp.database.GameDatabaseHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every planet identity the app uses, interned once as a small integer handle.
+ *
+ * Seeded planets come first, in map order, so their handle is their position on the star map.
+ * GameDataProvider ids ("animal", "color") and retired keys follow as handles of their own that
+ * resolve to the planet they unlock as. Handles are dense, so callers can index arrays and
+ * bitsets with them; key, planet id and display name lookups in either direction are O(1).
+ *
+ * The registry is immutable once built. Planets installed later by a content pack have no
+ * handle and take the string-key paths instead. A registry built from an empty planet list is
+ * kept only until the planet list is next reloaded, so it picks the planets up once they exist.
+ */
+public final class PlanetRegistry {
+
+    public static final int NO_PLANET = -1;
+
+    // id, key it unlocks as (null = itself), name it was shown under
+    private static final String[][] LEGACY_PLANETS = {
+        // Galaxy 1: Milky Way
+        {"animal", "animania_wild", "Animal Planet"},
+        {"color", "coloria_prime", "Color World"},
+        {"number", "numberia_station", "Number Station"},
+        {"food", "foodora_station", "Food Galaxy"},
+        // Galaxy 2: Andromeda
+        {"family", "familia_home", "Family Planet"},
+        {"body", "animania_wild", "Body World"},
+        {"school", "robolab", "School Station"},
+        {"nature", "natura", "Nature Planet"},
+        {"home", "familia_home", "Home World"},
+        // Galaxy 3: Nebula Prime
+        {"action", "timelapse", "Action Galaxy"},
+        {"emotion", "storyverse_galaxy", "Emotion Planet"},
+        {"travel", "natura", "Travel Station"},
+        // Bonus fictional planets
+        {"crystal_world", null, "Crystal World"},
+        {"rainbow_planet", null, "Rainbow Planet"},
+        {"robot_station", null, "Robot Station"},
+    };
+
+    private static final int PINNED = -1;
+
+    private static volatile PlanetRegistry instance;
+
+    private final Map<String, Integer> handlesByKey = new HashMap<>();
+    private final SparseIntArray handlesByPlanetId = new SparseIntArray();
+    private final List<String> keys = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final int[] planetIds;
+    private final int[] targets;
+    // Planet generation an empty registry was built from, or PINNED
+    private final int generation;
+
+    public static PlanetRegistry getInstance(Context context) {
+        PlanetRegistry result = instance;
+        if (result != null && result.generation == PINNED) {
+            return result;
+        }
+        GameDatabaseHelper dbHelper =
+            GameDatabaseHelper.getInstance(context.getApplicationContext());
+        synchronized (PlanetRegistry.class) {
+            result = instance;
+            if (result == null || (result.generation != PINNED
+                    && result.generation != dbHelper.getPlanetGeneration())) {
+                // Read the generation first so a reload racing this build forces another
+                int generation = dbHelper.getPlanetGeneration();
+                List<GameDatabaseHelper.PlanetData> planets = dbHelper.getAllPlanets();
+                result = new PlanetRegistry(planets, planets.isEmpty() ? generation : PINNED);
+                instance = result;
+            }
+        }
+        return result;
+    }
+
+    private PlanetRegistry(List<GameDatabaseHelper.PlanetData> planets, int generation) {
+        this.generation = generation;
+        int capacity = planets.size() + LEGACY_PLANETS.length * 2;
+        planetIds = new int[capacity];
+        targets = new int[capacity];
+
+        for (GameDatabaseHelper.PlanetData planet : planets) {
+            int handle = intern(planet.planetKey, planet.name);
+            planetIds[handle] = planet.id;
+            handlesByPlanetId.put(planet.id, handle);
+        }
+        for (String[] legacy : LEGACY_PLANETS) {
+            int handle = intern(legacy[0], legacy[2]);
+            if (legacy[1] != null) {
+                // Retired keys without a seeded planet still need a handle to resolve to
+                targets[handle] = intern(legacy[1], legacy[1]);
+            }
+        }
+    }
+
+    private int intern(String key, String name) {
+        Integer existing = handlesByKey.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int handle = keys.size();
+        keys.add(key);
+        names.add(name != null ? name : key);
+        targets[handle] = handle;
+        handlesByKey.put(key, handle);
+        return handle;
+    }
+
+    /** Handle of exactly this key, without following legacy aliases. */
+    public int handleOf(String key) {
+        if (key == null) {
+            return NO_PLANET;
+        }
+        Integer handle = handlesByKey.get(key);
+        return handle != null ? handle : NO_PLANET;
+    }
+
+    /** Handle of the planet this key unlocks as: "animal" resolves to animania_wild. */
+    public int resolve(String key) {
+        return resolve(handleOf(key));
+    }
+
+    public int resolve(int handle) {
+        return handle == NO_PLANET ? NO_PLANET : targets[handle];
+    }
+
+    public int handleOfPlanetId(int planetId) {
+        return handlesByPlanetId.get(planetId, NO_PLANET);
+    }
+
+    public String keyOf(int handle) {
+        return keys.get(handle);
+    }
+
+    /** Database id of the planet, or 0 for a legacy id with no seeded planet of its own. */
+    public int planetIdOf(int handle) {
+        return planetIds[handle];
+    }
+
+    public String displayNameOf(int handle) {
+        return names.get(handle);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.engapp.manager;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.content.res.Configuration;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Write-behind persistence for ProgressionManager.
+ *
+ * Mutations only mark a section dirty. The first mark arms a short timer; when it fires, each
+ * dirty section is serialized once on the main thread (where ProgressionManager's state lives)
+ * and the editor is committed on a background thread. Pending writes are flushed early when an
+ * activity pauses or the app's UI is hidden, so a killed process loses at most one window.
+ */
+final class ProgressWriteBehind implements ComponentCallbacks2 {
+
+    static final int SECTION_USER_PROGRESS = 1;
+    static final int SECTION_COLLECTIBLES = 1 << 1;
+
+    private static final long FLUSH_DELAY_MS = 500;
+
+    interface SectionWriter {
+        /** Called on the main thread with the sections that changed since the last flush. */
+        void write(int sections, SharedPreferences.Editor editor);
+    }
+
+    private final SharedPreferences prefs;
+    private final SectionWriter writer;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor(
+        runnable -> new Thread(runnable, "progress-write-behind"));
+    private final Runnable flushTask = this::flush;
+
+    // Main thread only
+    private int dirtySections;
+
+    ProgressWriteBehind(SharedPreferences prefs, SectionWriter writer) {
+        this.prefs = prefs;
+        this.writer = writer;
+    }
+
+    void register(Context appContext) {
+        appContext.registerComponentCallbacks(this);
+        if (appContext instanceof Application) {
+            ((Application) appContext).registerActivityLifecycleCallbacks(new PauseFlusher());
+        }
+    }
+
+    void markDirty(int sections) {
+        if (!isMainThread()) {
+            mainHandler.post(() -> markDirty(sections));
+            return;
+        }
+        if (dirtySections == 0) {
+            mainHandler.postDelayed(flushTask, FLUSH_DELAY_MS);
+        }
+        dirtySections |= sections;
+    }
+
+    void flush() {
+        if (!isMainThread()) {
+            mainHandler.post(this::flush);
+            return;
+        }
+        mainHandler.removeCallbacks(flushTask);
+        if (dirtySections == 0) {
+            return;
+        }
+        int sections = dirtySections;
+        dirtySections = 0;
+
+        SharedPreferences.Editor editor = prefs.edit();
+        writer.write(sections, editor);
+        diskExecutor.execute(editor::commit);
+    }
+
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onLowMemory() {
+        flush();
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+
+    private final class PauseFlusher implements Application.ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityPaused(Activity activity) {
+            flush();
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+        }
+    }
+}
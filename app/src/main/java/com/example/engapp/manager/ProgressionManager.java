@@ -11,9 +11,7 @@ import com.google.gson.reflect.TypeToken;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.SetOptions;
 
 
 import java.lang.reflect.Type;
@@ -39,9 +37,15 @@ public class ProgressionManager {
     private Map<String, Integer> planetUnlockRequirements;
     private List<ProgressionEventListener> listeners;
     private LessonUnlockManager lessonUnlockManager;
+    private ProgressWriteBehind persistence;
 
-    private boolean cloudSyncReady;
-    private boolean cloudSyncRequested;
+    // One ladder per counter; each award only visits the thresholds it just crossed
+    private final UnlockLadder starUnlocks = new UnlockLadder();
+    private final UnlockLadder buddyUnlocks = new UnlockLadder();
+    private final UnlockLadder wordBadges = new UnlockLadder();
+    private final UnlockLadder gameBadges = new UnlockLadder();
+
+    private CloudSyncOutbox cloudOutbox;
 
     private static final String PREFS_NAME = "progression_prefs";
     private static final String KEY_USER_PROGRESS = "user_progress";
@@ -67,9 +71,13 @@ public class ProgressionManager {
         this.gson = new Gson();
         this.listeners = new ArrayList<>();
         this.lessonUnlockManager = LessonUnlockManager.getInstance(this.context);
+        this.persistence = new ProgressWriteBehind(prefs, this::writeDirtySections);
+        this.persistence.register(this.context);
+        this.cloudOutbox = CloudSyncOutbox.getInstance(this.context);
 
         initPlanetRequirements();
         loadData();
+        initUnlockRules();
         initCloudSync();
     }
 
@@ -130,6 +138,26 @@ public class ProgressionManager {
         planetUnlockRequirements.put("robot_station", 315);  // 315 stars (300 + 15)
     }
 
+    private void initUnlockRules() {
+        for (Map.Entry<String, Integer> entry : planetUnlockRequirements.entrySet()) {
+            String planetKey = entry.getKey();
+            int required = entry.getValue();
+            starUnlocks.add(required, threshold -> unlockPlanetForStars(planetKey, required));
+        }
+
+        // Buddies by planets completed
+        buddyUnlocks.add(3, threshold -> BuddyManager.getInstance(context).unlockBuddy("dragon"));
+        buddyUnlocks.add(5, threshold -> BuddyManager.getInstance(context).unlockBuddy("unicorn"));
+        buddyUnlocks.add(7, threshold -> BuddyManager.getInstance(context).unlockBuddy("panda"));
+        buddyUnlocks.add(9, threshold -> BuddyManager.getInstance(context).unlockBuddy("lion"));
+
+        // Milestone badges repeat; ones earned in earlier sessions are not re-awarded
+        wordBadges.every(WORDS_FOR_BADGE, this::awardWordBadge);
+        wordBadges.skipTo(userProgress.getWordsLearned());
+        gameBadges.every(GAMES_FOR_BADGE, this::awardGameBadge);
+        gameBadges.skipTo(userProgress.getGamesCompleted());
+    }
+
     private void loadData() {
         // Load user progress
         String progressJson = prefs.getString(KEY_USER_PROGRESS, null);
@@ -150,21 +178,36 @@ public class ProgressionManager {
         }
     }
 
+    // Saves are write-behind: rapid mutations coalesce into one serialization per section
     public void saveUserProgress() {
-        String json = gson.toJson(userProgress);
-        prefs.edit().putString(KEY_USER_PROGRESS, json).apply();
-        scheduleCloudSync();
+        persistence.markDirty(ProgressWriteBehind.SECTION_USER_PROGRESS);
+        cloudOutbox.setTotalStars(userProgress.getTotalStars());
     }
 
     private void saveCollectibles() {
-        String json = gson.toJson(collectibles);
-        prefs.edit().putString(KEY_COLLECTIBLES, json).apply();
+        persistence.markDirty(ProgressWriteBehind.SECTION_COLLECTIBLES);
+    }
+
+    /**
+     * Writes any pending progress immediately instead of waiting for the coalescing window.
+     */
+    public void flushPendingSaves() {
+        persistence.flush();
+    }
+
+    private void writeDirtySections(int sections, SharedPreferences.Editor editor) {
+        if ((sections & ProgressWriteBehind.SECTION_USER_PROGRESS) != 0) {
+            editor.putString(KEY_USER_PROGRESS, gson.toJson(userProgress));
+        }
+        if ((sections & ProgressWriteBehind.SECTION_COLLECTIBLES) != 0) {
+            editor.putString(KEY_COLLECTIBLES, gson.toJson(collectibles));
+        }
     }
 
     private void initCloudSync() {
         FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
         if (user == null) {
-            cloudSyncReady = true;
+            cloudOutbox.resume();
             return;
         }
 
@@ -173,7 +216,7 @@ public class ProgressionManager {
             .document(user.getUid())
             .get()
             .addOnSuccessListener(this::mergeCloudProgress)
-            .addOnFailureListener(e -> cloudSyncReady = true);
+            .addOnFailureListener(e -> cloudOutbox.resume());
     }
 
     private void mergeCloudProgress(DocumentSnapshot doc) {
@@ -184,15 +227,17 @@ public class ProgressionManager {
         int remoteStars = cloudStars != null ? cloudStars.intValue() : 0;
 
         Set<String> localPlanets = lessonUnlockManager.getUnlockedPlanetsCopy();
-        Set<String> mergedPlanets = new HashSet<>(localPlanets);
+        Set<String> remotePlanetKeys = new HashSet<>();
         Object remotePlanets = doc.get("unlockedPlanets");
         if (remotePlanets instanceof List) {
             for (Object item : (List<?>) remotePlanets) {
                 if (item instanceof String) {
-                    mergedPlanets.add((String) item);
+                    remotePlanetKeys.add((String) item);
                 }
             }
         }
+        Set<String> mergedPlanets = new HashSet<>(localPlanets);
+        mergedPlanets.addAll(remotePlanetKeys);
 
         int mergedStars = Math.max(localStars, remoteStars);
         if (mergedStars != localStars) {
@@ -211,11 +256,17 @@ public class ProgressionManager {
 
         boolean progressChanged = mergedStars != localStars || mergedPlanetsUnlocked != localPlanetsUnlocked;
         if (progressChanged) {
-            saveUserProgress();
+            persistence.markDirty(ProgressWriteBehind.SECTION_USER_PROGRESS);
         }
 
+        // Queue only what the cloud copy is missing; a queued total the cloud already beats is dropped
+        cloudOutbox.setTotalStars(mergedStars > remoteStars ? mergedStars : CloudSyncOutbox.NO_STARS);
+        Set<String> missingRemotely = new HashSet<>(localPlanets);
+        missingRemotely.removeAll(remotePlanetKeys);
+        cloudOutbox.addPlanets(missingRemotely);
+
         checkForNewUnlocks();
-        cloudSyncReady = true;
+        cloudOutbox.resume();
 
         if (mergedStars != localStars) {
             int added = mergedStars - localStars;
@@ -223,41 +274,10 @@ public class ProgressionManager {
                 listener.onStarsChanged(mergedStars, added);
             }
         }
-
-        if (cloudSyncRequested || progressChanged || planetsChanged) {
-            cloudSyncRequested = false;
-            syncToCloudIfPossible();
-        }
-    }
-
-    private void scheduleCloudSync() {
-        if (!cloudSyncReady) {
-            cloudSyncRequested = true;
-            return;
-        }
-        syncToCloudIfPossible();
-    }
-
-    private void syncToCloudIfPossible() {
-        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-        if (user == null) {
-            return;
-        }
-
-        Map<String, Object> data = new HashMap<>();
-        data.put("totalStars", userProgress.getTotalStars());
-        data.put("unlockedPlanets", new ArrayList<>(lessonUnlockManager.getUnlockedPlanetsCopy()));
-        data.put("updatedAt", FieldValue.serverTimestamp());
-
-        FirebaseFirestore.getInstance()
-            .collection("users")
-            .document(user.getUid())
-            .set(data, SetOptions.merge());
     }
 
     public void refreshCloudSync() {
-        cloudSyncReady = false;
-        cloudSyncRequested = false;
+        cloudOutbox.pause();
         initCloudSync();
     }
 
@@ -343,10 +363,7 @@ public class ProgressionManager {
         addCollectible(crystal);
 
         // Check for word milestones
-        int wordsLearned = userProgress.getWordsLearned();
-        if (wordsLearned % WORDS_FOR_BADGE == 0) {
-            awardWordBadge(wordsLearned);
-        }
+        wordBadges.advanceTo(userProgress.getWordsLearned());
     }
 
     // Game completion
@@ -359,10 +376,7 @@ public class ProgressionManager {
         }
 
         // Check for game milestones
-        int gamesCompleted = userProgress.getGamesCompleted();
-        if (gamesCompleted % GAMES_FOR_BADGE == 0) {
-            awardGameBadge(gamesCompleted);
-        }
+        gameBadges.advanceTo(userProgress.getGamesCompleted());
         
         // Check for new unlocks after earning stars
         checkForNewUnlocks();
@@ -373,13 +387,12 @@ public class ProgressionManager {
         // Get planet ID from key
         com.example.engapp.database.GameDatabaseHelper dbHelper = 
             com.example.engapp.database.GameDatabaseHelper.getInstance(context);
-        com.example.engapp.database.GameDatabaseHelper.PlanetData planet = 
-            dbHelper.getPlanetByKey(planetKey);
+        int planetId = getPlanetIdForKey(planetKey);
         
-        if (planet != null) {
+        if (planetId > 0) {
             // Find scene by zoneId or order
             List<com.example.engapp.database.GameDatabaseHelper.SceneData> scenes = 
-                dbHelper.getScenesForPlanet(planet.id);
+                dbHelper.getScenesForPlanet(planetId);
             
             // Try to find scene by key or use first incomplete scene
             int sceneId = -1;
@@ -393,7 +406,7 @@ public class ProgressionManager {
             if (sceneId > 0) {
                 // Complete lesson using LessonUnlockManager
                 boolean newLessonUnlocked = lessonUnlockManager.completeLesson(
-                    planet.id, sceneId, starsEarned);
+                    planetId, sceneId, starsEarned);
                 
                 // Update planet stars
                 Map<String, Integer> planetStars = userProgress.getPlanetStars();
@@ -407,7 +420,7 @@ public class ProgressionManager {
                 }
                 
                 // Check if planet is now completed
-                if (lessonUnlockManager.isPlanetCompleted(planet.id)) {
+                if (lessonUnlockManager.isPlanetCompleted(planetId)) {
                     recordPlanetCompleted(planetKey);
                 }
             }
@@ -440,16 +453,13 @@ public class ProgressionManager {
         // #endregion
         
         // Get planet key for tracking
-        com.example.engapp.database.GameDatabaseHelper dbHelper = 
-            com.example.engapp.database.GameDatabaseHelper.getInstance(context);
-        com.example.engapp.database.GameDatabaseHelper.PlanetData planet = 
-            dbHelper.getPlanetById(planetId);
+        String planetKey = getPlanetKeyForId(planetId);
         
-        if (planet != null) {
+        if (planetKey != null) {
             // Update planet stars
             Map<String, Integer> planetStars = userProgress.getPlanetStars();
-            int currentPlanetStars = planetStars.getOrDefault(planet.planetKey, 0);
-            planetStars.put(planet.planetKey, currentPlanetStars + starsEarned);
+            int currentPlanetStars = planetStars.getOrDefault(planetKey, 0);
+            planetStars.put(planetKey, currentPlanetStars + starsEarned);
             userProgress.setPlanetStars(planetStars);
             saveUserProgress();
             
@@ -459,7 +469,7 @@ public class ProgressionManager {
             
             // Check if planet is now completed
             if (lessonUnlockManager.isPlanetCompleted(planetId)) {
-                recordPlanetCompleted(planet.planetKey);
+                recordPlanetCompleted(planetKey);
             }
         }
         // #region agent log
@@ -471,6 +481,28 @@ public class ProgressionManager {
         // #endregion
     }
 
+    private int getPlanetIdForKey(String planetKey) {
+        PlanetRegistry registry = PlanetRegistry.getInstance(context);
+        int handle = registry.handleOf(planetKey);
+        if (handle != PlanetRegistry.NO_PLANET) {
+            return registry.planetIdOf(handle);
+        }
+        com.example.engapp.database.GameDatabaseHelper.PlanetData planet =
+            com.example.engapp.database.GameDatabaseHelper.getInstance(context).getPlanetByKey(planetKey);
+        return planet != null ? planet.id : 0;
+    }
+
+    private String getPlanetKeyForId(int planetId) {
+        PlanetRegistry registry = PlanetRegistry.getInstance(context);
+        int handle = registry.handleOfPlanetId(planetId);
+        if (handle != PlanetRegistry.NO_PLANET) {
+            return registry.keyOf(handle);
+        }
+        com.example.engapp.database.GameDatabaseHelper.PlanetData planet =
+            com.example.engapp.database.GameDatabaseHelper.getInstance(context).getPlanetById(planetId);
+        return planet != null ? planet.planetKey : null;
+    }
+
     public void recordPlanetCompleted(String planetKey) {
         int previousPlanets = userProgress.getPlanetsUnlocked();
         userProgress.setPlanetsUnlocked(previousPlanets + 1);
@@ -488,75 +520,66 @@ public class ProgressionManager {
 
     // Planet unlock checking - INTEGRATED WITH LessonUnlockManager
     public void checkForNewUnlocks() {
-        int totalStars = userProgress.getTotalStars();
-        boolean unlockedAny = false;
-
-        for (Map.Entry<String, Integer> entry : planetUnlockRequirements.entrySet()) {
-            String planetKey = entry.getKey();
-            int required = entry.getValue();
+        starUnlocks.advanceTo(userProgress.getTotalStars());
+    }
 
-            // Check if has enough stars AND not already unlocked
-            // Planets with required = 0 are always unlocked
-            if ((required == 0 || totalStars >= required) && !isPlanetUnlocked(planetKey)) {
-                // Use LessonUnlockManager to check and unlock
-                lessonUnlockManager.checkAndUnlockPlanet(planetKey, required, totalStars);
-                
-                // If unlocked, notify listeners
+    private void unlockPlanetForStars(String planetKey, int required) {
+        PlanetRegistry registry = PlanetRegistry.getInstance(context);
+        int handle = registry.handleOf(planetKey);
+        if (handle == PlanetRegistry.NO_PLANET) {
+            // Not in the registry (content pack planet): keep to the string-key path
+            if (!lessonUnlockManager.isPlanetUnlocked(planetKey)) {
+                lessonUnlockManager.checkAndUnlockPlanet(planetKey, required, userProgress.getTotalStars());
                 if (lessonUnlockManager.isPlanetUnlocked(planetKey)) {
-                    unlockedAny = true;
-                    String planetName = getPlanetDisplayName(planetKey);
-                    for (ProgressionEventListener listener : listeners) {
-                        listener.onPlanetUnlocked(planetKey, planetName);
-                    }
+                    notifyPlanetUnlocked(planetKey, planetKey);
                 }
             }
+            return;
+        }
+        if (isPlanetUnlocked(registry.resolve(handle))) {
+            return;
         }
+        // Use LessonUnlockManager to check and unlock
+        lessonUnlockManager.checkAndUnlockPlanet(handle, required, userProgress.getTotalStars());
 
-        if (unlockedAny) {
-            scheduleCloudSync();
+        // If unlocked, notify listeners
+        if (lessonUnlockManager.isPlanetUnlocked(handle)) {
+            notifyPlanetUnlocked(planetKey, registry.displayNameOf(handle));
+        }
+    }
+
+    private void notifyPlanetUnlocked(String planetKey, String planetName) {
+        for (ProgressionEventListener listener : listeners) {
+            listener.onPlanetUnlocked(planetKey, planetName);
         }
     }
 
     /**
-     * Map GameDataProvider planet ID to database planet key
-     * GameDataProvider uses simple IDs like "animal", "color", "number"
-     * Database uses keys like "coloria_prime", "toytopia_orbit", "numberia_station"
-     * Mapping dựa trên ý nghĩa/chủ đề, không phải thứ tự
+     * Handle for a GameDataProvider id ("animal") or database key ("coloria_prime"), resolved
+     * to the planet it unlocks as. Look it up once per planet and pass the handle to
+     * isPlanetUnlocked(int) on map and draw paths. NO_PLANET if the key is unknown.
      */
-    private String mapPlanetIdToKey(String planetId) {
-        // Mapping từ GameDataProvider IDs sang database keys dựa trên chủ đề
-        switch (planetId) {
-            // Galaxy 1: Milky Way
-            case "animal": return "animania_wild";      // Animals -> Animania Wild (50 stars)
-            case "color": return "coloria_prime";        // Colors -> Coloria Prime (0 stars - first planet)
-            case "number": return "numberia_station";   // Numbers -> Numberia Station (100 stars)
-            case "food": return "foodora_station";      // Food -> Foodora Station (75 stars)
-            
-            // Galaxy 2: Andromeda
-            case "family": return "familia_home";       // Family -> Familia Home (360 stars)
-            case "body": return "animania_wild";        // Body parts -> Animania Wild (50 stars) - fallback
-            case "school": return "robolab";            // School -> RoboLab (450 stars)
-            case "nature": return "natura";             // Nature -> Natura (780 stars)
-            case "home": return "familia_home";         // Home -> Familia Home (360 stars)
-            
-            // Galaxy 3: Nebula Prime
-            case "action": return "timelapse";          // Actions -> TimeLapse (550 stars)
-            case "emotion": return "storyverse_galaxy"; // Emotions -> Storyverse (660 stars)
-            case "travel": return "natura";             // Travel -> Natura (780 stars)
-            
-            default: return planetId; // Nếu không có mapping, giữ nguyên (có thể là database key rồi)
-        }
+    public int getPlanetHandle(String planetKey) {
+        return PlanetRegistry.getInstance(context).resolve(planetKey);
+    }
+
+    public boolean isPlanetUnlocked(int planetHandle) {
+        return lessonUnlockManager.isPlanetUnlocked(planetHandle);
     }
 
     public boolean isPlanetUnlocked(String planetKey) {
-        // Map GameDataProvider ID to database key if needed
-        String mappedKey = mapPlanetIdToKey(planetKey);
-        // Use LessonUnlockManager for unified unlock checking
-        return lessonUnlockManager.isPlanetUnlocked(mappedKey);
+        // GameDataProvider IDs resolve to the database key they unlock as
+        int handle = getPlanetHandle(planetKey);
+        if (handle == PlanetRegistry.NO_PLANET) {
+            return lessonUnlockManager.isPlanetUnlocked(planetKey);
+        }
+        return lessonUnlockManager.isPlanetUnlocked(handle);
     }
 
     public String normalizePlanetKey(String planetId) {
-        return mapPlanetIdToKey(planetId);
+        int handle = getPlanetHandle(planetId);
+        return handle == PlanetRegistry.NO_PLANET
+            ? planetId : PlanetRegistry.getInstance(context).keyOf(handle);
     }
 
     private void unlockPlanet(String planetKey) {
@@ -571,14 +594,14 @@ public class ProgressionManager {
 
     public int getStarsRequiredForPlanet(String planetId) {
         // Map GameDataProvider ID to database key if needed
-        String mappedKey = mapPlanetIdToKey(planetId);
+        String mappedKey = normalizePlanetKey(planetId);
         return planetUnlockRequirements.getOrDefault(mappedKey, 
                planetUnlockRequirements.getOrDefault(planetId, 0));
     }
 
     public float getPlanetUnlockProgress(String planetId) {
         // Map GameDataProvider ID to database key if needed
-        String mappedKey = mapPlanetIdToKey(planetId);
+        String mappedKey = normalizePlanetKey(planetId);
         int required = planetUnlockRequirements.getOrDefault(mappedKey, 
                      planetUnlockRequirements.getOrDefault(planetId, 0));
         if (required == 0) return 1.0f;
@@ -720,21 +743,7 @@ public class ProgressionManager {
 
     // Buddy unlock checking
     private void checkBuddyUnlocks() {
-        int planetsCompleted = userProgress.getPlanetsUnlocked();
-        BuddyManager buddyManager = BuddyManager.getInstance(context);
-
-        if (planetsCompleted >= 3) {
-            buddyManager.unlockBuddy("dragon");
-        }
-        if (planetsCompleted >= 5) {
-            buddyManager.unlockBuddy("unicorn");
-        }
-        if (planetsCompleted >= 7) {
-            buddyManager.unlockBuddy("panda");
-        }
-        if (planetsCompleted >= 9) {
-            buddyManager.unlockBuddy("lion");
-        }
+        buddyUnlocks.advanceTo(userProgress.getPlanetsUnlocked());
     }
 
     // Helper methods
@@ -754,24 +763,9 @@ public class ProgressionManager {
     }
 
     private String getPlanetDisplayName(String planetId) {
-        switch (planetId) {
-            case "animal": return "Animal Planet";
-            case "color": return "Color World";
-            case "number": return "Number Station";
-            case "food": return "Food Galaxy";
-            case "family": return "Family Planet";
-            case "body": return "Body World";
-            case "school": return "School Station";
-            case "nature": return "Nature Planet";
-            case "home": return "Home World";
-            case "action": return "Action Galaxy";
-            case "emotion": return "Emotion Planet";
-            case "travel": return "Travel Station";
-            case "crystal_world": return "Crystal World";
-            case "rainbow_planet": return "Rainbow Planet";
-            case "robot_station": return "Robot Station";
-            default: return planetId;
-        }
+        PlanetRegistry registry = PlanetRegistry.getInstance(context);
+        int handle = registry.handleOf(planetId);
+        return handle == PlanetRegistry.NO_PLANET ? planetId : registry.displayNameOf(handle);
     }
 
     // Daily streak
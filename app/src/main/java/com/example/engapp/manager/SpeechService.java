@@ -0,0 +1,500 @@
+package com.example.engapp.manager;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.speech.tts.TextToSpeech;
+import android.speech.tts.UtteranceProgressListener;
+import android.util.Log;
+
+import com.example.engapp.database.GameDatabaseHelper.WordData;
+import com.example.engapp.database.GameRepository;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The app's one TextToSpeech engine.
+ *
+ * Binding an engine takes hundreds of milliseconds, so screens no longer create their own: it is
+ * bound on first use and kept for the life of the process, and anything asked for before it is
+ * ready waits in the queue instead of being dropped. Requests play one at a time, by priority:
+ *
+ *   PRIORITY_HIGH   a word the player must hear now; cuts off anything playing and replaces
+ *                   other high-priority requests still waiting (the old QUEUE_FLUSH behaviour)
+ *   PRIORITY_NORMAL waits behind what is already queued
+ *   PRIORITY_LOW    buddy chatter; dropped if anything else is playing or waiting, and cut off
+ *                   by any other request
+ *
+ * Each request carries a token (usually the calling activity) so a screen can cancel its own
+ * speech without cutting off the next screen's. Screens that grey out a speak button until the
+ * engine is up ask checkAvailability() instead of binding an engine of their own.
+ *
+ * A failed bind is not final: the next request or availability check binds a fresh engine,
+ * backing off from 5 seconds up to 5 minutes between attempts so a device with no engine at
+ * all doesn't rebind on every tap. Requests made while backing off are dropped.
+ *
+ * Planet vocabulary is synthesized once into cacheDir/speech by a second engine instance on a
+ * background thread and registered with addSpeech(), after which the engine plays those words
+ * from file instead of synthesizing them on demand. Cached words always play in US English at
+ * WORD_RATE.
+ */
+public final class SpeechService {
+
+    public static final int PRIORITY_LOW = 0;
+    public static final int PRIORITY_NORMAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+
+    public static final float WORD_RATE = 0.8f;
+
+    private static final String TAG = "SpeechService";
+    private static final String CACHE_DIR = "speech";
+    private static final long SYNTHESIZER_INIT_TIMEOUT_MS = 5000;
+    private static final long SYNTHESIS_TIMEOUT_MS = 5000;
+    private static final long REBIND_BACKOFF_MS = 5000;
+    private static final long MAX_REBIND_BACKOFF_MS = 5 * 60 * 1000;
+
+    private static final int ENGINE_BINDING = 0;
+    private static final int ENGINE_READY = 1;
+    private static final int ENGINE_FAILED = 2;
+
+    /** Results passed to an {@link AvailabilityCallback}. */
+    public static final int AVAILABLE = 0;
+    public static final int LANGUAGE_UNAVAILABLE = 1;
+    public static final int ENGINE_UNAVAILABLE = 2;
+
+    public interface AvailabilityCallback {
+        void onAvailability(int availability);
+    }
+
+    private static SpeechService instance;
+
+    private static final class Request {
+        final String text;
+        final Locale locale;
+        final float rate;
+        final int priority;
+        final Object token;
+        final long sequence;
+        final String utteranceId;
+
+        Request(String text, Locale locale, float rate, int priority, Object token, long sequence) {
+            this.text = text;
+            this.locale = locale;
+            this.rate = rate;
+            this.priority = priority;
+            this.token = token;
+            this.sequence = sequence;
+            this.utteranceId = "speech-" + sequence;
+        }
+    }
+
+    private static final class AvailabilityCheck {
+        final Locale locale;
+        final Object token;
+        final AvailabilityCallback callback;
+
+        AvailabilityCheck(Locale locale, Object token, AvailabilityCallback callback) {
+            this.locale = locale;
+            this.token = token;
+            this.callback = callback;
+        }
+    }
+
+    private final Context context;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Replaced on the main thread after a failed bind; the cache thread only calls addSpeech()
+    private volatile TextToSpeech player;
+    private final ExecutorService cacheExecutor = Executors.newSingleThreadExecutor(
+        runnable -> new Thread(runnable, "speech-cache"));
+
+    // Main thread only
+    private final PriorityQueue<Request> pending = new PriorityQueue<>(8, (a, b) ->
+        a.priority != b.priority ? b.priority - a.priority : Long.compare(a.sequence, b.sequence));
+    private final List<AvailabilityCheck> availabilityChecks = new ArrayList<>();
+    private final Set<Integer> prefetchedPlanets = new HashSet<>();
+    private int engineState = ENGINE_BINDING;
+    private int failedBinds;
+    private long lastFailureAt;
+    private Request current;
+    private Locale playerLocale;
+    private float playerRate;
+    private long nextSequence;
+
+    // Cache thread only
+    private final Set<String> cachedWords = new HashSet<>();
+    private TextToSpeech synthesizer;
+    private volatile CountDownLatch synthesis;
+    private volatile String synthesisId;
+    private volatile boolean synthesisSucceeded;
+    private long synthesisCount;
+
+    public static synchronized SpeechService getInstance(Context context) {
+        if (instance == null) {
+            instance = new SpeechService(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private SpeechService(Context context) {
+        this.context = context;
+        player = bindPlayer();
+    }
+
+    private TextToSpeech bindPlayer() {
+        TextToSpeech[] bound = new TextToSpeech[1];
+        // Init is posted, so bound[0] is set by the time it runs; a replaced engine is ignored
+        bound[0] = new TextToSpeech(context, status -> mainHandler.post(() -> {
+            if (bound[0] == player) {
+                onPlayerInit(status);
+            }
+        }));
+        bound[0].setOnUtteranceProgressListener(new UtteranceProgressListener() {
+            @Override
+            public void onStart(String utteranceId) {
+            }
+
+            @Override
+            public void onDone(String utteranceId) {
+                mainHandler.post(() -> onUtteranceFinished(utteranceId));
+            }
+
+            @Override
+            public void onError(String utteranceId) {
+                mainHandler.post(() -> onUtteranceFinished(utteranceId));
+            }
+
+            @Override
+            public void onStop(String utteranceId, boolean interrupted) {
+                mainHandler.post(() -> onUtteranceFinished(utteranceId));
+            }
+        });
+        return bound[0];
+    }
+
+    // Main thread; called when something needs the engine after the last bind failed
+    private void rebindIfFailed() {
+        if (engineState != ENGINE_FAILED
+                || SystemClock.elapsedRealtime() - lastFailureAt < rebindBackoffMillis(failedBinds)) {
+            return;
+        }
+        Log.i(TAG, "Rebinding TextToSpeech after " + failedBinds + " failed init(s)");
+        player.shutdown();
+        engineState = ENGINE_BINDING;
+        playerLocale = null;
+        playerRate = 0;
+        player = bindPlayer();
+        // addSpeech() registrations live in the engine object, so the new one needs them again
+        cacheExecutor.execute(this::registerCachedWords);
+    }
+
+    // 5s, 10s, 20s, ... capped at MAX_REBIND_BACKOFF_MS
+    private static long rebindBackoffMillis(int failedBinds) {
+        int doublings = Math.min(Math.max(failedBinds - 1, 0), 16);
+        return Math.min(REBIND_BACKOFF_MS << doublings, MAX_REBIND_BACKOFF_MS);
+    }
+
+    /** Speaks text in US English at WORD_RATE. */
+    public void speak(String text, int priority, Object token) {
+        speak(text, Locale.US, WORD_RATE, priority, token);
+    }
+
+    public void speak(String text, Locale locale, float rate, int priority, Object token) {
+        if (!isMainThread()) {
+            mainHandler.post(() -> speak(text, locale, rate, priority, token));
+            return;
+        }
+        if (text == null || text.trim().isEmpty()) {
+            return;
+        }
+        rebindIfFailed();
+        if (engineState == ENGINE_FAILED) {
+            return;
+        }
+        if (priority == PRIORITY_LOW && (current != null || !pending.isEmpty())) {
+            return;
+        }
+        if (priority == PRIORITY_HIGH) {
+            for (Iterator<Request> it = pending.iterator(); it.hasNext(); ) {
+                if (it.next().priority == PRIORITY_HIGH) {
+                    it.remove();
+                }
+            }
+        }
+        Request request = new Request(text.trim(), locale, rate, priority, token, nextSequence++);
+        pending.add(request);
+        if (current == null || request.priority > current.priority
+                || request.priority == PRIORITY_HIGH) {
+            // Speaking the next request with QUEUE_FLUSH cuts off the current one
+            current = null;
+            playNext();
+        }
+    }
+
+    /**
+     * Tells the callback, on the main thread, whether text in this locale can be spoken: at once
+     * if the engine is up, otherwise when the bind finishes. cancel(token) drops it if unanswered.
+     */
+    public void checkAvailability(Locale locale, Object token, AvailabilityCallback callback) {
+        if (!isMainThread()) {
+            mainHandler.post(() -> checkAvailability(locale, token, callback));
+            return;
+        }
+        rebindIfFailed();
+        AvailabilityCheck check = new AvailabilityCheck(locale, token, callback);
+        if (engineState == ENGINE_BINDING) {
+            availabilityChecks.add(check);
+        } else {
+            // Ready, or still backing off after a failed bind
+            answer(check);
+        }
+    }
+
+    /** Drops everything this token queued and stops it if it is playing. */
+    public void cancel(Object token) {
+        if (!isMainThread()) {
+            mainHandler.post(() -> cancel(token));
+            return;
+        }
+        for (Iterator<Request> it = pending.iterator(); it.hasNext(); ) {
+            if (it.next().token == token) {
+                it.remove();
+            }
+        }
+        for (Iterator<AvailabilityCheck> it = availabilityChecks.iterator(); it.hasNext(); ) {
+            if (it.next().token == token) {
+                it.remove();
+            }
+        }
+        if (current != null && current.token == token) {
+            current = null;
+            if (engineState == ENGINE_READY) {
+                player.stop();
+            }
+            playNext();
+        }
+    }
+
+    /** Caches the planet's words in the background; repeat calls for a planet are ignored. */
+    public void prefetchPlanet(int planetId) {
+        if (!isMainThread()) {
+            mainHandler.post(() -> prefetchPlanet(planetId));
+            return;
+        }
+        if (planetId <= 0 || !prefetchedPlanets.add(planetId)) {
+            return;
+        }
+        GameRepository.getInstance(context).getWordsForPlanet(planetId)
+            .thenAcceptAsync(words -> {
+                for (WordData word : words) {
+                    cacheWord(word.english);
+                }
+                releaseSynthesizer();
+            }, cacheExecutor)
+            .exceptionally(error -> {
+                // Let a later visit to the planet try again
+                Log.w(TAG, "Could not cache words for planet " + planetId, error);
+                mainHandler.post(() -> prefetchedPlanets.remove(planetId));
+                return null;
+            });
+    }
+
+    private void onPlayerInit(int status) {
+        if (status != TextToSpeech.SUCCESS) {
+            Log.w(TAG, "TextToSpeech init failed: " + status);
+            engineState = ENGINE_FAILED;
+            failedBinds++;
+            lastFailureAt = SystemClock.elapsedRealtime();
+            pending.clear();
+            current = null;
+        } else {
+            engineState = ENGINE_READY;
+            failedBinds = 0;
+        }
+        List<AvailabilityCheck> checks = new ArrayList<>(availabilityChecks);
+        availabilityChecks.clear();
+        for (AvailabilityCheck check : checks) {
+            answer(check);
+        }
+        playNext();
+    }
+
+    private void answer(AvailabilityCheck check) {
+        if (engineState != ENGINE_READY) {
+            check.callback.onAvailability(ENGINE_UNAVAILABLE);
+            return;
+        }
+        int result = player.isLanguageAvailable(check.locale);
+        check.callback.onAvailability(result == TextToSpeech.LANG_MISSING_DATA
+            || result == TextToSpeech.LANG_NOT_SUPPORTED ? LANGUAGE_UNAVAILABLE : AVAILABLE);
+    }
+
+    private void onUtteranceFinished(String utteranceId) {
+        // Late callbacks for utterances that were cut off no longer match current
+        if (current != null && current.utteranceId.equals(utteranceId)) {
+            current = null;
+            playNext();
+        }
+    }
+
+    private void playNext() {
+        if (engineState != ENGINE_READY || current != null) {
+            return;
+        }
+        while ((current = pending.poll()) != null) {
+            if (!current.locale.equals(playerLocale)) {
+                int result = player.setLanguage(current.locale);
+                if (result == TextToSpeech.LANG_MISSING_DATA
+                        || result == TextToSpeech.LANG_NOT_SUPPORTED) {
+                    Log.w(TAG, "Language not available: " + current.locale);
+                    continue;
+                }
+                playerLocale = current.locale;
+            }
+            if (current.rate != playerRate) {
+                player.setSpeechRate(current.rate);
+                playerRate = current.rate;
+            }
+            if (player.speak(current.text, TextToSpeech.QUEUE_FLUSH, null, current.utteranceId)
+                    == TextToSpeech.SUCCESS) {
+                return;
+            }
+        }
+    }
+
+    // Cache thread
+    private void cacheWord(String word) {
+        if (word == null) {
+            return;
+        }
+        String text = word.trim();
+        if (text.isEmpty() || !cachedWords.add(text)) {
+            return;
+        }
+        File file = new File(new File(context.getCacheDir(), CACHE_DIR), fileName(text));
+        if (file.length() == 0 && !synthesize(text, file)) {
+            cachedWords.remove(text);
+            return;
+        }
+        player.addSpeech(text, file);
+    }
+
+    // Cache thread
+    private void registerCachedWords() {
+        File dir = new File(context.getCacheDir(), CACHE_DIR);
+        for (String text : cachedWords) {
+            player.addSpeech(text, new File(dir, fileName(text)));
+        }
+    }
+
+    // Cache thread; writes to a temporary file so a killed synthesis never leaves a cut-off clip
+    private boolean synthesize(String text, File file) {
+        TextToSpeech engine = synthesizer();
+        if (engine == null) {
+            return false;
+        }
+        file.getParentFile().mkdirs();
+        File partial = new File(file.getPath() + ".part");
+        // Unique per attempt, so a late callback from a timed-out word can't finish this one
+        String utteranceId = "cache-" + (++synthesisCount) + "-" + text;
+        synthesis = new CountDownLatch(1);
+        synthesisSucceeded = false;
+        synthesisId = utteranceId;
+        if (engine.synthesizeToFile(text, null, partial, utteranceId) != TextToSpeech.SUCCESS) {
+            return false;
+        }
+        try {
+            if (!synthesis.await(SYNTHESIS_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                Log.w(TAG, "Timed out synthesizing " + text);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return synthesisSucceeded && partial.length() > 0 && partial.renameTo(file);
+    }
+
+    // Cache thread; a separate engine instance so QUEUE_FLUSH on the player never drops its work
+    private TextToSpeech synthesizer() {
+        if (synthesizer != null) {
+            return synthesizer;
+        }
+        CountDownLatch init = new CountDownLatch(1);
+        int[] initStatus = {TextToSpeech.ERROR};
+        TextToSpeech engine = new TextToSpeech(context, status -> {
+            initStatus[0] = status;
+            init.countDown();
+        });
+        try {
+            if (!init.await(SYNTHESIZER_INIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)
+                    || initStatus[0] != TextToSpeech.SUCCESS) {
+                engine.shutdown();
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            engine.shutdown();
+            return null;
+        }
+        engine.setLanguage(Locale.US);
+        engine.setSpeechRate(WORD_RATE);
+        engine.setOnUtteranceProgressListener(new UtteranceProgressListener() {
+            @Override
+            public void onStart(String utteranceId) {
+            }
+
+            @Override
+            public void onDone(String utteranceId) {
+                if (utteranceId.equals(synthesisId)) {
+                    synthesisSucceeded = true;
+                    synthesis.countDown();
+                }
+            }
+
+            @Override
+            public void onError(String utteranceId) {
+                if (utteranceId.equals(synthesisId)) {
+                    synthesis.countDown();
+                }
+            }
+        });
+        synthesizer = engine;
+        return engine;
+    }
+
+    // Cache thread; the synthesizer is only needed while a batch is being cached
+    private void releaseSynthesizer() {
+        if (synthesizer != null) {
+            synthesizer.shutdown();
+            synthesizer = null;
+        }
+    }
+
+    private static String fileName(String text) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < text.length() && sb.length() < 32; i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                sb.append(c);
+            }
+        }
+        // The hash keeps "Ice-cream" and "ice cream" apart
+        return sb.append('_').append(Integer.toHexString(text.hashCode())).append(".wav").toString();
+    }
+
+    private static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.engapp.manager;
+
+import java.util.Arrays;
+
+/**
+ * Threshold rules over one monotonically growing counter (stars, words learned, games played,
+ * planets completed).
+ *
+ * Fixed rules are kept sorted by threshold with a cursor past the last one fired, and an
+ * optional repeating rule fires at every multiple of its step. advanceTo() only looks at rules
+ * between the previous value and the new one, so a reward costs O(newly crossed) rather than
+ * a scan of every rule.
+ */
+final class UnlockLadder {
+
+    interface Rule {
+        void onCrossed(int threshold);
+    }
+
+    private int[] thresholds = new int[8];
+    private Rule[] rules = new Rule[8];
+    private int size;
+    private boolean sorted = true;
+    private int cursor;
+
+    private int repeatStep;
+    private Rule repeatRule;
+    private int nextRepeat;
+
+    void add(int threshold, Rule rule) {
+        if (size == thresholds.length) {
+            thresholds = Arrays.copyOf(thresholds, size * 2);
+            rules = Arrays.copyOf(rules, size * 2);
+        }
+        thresholds[size] = threshold;
+        rules[size] = rule;
+        size++;
+        sorted = false;
+    }
+
+    void every(int step, Rule rule) {
+        repeatStep = step;
+        repeatRule = rule;
+        nextRepeat = step;
+    }
+
+    /**
+     * Marks everything up to value as already handled without firing, e.g. badges that were
+     * awarded in an earlier session.
+     */
+    void skipTo(int value) {
+        sortIfNeeded();
+        while (cursor < size && thresholds[cursor] <= value) {
+            cursor++;
+        }
+        if (repeatRule != null && nextRepeat <= value) {
+            nextRepeat = (value / repeatStep + 1) * repeatStep;
+        }
+    }
+
+    void advanceTo(int value) {
+        sortIfNeeded();
+        while (cursor < size && thresholds[cursor] <= value) {
+            // Advance first so a rule that re-enters advanceTo doesn't fire twice
+            Rule rule = rules[cursor];
+            int threshold = thresholds[cursor];
+            cursor++;
+            rule.onCrossed(threshold);
+        }
+        while (repeatRule != null && nextRepeat <= value) {
+            int threshold = nextRepeat;
+            nextRepeat += repeatStep;
+            repeatRule.onCrossed(threshold);
+        }
+    }
+
+    private void sortIfNeeded() {
+        if (sorted) {
+            return;
+        }
+        // Insertion sort keeps rules with equal thresholds in registration order
+        for (int i = 1; i < size; i++) {
+            int threshold = thresholds[i];
+            Rule rule = rules[i];
+            int j = i - 1;
+            while (j >= 0 && thresholds[j] > threshold) {
+                thresholds[j + 1] = thresholds[j];
+                rules[j + 1] = rules[j];
+                j--;
+            }
+            thresholds[j + 1] = threshold;
+            rules[j + 1] = rule;
+        }
+        sorted = true;
+    }
+}
@@ -3,12 +3,14 @@ package com.example.engapp.view;
 import android.animation.ObjectAnimator;
 import android.animation.ValueAnimator;
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.DashPathEffect;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.RadialGradient;
+import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Shader;
 import android.util.AttributeSet;
@@ -31,6 +33,15 @@ import java.util.Random;
  * - Space decorations (twinkling stars, particles)
  * - Unlock animations
  * - Player ship indicator
+ *
+ * Rendering is split into three layers so the running animations don't re-rasterize the map:
+ * - static: the background gradient, one rect filled by a shader that is rebuilt only when
+ *   the size changes (a full-screen bitmap would cost as much to blit as the rect to fill)
+ * - mid: the constellation path is a few dashed segments drawn live at the scroll offset;
+ *   each galaxy at rest is cached as a sprite, and only the current (pulsing) and unlocking
+ *   galaxies are drawn live
+ * - dynamic: twinkling stars, particles, the ship and the "almost there" ring pulse
+ * Node animations invalidate only the node's bounds.
  */
 public class ConstellationGalaxyMapView extends View {
 
@@ -64,6 +75,13 @@ public class ConstellationGalaxyMapView extends View {
     // Paints
     private Paint galaxyPaint, glowPaint, textPaint, pathPaint, progressPaint;
     private Paint starPaint, particlePaint, lockPaint;
+    private Paint backgroundPaint, shipPaint, layerPaint;
+
+    // Render scratch objects
+    private final Path segmentPath = new Path();
+    private final Path shipPath = new Path();
+    private final RectF ringRect = new RectF();
+    private final Rect dirtyRect = new Rect();
     
     // Listener
     private OnGalaxyClickListener listener;
@@ -74,6 +92,15 @@ public class ConstellationGalaxyMapView extends View {
     private static final float PROGRESS_RING_WIDTH = 8f;
     private static final int STAR_COUNT = 100;
     private static final int PARTICLE_COUNT = 20;
+    private static final float[] GLOW_RADIUS_FACTORS = {1f, 0.7f, 0.4f};
+    private static final int[] GLOW_ALPHAS = {30, 60, 100};
+    private static final int LOCKED_GALAXY_COLOR = Color.parseColor("#2D3748");
+    private static final int SHIP_COLOR = Color.parseColor("#4ECDC4");
+    private static final int PATH_UNLOCKED_COLOR = Color.parseColor("#6366F1");
+    private static final int PATH_LOCKED_COLOR = Color.parseColor("#4A5568");
+    private static final int STATUS_UNLOCKED_COLOR = Color.parseColor("#4CAF50");
+    private static final int STATUS_ALMOST_COLOR = Color.parseColor("#FFD700");
+    private static final int STATUS_LOCKED_COLOR = Color.parseColor("#FFA500");
     
     public interface OnGalaxyClickListener {
         void onGalaxyClick(int galaxyId, String galaxyName, String galaxyEmoji);
@@ -102,7 +129,8 @@ public class ConstellationGalaxyMapView extends View {
         startAnimations();
 
         touchSlop = ViewConfiguration.get(getContext()).getScaledTouchSlop();
-        setLayerType(LAYER_TYPE_HARDWARE, null);
+        // No hardware layer: the stars change every frame, so a view-sized layer would be
+        // re-rendered on every frame on top of the normal draw
     }
     
     private void initPaints() {
@@ -147,6 +175,14 @@ public class ConstellationGalaxyMapView extends View {
         lockPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         lockPaint.setColor(Color.parseColor("#80000000"));
         lockPaint.setStyle(Paint.Style.FILL);
+
+        // Background paint; its gradient is sized in onSizeChanged
+        backgroundPaint = new Paint();
+
+        // Ship paint
+        shipPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+        layerPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
     }
     
     public void loadGalaxies(int stars, int currentGalaxyId) {
@@ -166,6 +202,7 @@ public class ConstellationGalaxyMapView extends View {
         boolean galaxy2Unlocked = stars >= 30 && previousStars < 30;
         boolean galaxy3Unlocked = stars >= 60 && previousStars < 60;
         
+        recycleSprites();
         galaxyNodes.clear();
         
         // Galaxy 1: Beginner (always unlocked)
@@ -195,6 +232,7 @@ public class ConstellationGalaxyMapView extends View {
             } else if (node.isUnlocked) {
                 node.progress = 100;
             }
+            node.requirementLabel = "Cần " + node.starsRequired + " ⭐";
         }
         
         // Trigger unlock animation if needed
@@ -218,13 +256,15 @@ public class ConstellationGalaxyMapView extends View {
         unlockAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
         unlockAnimator.addUpdateListener(animation -> {
             unlockProgress = (float) animation.getAnimatedValue();
-            invalidate();
+            invalidateNode(node, 1.0f + 0.3f * unlockProgress);
         });
         unlockAnimator.addListener(new android.animation.AnimatorListenerAdapter() {
             @Override
             public void onAnimationEnd(android.animation.Animator animation) {
                 unlockingNode = null;
                 unlockProgress = 0f;
+                // Back at rest: cached as a sprite from the next frame on
+                invalidateNode(node, 1.3f);
             }
         });
         unlockAnimator.start();
@@ -259,6 +299,7 @@ public class ConstellationGalaxyMapView extends View {
         twinkleAnimator.setRepeatCount(ValueAnimator.INFINITE);
         twinkleAnimator.addUpdateListener(animation -> {
             twinklePhase = (float) animation.getAnimatedValue();
+            // Stars are spread across the whole view
             invalidate();
         });
         twinkleAnimator.start();
@@ -274,7 +315,10 @@ public class ConstellationGalaxyMapView extends View {
     
     public void setPulseScale(float scale) {
         this.pulseScale = scale;
-        invalidate();
+        GalaxyNode current = findNode(currentGalaxyId);
+        if (current != null) {
+            invalidateNode(current, scale);
+        }
     }
     
     public float getPulseScale() {
@@ -291,19 +335,24 @@ public class ConstellationGalaxyMapView extends View {
         
         int width = getWidth();
         int height = getHeight();
+        if (width == 0 || height == 0) {
+            return;
+        }
         
-        // Draw deep space background gradient
-        drawSpaceBackground(canvas, width, height);
-        
+        // Deep space background; the gradient shader is built once per size
+        canvas.drawRect(0, 0, width, height, backgroundPaint);
+
+        canvas.save();
+        canvas.translate(0f, scrollOffsetY);
+        drawConstellationPath(canvas);
+        canvas.restore();
+
         // Draw twinkling stars
         drawBackgroundStars(canvas);
 
         canvas.save();
         canvas.translate(0f, scrollOffsetY);
         
-        // Draw constellation path (connecting lines)
-        drawConstellationPath(canvas);
-        
         // Draw particles
         drawParticles(canvas);
         
@@ -316,26 +365,64 @@ public class ConstellationGalaxyMapView extends View {
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
         updateScrollBounds();
+        if (w > 0 && h > 0) {
+            backgroundPaint.setShader(new RadialGradient(
+                w * 0.5f, h * 0.3f, h * 0.8f,
+                new int[]{
+                    Color.parseColor("#0A0A1A"),
+                    Color.parseColor("#1A1A2E"),
+                    Color.parseColor("#0D1B2A")
+                },
+                null,
+                Shader.TileMode.CLAMP
+            ));
+        }
     }
-    
-    private void drawSpaceBackground(Canvas canvas, int width, int height) {
-        Paint bgPaint = new Paint();
-        RadialGradient gradient = new RadialGradient(
-            width * 0.5f, height * 0.3f, height * 0.8f,
-            new int[]{
-                Color.parseColor("#0A0A1A"),
-                Color.parseColor("#1A1A2E"),
-                Color.parseColor("#0D1B2A")
-            },
-            null,
-            Shader.TileMode.CLAMP
-        );
-        bgPaint.setShader(gradient);
-        canvas.drawRect(0, 0, width, height, bgPaint);
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        // Keep the animations from invalidating while another screen covers the map
+        if (visibility == VISIBLE) {
+            resumeAnimator(twinkleAnimator);
+            resumeAnimator(pulseAnimator);
+        } else {
+            pauseAnimator(twinkleAnimator);
+            pauseAnimator(pulseAnimator);
+        }
     }
-    
+
+    private static void resumeAnimator(ValueAnimator animator) {
+        if (animator != null && animator.isPaused()) {
+            animator.resume();
+        }
+    }
+
+    private static void pauseAnimator(ValueAnimator animator) {
+        if (animator != null && animator.isRunning()) {
+            animator.pause();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        recycleSprites();
+    }
+
+    private void recycleSprites() {
+        for (int i = 0; i < galaxyNodes.size(); i++) {
+            GalaxyNode node = galaxyNodes.get(i);
+            if (node.sprite != null) {
+                node.sprite.recycle();
+                node.sprite = null;
+            }
+        }
+    }
+
     private void drawBackgroundStars(Canvas canvas) {
-        for (Star star : backgroundStars) {
+        for (int i = 0, count = backgroundStars.size(); i < count; i++) {
+            Star star = backgroundStars.get(i);
             float alpha = 100 + (float)(Math.sin(twinklePhase * star.twinkleSpeed) * 100);
             starPaint.setAlpha((int)alpha);
             canvas.drawCircle(star.x, star.y, star.size, starPaint);
@@ -349,17 +436,18 @@ public class ConstellationGalaxyMapView extends View {
             
             // Only draw path if at least one galaxy is unlocked
             if (from.isUnlocked || to.isUnlocked) {
-                Path path = new Path();
+                Path path = segmentPath;
+                path.rewind();
                 path.moveTo(from.x, from.y);
                 path.lineTo(to.x, to.y);
                 
                 // Animate path if next galaxy is unlocked
                 if (to.isUnlocked) {
+                    pathPaint.setColor(PATH_UNLOCKED_COLOR);
                     pathPaint.setAlpha(200);
-                    pathPaint.setColor(Color.parseColor("#6366F1"));
                 } else {
+                    pathPaint.setColor(PATH_LOCKED_COLOR);
                     pathPaint.setAlpha(80);
-                    pathPaint.setColor(Color.parseColor("#4A5568"));
                 }
                 
                 canvas.drawPath(path, pathPaint);
@@ -368,77 +456,146 @@ public class ConstellationGalaxyMapView extends View {
     }
     
     private void drawParticles(Canvas canvas) {
-        for (Particle particle : particles) {
+        for (int i = 0, count = particles.size(); i < count; i++) {
+            Particle particle = particles.get(i);
             particlePaint.setAlpha((int)(particle.alpha * 255));
             canvas.drawCircle(particle.x, particle.y, 2f, particlePaint);
         }
     }
     
     private void drawGalaxyNodes(Canvas canvas) {
-        for (GalaxyNode node : galaxyNodes) {
-            boolean isCurrent = node.id == currentGalaxyId;
-            boolean isNextUnlock = !node.isUnlocked && 
-                (node.id == currentGalaxyId + 1 || 
-                 (currentGalaxyId == 1 && node.id == 2));
-            
-            // Draw glow effect
-            drawGlow(canvas, node, isCurrent);
-            
-            // Draw progress ring (for locked galaxies)
-            if (!node.isUnlocked && node.progress > 0) {
-                drawProgressRing(canvas, node);
+        for (int i = 0, count = galaxyNodes.size(); i < count; i++) {
+            GalaxyNode node = galaxyNodes.get(i);
+            if (isAnimated(node)) {
+                drawGalaxyNode(canvas, node, true);
+                continue;
             }
-            
-            // Draw galaxy circle
-            drawGalaxyCircle(canvas, node, isCurrent);
-            
-            // Draw lock overlay if locked
-            if (!node.isUnlocked) {
-                drawLockOverlay(canvas, node);
+            // Mid layer: the galaxy at rest comes from its sprite
+            if (node.sprite == null) {
+                renderSprite(node);
             }
-            
-            // Draw player ship on current galaxy
-            if (isCurrent) {
-                drawPlayerShip(canvas, node);
+            canvas.drawBitmap(node.sprite, node.x - node.spriteHalfWidth,
+                node.y - node.spriteTop, layerPaint);
+
+            // The "almost there" pulse is the only moving part of a resting galaxy
+            if (!node.isUnlocked && node.progress >= 80) {
+                drawAlmostTherePulse(canvas, node);
+            }
+        }
+    }
+
+    // Current galaxy pulses and carries the ship; an unlocking galaxy grows and fades in
+    private boolean isAnimated(GalaxyNode node) {
+        return node.id == currentGalaxyId || node == unlockingNode;
+    }
+
+    private void drawGalaxyNode(Canvas canvas, GalaxyNode node, boolean withPulse) {
+        boolean isCurrent = node.id == currentGalaxyId;
+        boolean isNextUnlock = !node.isUnlocked && 
+            (node.id == currentGalaxyId + 1 || 
+             (currentGalaxyId == 1 && node.id == 2));
+        
+        // Draw glow effect
+        drawGlow(canvas, node, isCurrent);
+        
+        // Draw progress ring (for locked galaxies)
+        if (!node.isUnlocked && node.progress > 0) {
+            drawProgressRing(canvas, node, withPulse);
+        }
+        
+        // Draw galaxy circle
+        drawGalaxyCircle(canvas, node, isCurrent);
+        
+        // Draw lock overlay if locked
+        if (!node.isUnlocked) {
+            drawLockOverlay(canvas, node);
+        }
+        
+        // Draw player ship on current galaxy
+        if (isCurrent) {
+            drawPlayerShip(canvas, node);
+        }
+        
+        // Draw galaxy name and info
+        drawGalaxyInfo(canvas, node, isNextUnlock);
+    }
+
+    /** Caches a resting galaxy (glow, ring, circle, lock and labels) in its own bitmap. */
+    private void renderSprite(GalaxyNode node) {
+        textPaint.setTextSize(24f);
+        float labelHalfWidth = textPaint.measureText(node.nameVi) / 2f + 4f;
+        node.spriteHalfWidth = (float) Math.ceil(Math.max(GLOW_RADIUS, labelHalfWidth));
+        node.spriteTop = GLOW_RADIUS;
+        // Labels end 85px below the circle; leave room for the second line's descent
+        float bottom = NODE_RADIUS + 85f + 30f;
+
+        int width = (int) (node.spriteHalfWidth * 2);
+        int height = (int) Math.ceil(node.spriteTop + bottom);
+        node.sprite = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas spriteCanvas = new Canvas(node.sprite);
+        spriteCanvas.translate(node.spriteHalfWidth - node.x, node.spriteTop - node.y);
+        drawGalaxyNode(spriteCanvas, node, false);
+    }
+
+    /** Invalidates the node's area, scaled by how far its animation currently reaches. */
+    private void invalidateNode(GalaxyNode node, float scale) {
+        float reach = Math.max(GLOW_RADIUS, NODE_RADIUS * 2) * scale + PROGRESS_RING_WIDTH;
+        int top = (int) (node.y + scrollOffsetY - reach);
+        int bottom = (int) (node.y + scrollOffsetY + NODE_RADIUS * scale + 120f);
+        dirtyRect.set((int) (node.x - reach), top, (int) Math.ceil(node.x + reach), bottom);
+        postInvalidateOnAnimation(dirtyRect.left, dirtyRect.top, dirtyRect.right, dirtyRect.bottom);
+    }
+
+    private GalaxyNode findNode(int galaxyId) {
+        for (int i = 0; i < galaxyNodes.size(); i++) {
+            GalaxyNode node = galaxyNodes.get(i);
+            if (node.id == galaxyId) {
+                return node;
             }
-            
-            // Draw galaxy name and info
-            drawGalaxyInfo(canvas, node, isNextUnlock);
         }
+        return null;
     }
     
     private void drawGlow(Canvas canvas, GalaxyNode node, boolean isCurrent) {
         if (!node.isUnlocked && !isCurrent) return;
         
         float glowRadius = GLOW_RADIUS * (isCurrent ? pulseScale : 1.0f);
-        float[] radii = {glowRadius, glowRadius * 0.7f, glowRadius * 0.4f};
-        int[] alphas = {30, 60, 100};
         
-        for (int i = 0; i < radii.length; i++) {
+        for (int i = 0; i < GLOW_RADIUS_FACTORS.length; i++) {
             glowPaint.setColor(node.color);
-            glowPaint.setAlpha(alphas[i]);
-            canvas.drawCircle(node.x, node.y, radii[i], glowPaint);
+            glowPaint.setAlpha(GLOW_ALPHAS[i]);
+            canvas.drawCircle(node.x, node.y, glowRadius * GLOW_RADIUS_FACTORS[i], glowPaint);
         }
     }
     
-    private void drawProgressRing(Canvas canvas, GalaxyNode node) {
-        RectF rect = new RectF(
-            node.x - NODE_RADIUS - PROGRESS_RING_WIDTH,
-            node.y - NODE_RADIUS - PROGRESS_RING_WIDTH,
-            node.x + NODE_RADIUS + PROGRESS_RING_WIDTH,
-            node.y + NODE_RADIUS + PROGRESS_RING_WIDTH
-        );
+    private void drawProgressRing(Canvas canvas, GalaxyNode node, boolean withPulse) {
+        RectF rect = ringRect(node);
         
         float sweepAngle = (node.progress / 100f) * 360f;
         progressPaint.setAlpha(200);
         canvas.drawArc(rect, -90f, sweepAngle, false, progressPaint);
         
         // Draw "Almost there!" effect if close
-        if (node.progress >= 80) {
-            progressPaint.setAlpha(100 + (int)(Math.sin(twinklePhase * 3) * 100));
-            canvas.drawArc(rect, -90f, sweepAngle, false, progressPaint);
+        if (withPulse && node.progress >= 80) {
+            drawAlmostTherePulse(canvas, node);
         }
     }
+
+    private void drawAlmostTherePulse(Canvas canvas, GalaxyNode node) {
+        float sweepAngle = (node.progress / 100f) * 360f;
+        progressPaint.setAlpha(100 + (int)(Math.sin(twinklePhase * 3) * 100));
+        canvas.drawArc(ringRect(node), -90f, sweepAngle, false, progressPaint);
+    }
+
+    private RectF ringRect(GalaxyNode node) {
+        ringRect.set(
+            node.x - NODE_RADIUS - PROGRESS_RING_WIDTH,
+            node.y - NODE_RADIUS - PROGRESS_RING_WIDTH,
+            node.x + NODE_RADIUS + PROGRESS_RING_WIDTH,
+            node.y + NODE_RADIUS + PROGRESS_RING_WIDTH
+        );
+        return ringRect;
+    }
     
     private void drawGalaxyCircle(Canvas canvas, GalaxyNode node, boolean isCurrent) {
         float radius = NODE_RADIUS * (isCurrent ? pulseScale : 1.0f);
@@ -453,7 +610,7 @@ public class ConstellationGalaxyMapView extends View {
             galaxyPaint.setColor(node.color);
             galaxyPaint.setAlpha(255);
         } else {
-            galaxyPaint.setColor(Color.parseColor("#2D3748"));
+            galaxyPaint.setColor(LOCKED_GALAXY_COLOR);
             galaxyPaint.setAlpha(150);
         }
         
@@ -506,15 +663,14 @@ public class ConstellationGalaxyMapView extends View {
     
     private void drawPlayerShip(Canvas canvas, GalaxyNode node) {
         // Draw small spaceship above galaxy
-        Paint shipPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        shipPaint.setColor(Color.parseColor("#4ECDC4"));
+        shipPaint.setColor(SHIP_COLOR);
         shipPaint.setStyle(Paint.Style.FILL);
         
         float shipY = node.y - NODE_RADIUS - 30f;
         float shipSize = 20f;
         
         // Simple triangle ship
-        Path shipPath = new Path();
+        shipPath.rewind();
         shipPath.moveTo(node.x, shipY - shipSize);
         shipPath.lineTo(node.x - shipSize * 0.7f, shipY + shipSize * 0.5f);
         shipPath.lineTo(node.x, shipY);
@@ -544,16 +700,16 @@ public class ConstellationGalaxyMapView extends View {
         textPaint.setTextSize(18f);
         
         if (node.isUnlocked) {
-            textPaint.setColor(Color.parseColor("#4CAF50"));
+            textPaint.setColor(STATUS_UNLOCKED_COLOR);
             canvas.drawText("🔓 Đã mở khóa", node.x, textY, textPaint);
         } else {
             if (isNextUnlock && node.progress >= 80) {
-                textPaint.setColor(Color.parseColor("#FFD700"));
+                textPaint.setColor(STATUS_ALMOST_COLOR);
                 textPaint.setTextSize(20f);
                 canvas.drawText("Sắp mở rồi! ⭐", node.x, textY, textPaint);
             } else {
-                textPaint.setColor(Color.parseColor("#FFA500"));
-                canvas.drawText("Cần " + node.starsRequired + " ⭐", node.x, textY, textPaint);
+                textPaint.setColor(STATUS_LOCKED_COLOR);
+                canvas.drawText(node.requirementLabel, node.x, textY, textPaint);
             }
         }
     }
@@ -573,6 +729,7 @@ public class ConstellationGalaxyMapView extends View {
                 if (isDragging) {
                     scrollOffsetY = clamp(scrollOffsetY + dy, minScrollY, maxScrollY);
                     lastTouchY = event.getY();
+                    // Only the path and nodes move; the background stays put
                     invalidate();
                     return true;
                 }
@@ -663,6 +820,10 @@ public class ConstellationGalaxyMapView extends View {
         boolean isUnlocked;
         int color;
         int progress; // 0-100
+        String requirementLabel;
+        // Mid-layer sprite of the galaxy at rest, and where the node centre sits in it
+        Bitmap sprite;
+        float spriteHalfWidth, spriteTop;
         
         GalaxyNode(int id, String emoji, String name, String nameVi,
                   float x, float y, int starsRequired, boolean isUnlocked,
@@ -1,22 +1,22 @@
 package com.example.engapp.view;
 
+import android.animation.TimeAnimator;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.LinearGradient;
+import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Path;
-import android.graphics.PointF;
 import android.graphics.RadialGradient;
 import android.graphics.Shader;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.animation.AccelerateDecelerateInterpolator;
 
 import com.example.engapp.database.GameDatabaseHelper.WordData;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -24,30 +24,63 @@ import java.util.Random;
 /**
  * Custom View cho Word Constellation Game
  * Người chơi nối các điểm theo thứ tự để tạo thành chòm sao và học từ vựng
+ *
+ * Drawing a frame allocates nothing, so tracing stays smooth while TTS and the dialogs run:
+ * - dot fills and glows use shared unit-radius gradients, scaled on the canvas per dot
+ * - each connected line gets its gradient once, when it is connected or the dots are laid out;
+ *   the line being dragged reuses one unit gradient through a local matrix
+ * - burst particles come from a pool and go back to it when they fade out
+ * - the pulse and twinkle run on one TimeAnimator, and the one-shot scale animations read
+ *   getAnimatedFraction(), so no animator boxes a Float per frame
  */
 public class ConstellationView extends View {
 
+    private static final int LINE_START_COLOR = Color.parseColor("#60A5FA");
+    private static final int LINE_MID_COLOR = Color.parseColor("#A78BFA");
+    private static final int[] LINE_COLORS = {LINE_START_COLOR, LINE_MID_COLOR, LINE_START_COLOR};
+    private static final int[] PARTICLE_COLORS = {
+        LINE_START_COLOR, LINE_MID_COLOR, Color.parseColor("#FCD34D")
+    };
+    private static final int CONNECTED_COLOR = Color.parseColor("#10B981");
+    private static final int ACTIVE_COLOR = Color.parseColor("#3B82F6");
+    private static final int IDLE_BORDER_COLOR = Color.parseColor("#9CA3AF");
+    private static final int WORD_LABEL_COLOR = Color.parseColor("#E0E7FF");
+    private static final int PARTICLES_PER_BURST = 15;
+    private static final long PARTICLE_LIFE_MS = 800;
+    private static final long PULSE_DURATION_MS = 2000;
+    private static final long TWINKLE_DURATION_MS = 3000;
+
     private Paint dotPaint, linePaint, textPaint, glowPaint, backgroundStarPaint, wordLabelPaint;
+    private Paint lineGlowPaint, borderPaint, particlePaint;
     private List<StarPoint> starPoints;
     private List<Integer> connectedOrder;
     private int currentConnectingIndex = -1;
-    private PointF currentTouchPoint;
+    private float touchX, touchY;
+    private boolean hasTouchPoint;
     private OnConstellationCompleteListener listener;
     private int dotRadius = 50;
     private int glowRadius = 80;
     private boolean isCompleted = false;
     
     // Animation
-    private ValueAnimator pulseAnimator;
+    // Drives both the highlight pulse and the background twinkle
+    private TimeAnimator ambientAnimator;
     private float pulseScale = 1.0f;
     private List<BackgroundStar> backgroundStars;
     private float twinklePhase = 0f;
-    private ValueAnimator twinkleAnimator;
     private Random random = new Random();
     
     // Particle effects
     private List<Particle> particles;
-    private ValueAnimator particleAnimator;
+    private final ArrayDeque<Particle> particlePool = new ArrayDeque<>();
+    private TimeAnimator particleAnimator;
+
+    // Shared unit-radius gradients (centre at 0,0) and the connected line segments
+    private Shader highlightGlowShader, innerGlowShader;
+    private Shader connectedDotShader, activeDotShader, idleDotShader;
+    private LinearGradient dragLineShader;
+    private final Matrix dragLineMatrix = new Matrix();
+    private final List<LinearGradient> segmentShaders = new ArrayList<>();
 
     public interface OnConstellationCompleteListener {
         void onStarConnected(WordData word, int order);
@@ -62,12 +95,14 @@ public class ConstellationView extends View {
         boolean isHighlighted;
         float pulsePhase = 0f;
         float scale = 1.0f;
+        final String orderLabel;
 
         StarPoint(float x, float y, WordData word, int order) {
             this.x = x;
             this.y = y;
             this.word = word;
             this.order = order;
+            this.orderLabel = String.valueOf(order + 1);
             this.isConnected = false;
             this.isHighlighted = false;
         }
@@ -149,16 +184,31 @@ public class ConstellationView extends View {
         wordLabelPaint.setTextAlign(Paint.Align.CENTER);
         wordLabelPaint.setFakeBoldText(true);
 
-        setLayerType(LAYER_TYPE_HARDWARE, null);
+        // Paints for connected lines, their glow, dot borders and particles
+        lineGlowPaint = new Paint(linePaint);
+        lineGlowPaint.setStrokeWidth(16);
+        borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        borderPaint.setStyle(Paint.Style.STROKE);
+        particlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+        highlightGlowShader = unitRadialGradient(Color.parseColor("#8060A5FA"), Color.TRANSPARENT);
+        innerGlowShader = unitRadialGradient(Color.parseColor("#40FFFFFF"), Color.TRANSPARENT);
+        connectedDotShader = unitRadialGradient(CONNECTED_COLOR, Color.parseColor("#059669"));
+        activeDotShader = unitRadialGradient(ACTIVE_COLOR, Color.parseColor("#2563EB"));
+        idleDotShader = unitRadialGradient(Color.parseColor("#6B7280"), Color.parseColor("#4B5563"));
+        dragLineShader = new LinearGradient(0f, 0f, 1f, 0f, LINE_COLORS, null, Shader.TileMode.CLAMP);
+
+        // No hardware layer: the view changes every frame, so the layer would be re-rendered
+        // on each frame on top of the normal draw
         
         // Start animations
-        startPulseAnimation();
-        startTwinkleAnimation();
+        startAmbientAnimation();
     }
 
     public void setWords(List<WordData> words) {
         starPoints.clear();
         connectedOrder.clear();
+        segmentShaders.clear();
         isCompleted = false;
         currentConnectingIndex = -1;
 
@@ -173,6 +223,11 @@ public class ConstellationView extends View {
             starPoints.add(new StarPoint(0, 0, word, i));
         }
 
+        // Already laid out: onSizeChanged won't run again for the same size
+        if (getWidth() > 0 && getHeight() > 0) {
+            layoutStarPoints(getWidth(), getHeight());
+            invalidate();
+        }
         requestLayout();
     }
 
@@ -182,7 +237,11 @@ public class ConstellationView extends View {
         
         // Generate background stars
         generateBackgroundStars(w, h);
-        
+        layoutStarPoints(w, h);
+    }
+
+    private void layoutStarPoints(int w, int h) {
+        segmentShaders.clear();
         if (starPoints.isEmpty()) return;
 
         // Tính toán vị trí các điểm sao theo pattern constellation
@@ -203,6 +262,24 @@ public class ConstellationView extends View {
             point.x = centerX + (float) (radius * Math.cos(angle));
             point.y = centerY + (float) (radius * Math.sin(angle));
         }
+
+        // Dots moved, so lines connected so far need new gradients
+        for (int i = 1; i < connectedOrder.size(); i++) {
+            addSegmentShader(i);
+        }
+    }
+
+    /** Builds the gradient of the line ending at connectedOrder[orderIndex]. */
+    private void addSegmentShader(int orderIndex) {
+        StarPoint from = starPoints.get(connectedOrder.get(orderIndex - 1));
+        StarPoint to = starPoints.get(connectedOrder.get(orderIndex));
+        segmentShaders.add(new LinearGradient(from.x, from.y, to.x, to.y,
+            LINE_COLORS, null, Shader.TileMode.CLAMP));
+    }
+
+    private static Shader unitRadialGradient(int centerColor, int edgeColor) {
+        return new RadialGradient(0f, 0f, 1f, new int[]{centerColor, edgeColor},
+            null, Shader.TileMode.CLAMP);
     }
     
     private void generateBackgroundStars(int width, int height) {
@@ -217,27 +294,41 @@ public class ConstellationView extends View {
         }
     }
     
-    private void startPulseAnimation() {
-        pulseAnimator = ValueAnimator.ofFloat(0.9f, 1.1f);
-        pulseAnimator.setDuration(2000);
-        pulseAnimator.setRepeatCount(ValueAnimator.INFINITE);
-        pulseAnimator.setInterpolator(new AccelerateDecelerateInterpolator());
-        pulseAnimator.addUpdateListener(animation -> {
-            pulseScale = (float) animation.getAnimatedValue();
+    private void startAmbientAnimation() {
+        // A TimeAnimator hands over primitives; ValueAnimator.getAnimatedValue() would box a
+        // Float for the pulse and the twinkle on every frame
+        ambientAnimator = new TimeAnimator();
+        ambientAnimator.setTimeListener((animation, totalTime, deltaTime) -> {
+            // 0.9 -> 1.1 and 0 -> 2pi, restarting, on the curve the value animators used
+            pulseScale = 0.9f + 0.2f * easedFraction(totalTime, PULSE_DURATION_MS);
+            twinklePhase = easedFraction(totalTime, TWINKLE_DURATION_MS) * (float) (Math.PI * 2);
             invalidate();
         });
-        pulseAnimator.start();
+        ambientAnimator.start();
     }
-    
-    private void startTwinkleAnimation() {
-        twinkleAnimator = ValueAnimator.ofFloat(0f, (float) (Math.PI * 2));
-        twinkleAnimator.setDuration(3000);
-        twinkleAnimator.setRepeatCount(ValueAnimator.INFINITE);
-        twinkleAnimator.addUpdateListener(animation -> {
-            twinklePhase = (float) animation.getAnimatedValue();
-            invalidate();
-        });
-        twinkleAnimator.start();
+
+    // AccelerateDecelerateInterpolator applied to the position within the current cycle
+    private static float easedFraction(long totalTime, long durationMs) {
+        float fraction = (totalTime % durationMs) / (float) durationMs;
+        return (float) (Math.cos((fraction + 1) * Math.PI) / 2.0) + 0.5f;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        if (!ambientAnimator.isStarted()) {
+            ambientAnimator.start();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        // The infinite animators would otherwise keep the view alive after the screen closes
+        ambientAnimator.cancel();
+        if (particleAnimator != null) {
+            particleAnimator.cancel();
+        }
     }
 
     public void setOnConstellationCompleteListener(OnConstellationCompleteListener listener) {
@@ -247,28 +338,29 @@ public class ConstellationView extends View {
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        
-        int width = getWidth();
-        int height = getHeight();
 
         // Vẽ background stars
         drawBackgroundStars(canvas);
 
         // Vẽ các đường nối đã kết nối với gradient
-        for (int i = 0; i < connectedOrder.size() - 1; i++) {
-            int fromIndex = connectedOrder.get(i);
-            int toIndex = connectedOrder.get(i + 1);
-            
-            StarPoint from = starPoints.get(fromIndex);
-            StarPoint to = starPoints.get(toIndex);
-            
-            drawGradientLine(canvas, from.x, from.y, to.x, to.y);
+        for (int i = 0; i < segmentShaders.size(); i++) {
+            StarPoint from = starPoints.get(connectedOrder.get(i));
+            StarPoint to = starPoints.get(connectedOrder.get(i + 1));
+            drawGradientLine(canvas, from.x, from.y, to.x, to.y, segmentShaders.get(i));
         }
 
         // Vẽ đường nối đang kéo
-        if (currentConnectingIndex >= 0 && currentTouchPoint != null && !connectedOrder.isEmpty()) {
+        if (currentConnectingIndex >= 0 && hasTouchPoint && !connectedOrder.isEmpty()) {
             StarPoint from = starPoints.get(connectedOrder.get(connectedOrder.size() - 1));
-            drawGradientLine(canvas, from.x, from.y, currentTouchPoint.x, currentTouchPoint.y);
+            // Stretch the unit gradient from the last dot to the finger
+            float dx = touchX - from.x;
+            float dy = touchY - from.y;
+            float length = Math.max(1f, (float) Math.hypot(dx, dy));
+            dragLineMatrix.setSinCos(dy / length, dx / length);
+            dragLineMatrix.preScale(length, length);
+            dragLineMatrix.postTranslate(from.x, from.y);
+            dragLineShader.setLocalMatrix(dragLineMatrix);
+            drawGradientLine(canvas, from.x, from.y, touchX, touchY, dragLineShader);
         }
 
         // Vẽ particles
@@ -282,7 +374,8 @@ public class ConstellationView extends View {
     }
     
     private void drawBackgroundStars(Canvas canvas) {
-        for (BackgroundStar star : backgroundStars) {
+        for (int i = 0, count = backgroundStars.size(); i < count; i++) {
+            BackgroundStar star = backgroundStars.get(i);
             float twinkle = (float) (0.5 + 0.5 * Math.sin(twinklePhase * star.twinkleSpeed + star.twinklePhase));
             int alpha = (int) (star.brightness * twinkle * 200);
             backgroundStarPaint.setAlpha(alpha);
@@ -290,89 +383,56 @@ public class ConstellationView extends View {
         }
     }
     
-    private void drawGradientLine(Canvas canvas, float x1, float y1, float x2, float y2) {
-        // Create gradient line
-        LinearGradient gradient = new LinearGradient(
-            x1, y1, x2, y2,
-            new int[]{Color.parseColor("#60A5FA"), Color.parseColor("#A78BFA"), Color.parseColor("#60A5FA")},
-            null,
-            Shader.TileMode.CLAMP
-        );
-        
-        Paint gradientPaint = new Paint(linePaint);
-        gradientPaint.setShader(gradient);
-        
+    private void drawGradientLine(Canvas canvas, float x1, float y1, float x2, float y2, Shader gradient) {
         // Draw glow
-        Paint glowPaint = new Paint(gradientPaint);
-        glowPaint.setStrokeWidth(16);
-        glowPaint.setAlpha(60);
-        canvas.drawLine(x1, y1, x2, y2, glowPaint);
+        lineGlowPaint.setShader(gradient);
+        lineGlowPaint.setAlpha(60);
+        canvas.drawLine(x1, y1, x2, y2, lineGlowPaint);
         
         // Draw main line
-        canvas.drawLine(x1, y1, x2, y2, gradientPaint);
+        linePaint.setShader(gradient);
+        canvas.drawLine(x1, y1, x2, y2, linePaint);
+    }
+
+    /** Fills a circle with one of the unit-radius gradients, scaled to the circle's radius. */
+    private void fillGradientCircle(Canvas canvas, float cx, float cy, float radius,
+                                    Shader gradient, Paint paint) {
+        paint.setShader(gradient);
+        canvas.save();
+        canvas.translate(cx, cy);
+        canvas.scale(radius, radius);
+        canvas.drawCircle(0f, 0f, 1f, paint);
+        canvas.restore();
+        paint.setShader(null);
     }
     
     private void drawStarPoint(Canvas canvas, StarPoint point, int index) {
         float currentRadius = dotRadius * point.scale * (point.isHighlighted ? pulseScale : 1.0f);
+        boolean inChain = point.isConnected || connectedOrder.contains(index);
         
         // Vẽ outer glow nếu đang highlight
         if (point.isHighlighted) {
-            RadialGradient glowGradient = new RadialGradient(
-                point.x, point.y, glowRadius * 1.5f,
-                new int[]{Color.parseColor("#8060A5FA"), Color.TRANSPARENT},
-                null,
-                Shader.TileMode.CLAMP
-            );
-            glowPaint.setShader(glowGradient);
-            canvas.drawCircle(point.x, point.y, glowRadius * 1.5f, glowPaint);
-            glowPaint.setShader(null);
+            fillGradientCircle(canvas, point.x, point.y, glowRadius * 1.5f, highlightGlowShader, glowPaint);
         }
         
         // Vẽ inner glow
-        if (point.isConnected || connectedOrder.contains(index)) {
-            RadialGradient innerGlow = new RadialGradient(
-                point.x, point.y, currentRadius * 1.2f,
-                new int[]{Color.parseColor("#40FFFFFF"), Color.TRANSPARENT},
-                null,
-                Shader.TileMode.CLAMP
-            );
-            glowPaint.setShader(innerGlow);
-            canvas.drawCircle(point.x, point.y, currentRadius * 1.2f, glowPaint);
-            glowPaint.setShader(null);
+        if (inChain) {
+            fillGradientCircle(canvas, point.x, point.y, currentRadius * 1.2f, innerGlowShader, glowPaint);
         }
 
         // Vẽ dot với gradient
-        RadialGradient dotGradient;
+        Shader dotGradient;
         if (point.isConnected) {
-            dotGradient = new RadialGradient(
-                point.x, point.y, currentRadius,
-                new int[]{Color.parseColor("#10B981"), Color.parseColor("#059669")},
-                null,
-                Shader.TileMode.CLAMP
-            );
-        } else if (connectedOrder.contains(index)) {
-            dotGradient = new RadialGradient(
-                point.x, point.y, currentRadius,
-                new int[]{Color.parseColor("#3B82F6"), Color.parseColor("#2563EB")},
-                null,
-                Shader.TileMode.CLAMP
-            );
+            dotGradient = connectedDotShader;
+        } else if (inChain) {
+            dotGradient = activeDotShader;
         } else {
-            dotGradient = new RadialGradient(
-                point.x, point.y, currentRadius,
-                new int[]{Color.parseColor("#6B7280"), Color.parseColor("#4B5563")},
-                null,
-                Shader.TileMode.CLAMP
-            );
+            dotGradient = idleDotShader;
         }
-        dotPaint.setShader(dotGradient);
-        canvas.drawCircle(point.x, point.y, currentRadius, dotPaint);
-        dotPaint.setShader(null);
+        fillGradientCircle(canvas, point.x, point.y, currentRadius, dotGradient, dotPaint);
 
         // Vẽ border với glow
-        Paint borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        borderPaint.setStyle(Paint.Style.STROKE);
-        if (point.isConnected || connectedOrder.contains(index)) {
+        if (inChain) {
             // Outer glow border (vẽ nhiều lớp để tạo glow effect)
             borderPaint.setColor(Color.WHITE);
             borderPaint.setAlpha(100);
@@ -383,9 +443,8 @@ public class ConstellationView extends View {
             borderPaint.setStrokeWidth(8);
             canvas.drawCircle(point.x, point.y, currentRadius, borderPaint);
         }
-        borderPaint.setColor(point.isConnected ? Color.parseColor("#10B981") : 
-                           connectedOrder.contains(index) ? Color.parseColor("#3B82F6") : 
-                           Color.parseColor("#9CA3AF"));
+        borderPaint.setColor(point.isConnected ? CONNECTED_COLOR :
+                           inChain ? ACTIVE_COLOR : IDLE_BORDER_COLOR);
         borderPaint.setAlpha(255);
         borderPaint.setStrokeWidth(5);
         canvas.drawCircle(point.x, point.y, currentRadius, borderPaint);
@@ -397,59 +456,73 @@ public class ConstellationView extends View {
             canvas.drawText(point.word.emoji, point.x, point.y + 14, textPaint);
             
             // Vẽ từ vựng bên dưới
-            wordLabelPaint.setColor(Color.parseColor("#E0E7FF"));
+            wordLabelPaint.setColor(WORD_LABEL_COLOR);
             canvas.drawText(point.word.english, point.x, point.y + currentRadius + 35, wordLabelPaint);
         } else {
             textPaint.setTextSize(32);
             textPaint.setColor(Color.WHITE);
-            canvas.drawText(String.valueOf(point.order + 1), point.x, point.y + 12, textPaint);
+            canvas.drawText(point.orderLabel, point.x, point.y + 12, textPaint);
         }
     }
     
     private void drawParticles(Canvas canvas) {
-        for (Particle particle : particles) {
-            if (particle.life > 0) {
-                Paint particlePaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-                particlePaint.setColor(particle.color);
-                particlePaint.setAlpha((int) (particle.life * 255));
-                canvas.drawCircle(particle.x, particle.y, particle.size, particlePaint);
-            }
+        for (int i = 0, count = particles.size(); i < count; i++) {
+            Particle particle = particles.get(i);
+            particlePaint.setColor(particle.color);
+            particlePaint.setAlpha((int) (particle.life * 255));
+            canvas.drawCircle(particle.x, particle.y, particle.size, particlePaint);
         }
     }
     
     private void createParticles(float x, float y) {
-        int particleCount = 15;
-        for (int i = 0; i < particleCount; i++) {
-            Particle p = new Particle();
+        for (int i = 0; i < PARTICLES_PER_BURST; i++) {
+            Particle p = particlePool.poll();
+            if (p == null) {
+                p = new Particle();
+            }
             p.x = x;
             p.y = y;
-            float angle = (float) (Math.PI * 2 * i / particleCount);
+            float angle = (float) (Math.PI * 2 * i / PARTICLES_PER_BURST);
             float speed = random.nextFloat() * 8 + 4;
             p.velocityX = (float) (Math.cos(angle) * speed);
             p.velocityY = (float) (Math.sin(angle) * speed);
             p.life = 1.0f;
             p.size = random.nextFloat() * 6 + 3;
-            int[] colors = {Color.parseColor("#60A5FA"), Color.parseColor("#A78BFA"), Color.parseColor("#FCD34D")};
-            p.color = colors[random.nextInt(colors.length)];
+            p.color = PARTICLE_COLORS[random.nextInt(PARTICLE_COLORS.length)];
             particles.add(p);
         }
         
-        if (particleAnimator != null) {
-            particleAnimator.cancel();
+        if (particleAnimator == null) {
+            // Every particle ages on its own clock, so a new burst doesn't restart older ones
+            particleAnimator = new TimeAnimator();
+            particleAnimator.setTimeListener((animation, totalTime, deltaTime) -> {
+                stepParticles(deltaTime / (float) PARTICLE_LIFE_MS);
+                if (particles.isEmpty()) {
+                    animation.end();
+                }
+                invalidate();
+            });
         }
-        
-        particleAnimator = ValueAnimator.ofFloat(0f, 1f);
-        particleAnimator.setDuration(800);
-        particleAnimator.addUpdateListener(animation -> {
-            float progress = (float) animation.getAnimatedValue();
-            for (Particle p : particles) {
-                p.x += p.velocityX * (1 - progress);
-                p.y += p.velocityY * (1 - progress);
-                p.life = 1.0f - progress;
+        if (!particleAnimator.isStarted()) {
+            particleAnimator.start();
+        }
+    }
+
+    private void stepParticles(float elapsedLife) {
+        for (int i = particles.size() - 1; i >= 0; i--) {
+            Particle p = particles.get(i);
+            p.life -= elapsedLife;
+            if (p.life <= 0f) {
+                // Swap-remove; draw order between particles doesn't matter
+                int last = particles.size() - 1;
+                particles.set(i, particles.get(last));
+                particles.remove(last);
+                particlePool.push(p);
+                continue;
             }
-            invalidate();
-        });
-        particleAnimator.start();
+            p.x += p.velocityX * p.life;
+            p.y += p.velocityY * p.life;
+        }
     }
 
     @Override
@@ -504,6 +577,7 @@ public class ConstellationView extends View {
             } else if (!connectedOrder.contains(nearestIndex)) {
                 // Nối từ điểm cuối cùng đến điểm mới
                 connectedOrder.add(nearestIndex);
+                addSegmentShader(connectedOrder.size() - 1);
                 point.isConnected = true;
                 point.isHighlighted = true;
                 currentConnectingIndex = nearestIndex;
@@ -527,24 +601,31 @@ public class ConstellationView extends View {
     }
     
     private void animatePointConnect(StarPoint point) {
-        ValueAnimator scaleAnim = ValueAnimator.ofFloat(1.0f, 1.5f, 1.0f);
+        ValueAnimator scaleAnim = ValueAnimator.ofFloat(0f, 1f);
         scaleAnim.setDuration(400);
         scaleAnim.addUpdateListener(animation -> {
-            point.scale = (float) animation.getAnimatedValue();
+            point.scale = bounce(animation.getAnimatedFraction(), 0.5f);
             invalidate();
         });
         scaleAnim.start();
     }
 
+    // 1 -> 1 + peak -> 1 across the fraction, like ofFloat(1, 1 + peak, 1) without boxing a Float
+    private static float bounce(float fraction, float peak) {
+        return 1f + peak * (1f - Math.abs(2f * fraction - 1f));
+    }
+
     private void handleTouchMove(float x, float y) {
         if (currentConnectingIndex >= 0) {
-            currentTouchPoint = new PointF(x, y);
+            touchX = x;
+            touchY = y;
+            hasTouchPoint = true;
             invalidate();
         }
     }
 
     private void handleTouchUp(float x, float y) {
-        currentTouchPoint = null;
+        hasTouchPoint = false;
         currentConnectingIndex = -1;
         
         // Bỏ highlight tất cả
@@ -585,13 +666,13 @@ public class ConstellationView extends View {
         }
         
         // Celebration animation
-        ValueAnimator celebrationAnim = ValueAnimator.ofFloat(1.0f, 1.3f, 1.0f);
+        ValueAnimator celebrationAnim = ValueAnimator.ofFloat(0f, 1f);
         celebrationAnim.setDuration(600);
         celebrationAnim.setRepeatCount(2);
         celebrationAnim.addUpdateListener(animation -> {
-            float scale = (float) animation.getAnimatedValue();
-            for (StarPoint point : starPoints) {
-                point.scale = scale;
+            float scale = bounce(animation.getAnimatedFraction(), 0.3f);
+            for (int i = 0, count = starPoints.size(); i < count; i++) {
+                starPoints.get(i).scale = scale;
             }
             invalidate();
         });
@@ -606,9 +687,10 @@ public class ConstellationView extends View {
 
     public void reset() {
         connectedOrder.clear();
+        segmentShaders.clear();
         isCompleted = false;
         currentConnectingIndex = -1;
-        currentTouchPoint = null;
+        hasTouchPoint = false;
         
         for (StarPoint point : starPoints) {
             point.isConnected = false;
@@ -1,15 +1,14 @@
 package com.example.engapp.view;
 
-import android.animation.ObjectAnimator;
+import android.animation.TimeAnimator;
 import android.animation.ValueAnimator;
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.DashPathEffect;
-import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.Path;
-import android.graphics.PointF;
 import android.graphics.RadialGradient;
 import android.graphics.RectF;
 import android.graphics.Shader;
@@ -24,6 +23,7 @@ import android.view.animation.DecelerateInterpolator;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 
+import com.example.engapp.manager.PlanetRegistry;
 import com.example.engapp.manager.ProgressionManager;
 import com.example.engapp.model.Planet;
 
@@ -34,9 +34,40 @@ import java.util.Random;
 /**
  * Interactive zoomable/pannable star map view.
  * Displays planets as interactive nodes that can be tapped.
+ *
+ * The twinkle animation redraws every frame, so onDraw allocates nothing: paints, dash
+ * effects and connection paths are built up front, planet shaders are cached on each node
+ * for its position and size, and the nebulae are rendered once into a small bitmap layer.
  */
 public class InteractiveStarMapView extends View {
 
+    private static final int SPACE_COLOR = Color.parseColor("#0A0A1A");
+    private static final int PATH_UNLOCKED_COLOR = Color.parseColor("#80FFFFFF");
+    private static final int PATH_PARTIAL_COLOR = Color.parseColor("#40FFFFFF");
+    private static final int PATH_LOCKED_COLOR = Color.parseColor("#20FFFFFF");
+    private static final int RING_TRACK_COLOR = Color.parseColor("#404040");
+    private static final int LOCATION_COLOR = Color.parseColor("#FFD700");
+    private static final int LOCKED_PLANET_COLOR = Color.parseColor("#2D3748");
+    private static final int LOCKED_NAME_COLOR = Color.parseColor("#888888");
+
+    private static final float[] NEBULA_POSITIONS = {500, 300, 1200, 800, 800, 1500};
+    private static final int[] NEBULA_COLORS = {
+        Color.parseColor("#20FF6B6B"),
+        Color.parseColor("#204ECDC4"),
+        Color.parseColor("#20A855F7")
+    };
+    private static final float NEBULA_RADIUS = 300f;
+    // Nebulae are soft gradients, so a quarter-resolution layer scales up without visible loss
+    private static final float NEBULA_LAYER_SCALE = 0.25f;
+
+    private static final float[] GLOW_RADIUS_FACTORS = {2.5f, 2f, 1.5f};
+    private static final int[] GLOW_ALPHAS = {30, 60, 100};
+
+    private static final long TWINKLE_DURATION_MS = 3000;
+    // Animated dashes repeat every 30 units (20 on, 10 off); one effect per unit of phase
+    private static final float[] UNLOCKED_DASH = {20f, 10f};
+    private static final int UNLOCKED_DASH_PERIOD = 30;
+
     // Map state
     private float scaleFactor = 1.0f;
     private float translateX = 0f;
@@ -58,10 +89,24 @@ public class InteractiveStarMapView extends View {
     private Paint pathPaint;
     private Paint progressPaint;
     private Paint shipTextPaint;
+    private Paint glowPathPaint;
+    private Paint selectPaint;
+    private Paint locationPaint;
+    private Paint overlayPaint;
+    private Paint shadowPaint;
+    private Paint layerPaint;
     private Drawable shipDrawable;
 
+    // Per-frame scratch and caches built outside onDraw
+    private final RectF progressRect = new RectF();
+    private final RectF nebulaBounds = new RectF();
+    private Bitmap nebulaLayer;
+    private final List<Path> connectionPaths = new ArrayList<>();
+    private final DashPathEffect[] unlockedDashes = new DashPathEffect[UNLOCKED_DASH_PERIOD];
+    private DashPathEffect partialDash;
+    private DashPathEffect lockedDash;
+
     // Data
-    private Context context;
     private List<PlanetNode> planetNodes;
     private List<Star> backgroundStars;
     private String currentPlanetId;
@@ -69,7 +114,7 @@ public class InteractiveStarMapView extends View {
 
     // Animation
     private float starTwinklePhase = 0f;
-    private ObjectAnimator twinkleAnimator;
+    private TimeAnimator twinkleAnimator;
     private ValueAnimator shipAnimator;
     private float shipX;
     private float shipY;
@@ -96,6 +141,15 @@ public class InteractiveStarMapView extends View {
         public float orbitPhase;
         public boolean isUnlocked;
         public float unlockProgress;
+        // PlanetRegistry handle for planet.getId(), resolved once when the node is laid out
+        public int planetHandle = PlanetRegistry.NO_PLANET;
+
+        // Shaders for the current x, y and radius; rebuilt only when one of them changes
+        private final Shader[] glowShaders = new Shader[GLOW_RADIUS_FACTORS.length];
+        private Shader bodyShader;
+        private float shaderX, shaderY, shaderRadius = -1f;
+        // "⭐ 12" under a locked planet, built when the unlock state is refreshed
+        private String requirementLabel;
 
         public PlanetNode(Planet planet, float x, float y, float radius, int color) {
             this.planet = planet;
@@ -148,13 +202,17 @@ public class InteractiveStarMapView extends View {
     }
 
     private void init(Context context) {
-        this.context = context;
         planetNodes = new ArrayList<>();
         backgroundStars = new ArrayList<>();
 
         initPaints();
         initGestureDetectors(context);
         generateBackgroundStars();
+        for (int i = 0; i < NEBULA_POSITIONS.length; i += 2) {
+            float x = NEBULA_POSITIONS[i];
+            float y = NEBULA_POSITIONS[i + 1];
+            nebulaBounds.union(x - NEBULA_RADIUS, y - NEBULA_RADIUS, x + NEBULA_RADIUS, y + NEBULA_RADIUS);
+        }
         startTwinkleAnimation();
         shipDrawable = ContextCompat.getDrawable(context, com.example.engapp.R.drawable.ic_rocket);
     }
@@ -188,6 +246,17 @@ public class InteractiveStarMapView extends View {
         pathPaint.setStrokeWidth(3f);
         pathPaint.setPathEffect(new android.graphics.DashPathEffect(new float[]{10, 10}, 0));
 
+        for (int i = 0; i < UNLOCKED_DASH_PERIOD; i++) {
+            unlockedDashes[i] = new DashPathEffect(UNLOCKED_DASH, i);
+        }
+        partialDash = new DashPathEffect(new float[]{15f, 10f}, 0f);
+        lockedDash = new DashPathEffect(new float[]{10f, 10f}, 0f);
+
+        glowPathPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        glowPathPaint.setStyle(Paint.Style.STROKE);
+        glowPathPaint.setColor(Color.parseColor("#20FFFFFF"));
+        glowPathPaint.setStrokeWidth(8f);
+
         progressPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
         progressPaint.setStyle(Paint.Style.STROKE);
         progressPaint.setStrokeWidth(6f);
@@ -198,6 +267,28 @@ public class InteractiveStarMapView extends View {
         shipTextPaint.setTextAlign(Paint.Align.CENTER);
         float shipTextSize = 28f * getResources().getDisplayMetrics().scaledDensity;
         shipTextPaint.setTextSize(shipTextSize);
+
+        selectPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        selectPaint.setColor(Color.WHITE);
+        selectPaint.setStyle(Paint.Style.STROKE);
+        selectPaint.setStrokeWidth(5f);
+        selectPaint.setPathEffect(new DashPathEffect(new float[]{10f, 5f}, 0f));
+
+        locationPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        locationPaint.setStyle(Paint.Style.STROKE);
+
+        overlayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        overlayPaint.setColor(Color.parseColor("#80000000"));
+
+        shadowPaint = new Paint();
+        shadowPaint.setTextSize(22f);
+        shadowPaint.setColor(Color.BLACK);
+        shadowPaint.setAlpha(100);
+        shadowPaint.setStyle(Paint.Style.STROKE);
+        shadowPaint.setStrokeWidth(3f);
+        shadowPaint.setTextAlign(Paint.Align.CENTER);
+
+        layerPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
     }
 
     private void initGestureDetectors(Context context) {
@@ -264,13 +355,36 @@ public class InteractiveStarMapView extends View {
     }
 
     private void startTwinkleAnimation() {
-        twinkleAnimator = ObjectAnimator.ofFloat(this, "starTwinklePhase", 0f, (float)(Math.PI * 2));
-        twinkleAnimator.setDuration(3000);
-        twinkleAnimator.setRepeatCount(ValueAnimator.INFINITE);
-        twinkleAnimator.setRepeatMode(ValueAnimator.RESTART);
+        // A TimeAnimator hands over primitives; an ObjectAnimator would box the phase and
+        // reflect into the setter on every frame
+        twinkleAnimator = new TimeAnimator();
+        twinkleAnimator.setTimeListener((animation, totalTime, deltaTime) -> {
+            float fraction = (totalTime % TWINKLE_DURATION_MS) / (float) TWINKLE_DURATION_MS;
+            // Same accelerate/decelerate curve the property animator used
+            float eased = (float) (Math.cos((fraction + 1) * Math.PI) / 2.0) + 0.5f;
+            setStarTwinklePhase(eased * (float) (Math.PI * 2));
+        });
         twinkleAnimator.start();
     }
 
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        // Nothing to twinkle for while another screen covers the map
+        if (twinkleAnimator == null) {
+            return;
+        }
+        if (visibility == VISIBLE) {
+            if (!twinkleAnimator.isStarted()) {
+                twinkleAnimator.start();
+            } else if (twinkleAnimator.isPaused()) {
+                twinkleAnimator.resume();
+            }
+        } else if (twinkleAnimator.isRunning()) {
+            twinkleAnimator.pause();
+        }
+    }
+
     public void setStarTwinklePhase(float phase) {
         this.starTwinklePhase = phase;
         invalidate();
@@ -292,7 +406,7 @@ public class InteractiveStarMapView extends View {
         super.onDraw(canvas);
 
         // Draw space background
-        canvas.drawColor(Color.parseColor("#0A0A1A"));
+        canvas.drawColor(SPACE_COLOR);
 
         canvas.save();
         canvas.translate(translateX, translateY);
@@ -315,7 +429,19 @@ public class InteractiveStarMapView extends View {
     }
 
     private void drawBackgroundStars(Canvas canvas) {
-        for (Star star : backgroundStars) {
+        // Visible part of the map; stars outside it are skipped
+        float left = -translateX / scaleFactor;
+        float top = -translateY / scaleFactor;
+        float right = left + getWidth() / scaleFactor;
+        float bottom = top + getHeight() / scaleFactor;
+
+        // Indexed loops here and below: a for-each would allocate an iterator every frame
+        for (int i = 0, count = backgroundStars.size(); i < count; i++) {
+            Star star = backgroundStars.get(i);
+            if (star.x + star.size < left || star.x - star.size > right
+                    || star.y + star.size < top || star.y - star.size > bottom) {
+                continue;
+            }
             float twinkle = (float) Math.sin(starTwinklePhase * star.twinkleSpeed + star.twinklePhase);
             float alpha = star.brightness * (0.7f + 0.3f * twinkle);
 
@@ -325,28 +451,36 @@ public class InteractiveStarMapView extends View {
     }
 
     private void drawNebulae(Canvas canvas) {
-        // Draw some nebula clouds for atmosphere
-        float[] nebulaPositions = {500, 300, 1200, 800, 800, 1500};
-        int[] nebulaColors = {
-            Color.parseColor("#20FF6B6B"),
-            Color.parseColor("#204ECDC4"),
-            Color.parseColor("#20A855F7")
-        };
+        // Draw some nebula clouds for atmosphere, from the layer rendered once
+        if (nebulaLayer == null) {
+            nebulaLayer = renderNebulaLayer();
+        }
+        canvas.drawBitmap(nebulaLayer, null, nebulaBounds, layerPaint);
+    }
 
-        for (int i = 0; i < nebulaPositions.length; i += 2) {
-            float x = nebulaPositions[i];
-            float y = nebulaPositions[i + 1];
-            int color = nebulaColors[i / 2];
+    private Bitmap renderNebulaLayer() {
+        int width = (int) Math.ceil(nebulaBounds.width() * NEBULA_LAYER_SCALE);
+        int height = (int) Math.ceil(nebulaBounds.height() * NEBULA_LAYER_SCALE);
+        Bitmap layer = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Canvas layerCanvas = new Canvas(layer);
+        layerCanvas.scale(NEBULA_LAYER_SCALE, NEBULA_LAYER_SCALE);
+        layerCanvas.translate(-nebulaBounds.left, -nebulaBounds.top);
+
+        for (int i = 0; i < NEBULA_POSITIONS.length; i += 2) {
+            float x = NEBULA_POSITIONS[i];
+            float y = NEBULA_POSITIONS[i + 1];
+            int color = NEBULA_COLORS[i / 2];
 
             RadialGradient gradient = new RadialGradient(
-                x, y, 300,
+                x, y, NEBULA_RADIUS,
                 color, Color.TRANSPARENT,
                 Shader.TileMode.CLAMP
             );
             nebulaPaint.setShader(gradient);
-            canvas.drawCircle(x, y, 300, nebulaPaint);
+            layerCanvas.drawCircle(x, y, NEBULA_RADIUS, nebulaPaint);
         }
         nebulaPaint.setShader(null);
+        return layer;
     }
 
     private void drawPlanetPaths(Canvas canvas) {
@@ -356,50 +490,56 @@ public class InteractiveStarMapView extends View {
             PlanetNode next = planetNodes.get(i + 1);
 
             if (current.isUnlocked || next.isUnlocked) {
-                Path path = new Path();
-                path.moveTo(current.x, current.y);
-
-                // Create smooth curved path (bezier)
-                float midX = (current.x + next.x) / 2;
-                float midY = (current.y + next.y) / 2 - 80;
-                path.quadTo(midX, midY, next.x, next.y);
+                // Smooth curved path (bezier), built once in rebuildConnectionPaths()
+                Path path = connectionPaths.get(i);
 
                 // Enhanced path styling
                 if (next.isUnlocked && current.isUnlocked) {
                     // Fully unlocked path - bright and animated
-                    pathPaint.setColor(Color.parseColor("#80FFFFFF"));
+                    pathPaint.setColor(PATH_UNLOCKED_COLOR);
                     pathPaint.setStrokeWidth(4f);
-                    pathPaint.setPathEffect(new DashPathEffect(new float[]{20f, 10f}, 
-                        starTwinklePhase * 50f)); // Animated dashes
+                    int dashPhase = (int) (starTwinklePhase * 50f) % UNLOCKED_DASH_PERIOD;
+                    pathPaint.setPathEffect(unlockedDashes[dashPhase]); // Animated dashes
                 } else if (current.isUnlocked) {
                     // Partially unlocked - dimmer
-                    pathPaint.setColor(Color.parseColor("#40FFFFFF"));
+                    pathPaint.setColor(PATH_PARTIAL_COLOR);
                     pathPaint.setStrokeWidth(3f);
-                    pathPaint.setPathEffect(new DashPathEffect(new float[]{15f, 10f}, 0f));
+                    pathPaint.setPathEffect(partialDash);
                 } else {
                     // Both locked - very dim
-                    pathPaint.setColor(Color.parseColor("#20FFFFFF"));
+                    pathPaint.setColor(PATH_LOCKED_COLOR);
                     pathPaint.setStrokeWidth(2f);
-                    pathPaint.setPathEffect(new DashPathEffect(new float[]{10f, 10f}, 0f));
+                    pathPaint.setPathEffect(lockedDash);
                 }
                 
                 canvas.drawPath(path, pathPaint);
                 
                 // Draw glow effect for unlocked paths
                 if (next.isUnlocked && current.isUnlocked) {
-                    Paint glowPathPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-                    glowPathPaint.setStyle(Paint.Style.STROKE);
-                    glowPathPaint.setColor(Color.parseColor("#20FFFFFF"));
-                    glowPathPaint.setStrokeWidth(8f);
                     canvas.drawPath(path, glowPathPaint);
                 }
             }
         }
     }
 
+    private void rebuildConnectionPaths() {
+        connectionPaths.clear();
+        for (int i = 0; i < planetNodes.size() - 1; i++) {
+            PlanetNode current = planetNodes.get(i);
+            PlanetNode next = planetNodes.get(i + 1);
+
+            Path path = new Path();
+            path.moveTo(current.x, current.y);
+            float midX = (current.x + next.x) / 2;
+            float midY = (current.y + next.y) / 2 - 80;
+            path.quadTo(midX, midY, next.x, next.y);
+            connectionPaths.add(path);
+        }
+    }
+
     private void drawPlanets(Canvas canvas) {
-        for (PlanetNode node : planetNodes) {
-            drawPlanet(canvas, node);
+        for (int i = 0, count = planetNodes.size(); i < count; i++) {
+            drawPlanet(canvas, planetNodes.get(i));
         }
     }
 
@@ -409,27 +549,22 @@ public class InteractiveStarMapView extends View {
         float radius = node.radius;
         boolean isCurrent = node.planet.getId().equals(currentPlanetId);
         boolean isSelected = selectedPlanet == node;
+        float pulseScale = 1.0f;
         
         // Enhanced glow for unlocked planets
         if (node.isUnlocked) {
+            ensureShaders(node);
+
             // Multi-layer glow effect
-            float[] glowRadii = {radius * 2.5f, radius * 2f, radius * 1.5f};
-            int[] glowAlphas = {30, 60, 100};
-            
-            for (int i = 0; i < glowRadii.length; i++) {
-                RadialGradient glowGradient = new RadialGradient(
-                    x, y, glowRadii[i],
-                    adjustAlpha(node.glowColor, glowAlphas[i]), Color.TRANSPARENT,
-                    Shader.TileMode.CLAMP
-                );
-                planetGlowPaint.setShader(glowGradient);
-                canvas.drawCircle(x, y, glowRadii[i], planetGlowPaint);
+            for (int i = 0; i < GLOW_RADIUS_FACTORS.length; i++) {
+                planetGlowPaint.setShader(node.glowShaders[i]);
+                canvas.drawCircle(x, y, radius * GLOW_RADIUS_FACTORS[i], planetGlowPaint);
             }
             planetGlowPaint.setShader(null);
             
             // Pulse effect for current planet
             if (isCurrent) {
-                float pulseScale = 1.0f + (float)(Math.sin(starTwinklePhase * 2) * 0.1f);
+                pulseScale = 1.0f + (float)(Math.sin(starTwinklePhase * 2) * 0.1f);
                 radius *= pulseScale;
             }
         }
@@ -437,13 +572,13 @@ public class InteractiveStarMapView extends View {
         // Draw progress ring for locked planets (outside planet)
         if (!node.isUnlocked && node.unlockProgress > 0) {
             float ringRadius = radius + 12f;
-            RectF progressRect = new RectF(
+            progressRect.set(
                 x - ringRadius, y - ringRadius,
                 x + ringRadius, y + ringRadius
             );
             
             // Background ring (grey)
-            progressPaint.setColor(Color.parseColor("#404040"));
+            progressPaint.setColor(RING_TRACK_COLOR);
             progressPaint.setStrokeWidth(6f);
             progressPaint.setStyle(Paint.Style.STROKE);
             canvas.drawArc(progressRect, -90, 360, false, progressPaint);
@@ -464,33 +599,29 @@ public class InteractiveStarMapView extends View {
 
         // Draw planet base
         if (node.isUnlocked) {
-            // Enhanced gradient for 3D effect
-            RadialGradient planetGradient = new RadialGradient(
-                x - radius * 0.3f, y - radius * 0.3f, radius * 1.5f,
-                lightenColor(node.baseColor), darkenColor(node.baseColor),
-                Shader.TileMode.CLAMP
-            );
-            planetPaint.setShader(planetGradient);
+            // Enhanced gradient for 3D effect. The cached shader is laid out for the resting
+            // radius, so the pulse scales the canvas around the centre instead
+            planetPaint.setShader(node.bodyShader);
             planetPaint.setColor(node.baseColor);
-            canvas.drawCircle(x, y, radius, planetPaint);
+            if (pulseScale != 1.0f) {
+                canvas.save();
+                canvas.scale(pulseScale, pulseScale, x, y);
+                canvas.drawCircle(x, y, node.radius, planetPaint);
+                canvas.restore();
+            } else {
+                canvas.drawCircle(x, y, radius, planetPaint);
+            }
             planetPaint.setShader(null);
 
             // Draw selection ring if selected (enhanced)
             if (isSelected) {
-                Paint selectPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-                selectPaint.setColor(Color.WHITE);
-                selectPaint.setStyle(Paint.Style.STROKE);
-                selectPaint.setStrokeWidth(5f);
-                selectPaint.setPathEffect(new DashPathEffect(new float[]{10f, 5f}, 0f));
                 canvas.drawCircle(x, y, radius + 12, selectPaint);
             }
 
             // Draw current location indicator (enhanced)
             if (isCurrent) {
                 // Gold ring with pulse
-                Paint locationPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-                locationPaint.setColor(Color.parseColor("#FFD700"));
-                locationPaint.setStyle(Paint.Style.STROKE);
+                locationPaint.setColor(LOCATION_COLOR);
                 locationPaint.setStrokeWidth(4f);
                 float pulseRadius = radius + 18 + (float)(Math.sin(starTwinklePhase * 2) * 3);
                 canvas.drawCircle(x, y, pulseRadius, locationPaint);
@@ -502,13 +633,11 @@ public class InteractiveStarMapView extends View {
             }
         } else {
             // Draw locked planet (enhanced greyed out)
-            lockedPaint.setColor(Color.parseColor("#2D3748"));
+            lockedPaint.setColor(LOCKED_PLANET_COLOR);
             lockedPaint.setAlpha(180);
             canvas.drawCircle(x, y, radius, lockedPaint);
             
             // Dark overlay
-            Paint overlayPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-            overlayPaint.setColor(Color.parseColor("#80000000"));
             canvas.drawCircle(x, y, radius, overlayPaint);
 
             // Draw lock icon (larger, more visible)
@@ -529,50 +658,57 @@ public class InteractiveStarMapView extends View {
         // Draw planet name with better styling
         textPaint.setTextSize(22f);
         textPaint.setFakeBoldText(true);
-        textPaint.setColor(node.isUnlocked ? Color.WHITE : Color.parseColor("#888888"));
+        textPaint.setColor(node.isUnlocked ? Color.WHITE : LOCKED_NAME_COLOR);
         textPaint.setAlpha(node.isUnlocked ? 255 : 150);
         
         // Name with shadow for readability
-        Paint shadowPaint = new Paint();
-        shadowPaint.setTextSize(22f);
-        shadowPaint.setColor(Color.BLACK);
-        shadowPaint.setAlpha(100);
-        shadowPaint.setStyle(Paint.Style.STROKE);
-        shadowPaint.setStrokeWidth(3f);
-        shadowPaint.setTextAlign(Paint.Align.CENTER);
         canvas.drawText(node.planet.getName(), x, y + radius + 35, shadowPaint);
         canvas.drawText(node.planet.getName(), x, y + radius + 35, textPaint);
         
         // Draw unlock requirement for locked planets
         if (!node.isUnlocked) {
             textPaint.setTextSize(18f);
-            textPaint.setColor(Color.parseColor("#FFD700"));
+            textPaint.setColor(LOCATION_COLOR);
             textPaint.setAlpha(255);
             textPaint.setFakeBoldText(false);
             
-            // Get stars needed
-            int starsNeeded = getStarsNeededForPlanet(node.planet);
-            if (starsNeeded > 0) {
-                String requirement = "⭐ " + starsNeeded;
-                canvas.drawText(requirement, x, y + radius + 60, textPaint);
+            if (node.requirementLabel != null) {
+                canvas.drawText(node.requirementLabel, x, y + radius + 60, textPaint);
             }
         }
     }
+
+    /** Builds the glow and body shaders for the node's current position and size. */
+    private void ensureShaders(PlanetNode node) {
+        if (node.bodyShader != null && node.shaderX == node.x && node.shaderY == node.y
+                && node.shaderRadius == node.radius) {
+            return;
+        }
+        float x = node.x;
+        float y = node.y;
+        float radius = node.radius;
+        for (int i = 0; i < GLOW_RADIUS_FACTORS.length; i++) {
+            node.glowShaders[i] = new RadialGradient(
+                x, y, radius * GLOW_RADIUS_FACTORS[i],
+                adjustAlpha(node.glowColor, GLOW_ALPHAS[i]), Color.TRANSPARENT,
+                Shader.TileMode.CLAMP
+            );
+        }
+        node.bodyShader = new RadialGradient(
+            x - radius * 0.3f, y - radius * 0.3f, radius * 1.5f,
+            lightenColor(node.baseColor), darkenColor(node.baseColor),
+            Shader.TileMode.CLAMP
+        );
+        node.shaderX = x;
+        node.shaderY = y;
+        node.shaderRadius = radius;
+    }
     
     private int adjustAlpha(int color, int alpha) {
         return Color.argb(alpha, Color.red(color), Color.green(color), Color.blue(color));
     }
     
     
-    private int getStarsNeededForPlanet(Planet planet) {
-        // Use ProgressionManager to get the actual stars required
-        if (context != null && planet != null) {
-            ProgressionManager progressionManager = ProgressionManager.getInstance(context);
-            return progressionManager.getStarsRequiredForPlanet(planet.getId());
-        }
-        return 15; // Default stars needed (updated from 20 to 15)
-    }
-
     private void handleTap(float screenX, float screenY) {
         // Convert screen coordinates to map coordinates
         float mapX = (screenX - translateX) / scaleFactor;
@@ -663,11 +799,12 @@ public class InteractiveStarMapView extends View {
             int color = planetColors[i % planetColors.length];
 
             PlanetNode node = new PlanetNode(planet, x, y, radius, color);
-            node.isUnlocked = progressionManager.isPlanetUnlocked(planet.getId());
-            node.unlockProgress = progressionManager.getPlanetUnlockProgress(planet.getId());
+            node.planetHandle = progressionManager.getPlanetHandle(planet.getId());
+            updateUnlockState(node, progressionManager);
 
             planetNodes.add(node);
         }
+        rebuildConnectionPaths();
 
         if (currentPlanetId != null) {
             PlanetNode currentNode = findNodeById(currentPlanetId);
@@ -797,13 +934,22 @@ public class InteractiveStarMapView extends View {
         ProgressionManager progressionManager = ProgressionManager.getInstance(context);
 
         for (PlanetNode node : planetNodes) {
-            node.isUnlocked = progressionManager.isPlanetUnlocked(node.planet.getId());
-            node.unlockProgress = progressionManager.getPlanetUnlockProgress(node.planet.getId());
+            updateUnlockState(node, progressionManager);
         }
 
         invalidate();
     }
 
+    private static void updateUnlockState(PlanetNode node, ProgressionManager progressionManager) {
+        node.isUnlocked = node.planetHandle != PlanetRegistry.NO_PLANET
+            ? progressionManager.isPlanetUnlocked(node.planetHandle)
+            : progressionManager.isPlanetUnlocked(node.planet.getId());
+        node.unlockProgress = progressionManager.getPlanetUnlockProgress(node.planet.getId());
+        // Stars needed to unlock
+        int starsNeeded = progressionManager.getStarsRequiredForPlanet(node.planet.getId());
+        node.requirementLabel = starsNeeded > 0 ? "⭐ " + starsNeeded : null;
+    }
+
     private void drawSpaceship(Canvas canvas) {
         if (!hasShipPosition) {
             return;
@@ -862,6 +1008,11 @@ public class InteractiveStarMapView extends View {
         if (shipAnimator != null) {
             shipAnimator.cancel();
         }
+        if (nebulaLayer != null) {
+            // Rendered again on the next draw if the view comes back
+            nebulaLayer.recycle();
+            nebulaLayer = null;
+        }
     }
 }
 
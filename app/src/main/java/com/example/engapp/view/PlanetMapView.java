@@ -16,6 +16,7 @@ import android.view.animation.DecelerateInterpolator;
 import androidx.core.content.ContextCompat;
 import com.example.engapp.database.GameDatabaseHelper;
 import com.example.engapp.database.GameDatabaseHelper.PlanetData;
+import com.example.engapp.manager.PlanetRegistry;
 import com.example.engapp.manager.ProgressionManager;
 import com.example.engapp.manager.TravelManager;
 import java.util.ArrayList;
@@ -96,13 +97,15 @@ public class PlanetMapView extends View {
         int posIndex = 0;
         for (PlanetData planet : planets) {
             if (posIndex < positions.length) {
-                planet.isUnlocked = progressionManager.isPlanetUnlocked(planet.planetKey);
-                planetNodes.add(new PlanetNode(
+                PlanetNode node = new PlanetNode(
                     planet,
+                    progressionManager.getPlanetHandle(planet.planetKey),
                     positions[posIndex][0],
                     positions[posIndex][1],
                     colors[posIndex % colors.length]
-                ));
+                );
+                planet.isUnlocked = node.isUnlocked(progressionManager);
+                planetNodes.add(node);
                 posIndex++;
             }
         }
@@ -169,14 +172,14 @@ public class PlanetMapView extends View {
         }
 
         // Draw planets
+        ProgressionManager progressionManager = ProgressionManager.getInstance(getContext());
         for (int i = 0; i < planetNodes.size(); i++) {
             PlanetNode node = planetNodes.get(i);
             float x = node.x * width;
             float y = node.y * height;
             float radius = 90;
 
-            ProgressionManager progressionManager = ProgressionManager.getInstance(getContext());
-            boolean isUnlocked = progressionManager.isPlanetUnlocked(node.planet.planetKey);
+            boolean isUnlocked = node.isUnlocked(progressionManager);
 
             // Draw planet circle with gradient effect
             if (isUnlocked) {
@@ -283,7 +286,7 @@ public class PlanetMapView extends View {
                 );
 
                 if (distance <= 90) {
-                    if (!progressionManager.isPlanetUnlocked(node.planet.planetKey)) {
+                    if (!node.isUnlocked(progressionManager)) {
                         return true;
                     }
                     // Animate ship to this planet
@@ -358,15 +361,23 @@ public class PlanetMapView extends View {
 
     private static class PlanetNode {
         PlanetData planet;
+        int handle; // PlanetRegistry handle, looked up once when the galaxy loads
         float x, y; // Position as ratio (0-1)
         int color;
 
-        PlanetNode(PlanetData planet, float x, float y, int color) {
+        PlanetNode(PlanetData planet, int handle, float x, float y, int color) {
             this.planet = planet;
+            this.handle = handle;
             this.x = x;
             this.y = y;
             this.color = color;
         }
+
+        boolean isUnlocked(ProgressionManager progressionManager) {
+            return handle != PlanetRegistry.NO_PLANET
+                ? progressionManager.isPlanetUnlocked(handle)
+                : progressionManager.isPlanetUnlocked(planet.planetKey);
+        }
     }
 
     private float[][] buildPlanetPositions(int count) {
@@ -0,0 +1,215 @@
+package com.example.engapp.view;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.util.AttributeSet;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.View;
+
+import androidx.core.content.ContextCompat;
+
+import com.example.engapp.R;
+
+import java.util.Random;
+
+/**
+ * Play field for the falling-star reflex game.
+ *
+ * All stars are drawn by this one view from a single pre-rendered star bitmap, so spawning
+ * or catching a star never adds a view or triggers a layout pass. Star state lives in flat
+ * arrays sized for MAX_STARS: the first activeCount slots are live, a removed star is
+ * swapped with the last live one, and hit testing walks the same arrays.
+ *
+ * Movement and spawning are stepped from a Choreographer frame callback while a round is
+ * running; the spawn rate can be raised well past one star per frame interval without
+ * allocating anything.
+ */
+public class StarCatchView extends View {
+
+    public interface OnStarCaughtListener {
+        void onStarCaught();
+    }
+
+    private static final int MAX_STARS = 128;
+    private static final int STAR_SIZE_DP = 36;
+    private static final long DEFAULT_SPAWN_INTERVAL_MS = 700;
+    private static final int MIN_FALL_MS = 2000;
+    private static final int FALL_MS_RANGE = 1200;
+    // Don't let a long pause (e.g. the app going to the background) turn into a huge jump
+    private static final long MAX_FRAME_STEP_MS = 100;
+
+    private final float[] starX = new float[MAX_STARS];
+    private final float[] starY = new float[MAX_STARS];
+    private final float[] starSpeed = new float[MAX_STARS]; // px per ms
+    private int activeCount;
+
+    private final Random random = new Random();
+    private final Paint bitmapPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    private Bitmap starBitmap;
+    private int starSize;
+
+    private OnStarCaughtListener listener;
+    private boolean running;
+    private long spawnIntervalMs = DEFAULT_SPAWN_INTERVAL_MS;
+    private float sinceSpawnMs;
+    private long lastFrameNanos;
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!running) {
+                return;
+            }
+            // Fractional: truncating a 16.7 ms frame to 16 ms ran the stars about 4% slow
+            float elapsedMs = lastFrameNanos == 0
+                ? 0f : Math.min(MAX_FRAME_STEP_MS, (frameTimeNanos - lastFrameNanos) / 1_000_000f);
+            lastFrameNanos = frameTimeNanos;
+            step(elapsedMs);
+            invalidate();
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    };
+
+    public StarCatchView(Context context) {
+        super(context);
+        init();
+    }
+
+    public StarCatchView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+        init();
+    }
+
+    public StarCatchView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        init();
+    }
+
+    private void init() {
+        starSize = Math.round(STAR_SIZE_DP * getResources().getDisplayMetrics().density);
+
+        // Rasterize the vector once; every star is a blit of this bitmap
+        Drawable drawable = ContextCompat.getDrawable(getContext(), R.drawable.ic_star);
+        starBitmap = Bitmap.createBitmap(starSize, starSize, Bitmap.Config.ARGB_8888);
+        if (drawable != null) {
+            drawable.setBounds(0, 0, starSize, starSize);
+            drawable.draw(new Canvas(starBitmap));
+        }
+    }
+
+    public void setOnStarCaughtListener(OnStarCaughtListener listener) {
+        this.listener = listener;
+    }
+
+    /** Time between two spawns; lower it for harder rounds. */
+    public void setSpawnIntervalMs(long spawnIntervalMs) {
+        this.spawnIntervalMs = Math.max(1, spawnIntervalMs);
+    }
+
+    /** Starts spawning right away; stars already on the field keep falling. */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        lastFrameNanos = 0;
+        // Same as the old spawner: the first star drops as soon as the round starts
+        sinceSpawnMs = spawnIntervalMs;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+
+    /** Freezes the field; stars stay where they are until clear() or start(). */
+    public void stop() {
+        running = false;
+        Choreographer.getInstance().removeFrameCallback(frameCallback);
+    }
+
+    public void clear() {
+        activeCount = 0;
+        invalidate();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void step(float elapsedMs) {
+        float bottom = getHeight();
+        for (int i = activeCount - 1; i >= 0; i--) {
+            starY[i] += starSpeed[i] * elapsedMs;
+            if (starY[i] >= bottom) {
+                remove(i);
+            }
+        }
+
+        sinceSpawnMs += elapsedMs;
+        while (sinceSpawnMs >= spawnIntervalMs) {
+            sinceSpawnMs -= spawnIntervalMs;
+            spawn();
+        }
+    }
+
+    private void spawn() {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= starSize || height <= starSize || activeCount == MAX_STARS) {
+            return;
+        }
+        int i = activeCount++;
+        starX[i] = random.nextInt(width - starSize);
+        starY[i] = -starSize;
+        // Covers the same distance as before (from above the top edge to below the bottom)
+        int fallMs = MIN_FALL_MS + random.nextInt(FALL_MS_RANGE);
+        starSpeed[i] = (height + starSize) / (float) fallMs;
+    }
+
+    private void remove(int i) {
+        int last = --activeCount;
+        starX[i] = starX[last];
+        starY[i] = starY[last];
+        starSpeed[i] = starSpeed[last];
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        for (int i = 0; i < activeCount; i++) {
+            canvas.drawBitmap(starBitmap, starX[i], starY[i], bitmapPaint);
+        }
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        if (event.getActionMasked() != MotionEvent.ACTION_DOWN) {
+            return running;
+        }
+        if (!running) {
+            return false;
+        }
+        float x = event.getX();
+        float y = event.getY();
+        // Later slots are drawn on top, so test them first
+        for (int i = activeCount - 1; i >= 0; i--) {
+            if (x >= starX[i] && x < starX[i] + starSize
+                    && y >= starY[i] && y < starY[i] + starSize) {
+                remove(i);
+                invalidate();
+                if (listener != null) {
+                    listener.onStarCaught();
+                }
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        stop();
+    }
+}
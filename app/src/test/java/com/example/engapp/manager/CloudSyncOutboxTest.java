@@ -0,0 +1,366 @@
+package com.example.engapp.manager;
+
+import android.content.SharedPreferences;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs CloudSyncOutbox on a fake clock and backend: coalescing, backoff, pausing and what
+ * survives a restart.
+ */
+public class CloudSyncOutboxTest {
+
+    private FakePrefs prefs;
+    private FakeScheduler scheduler;
+    private FakeBackend backend;
+    private CloudSyncOutbox outbox;
+
+    @Before
+    public void setUp() {
+        prefs = new FakePrefs();
+        scheduler = new FakeScheduler();
+        backend = new FakeBackend();
+        outbox = new CloudSyncOutbox(prefs, backend, scheduler);
+        outbox.resume();
+    }
+
+    @Test
+    public void burstOfChanges_coalescesIntoOneCommit() {
+        outbox.setTotalStars(10);
+        outbox.addPlanets(Arrays.asList("coloria_prime"));
+        outbox.setTotalStars(12);
+        outbox.addPlanets(Arrays.asList("toytopia_orbit"));
+
+        scheduler.advance(CloudSyncOutbox.COALESCE_WINDOW_MS - 1);
+        assertEquals(0, backend.commits.size());
+
+        scheduler.advance(1);
+        assertEquals(1, backend.commits.size());
+        Commit commit = backend.commits.get(0);
+        assertEquals(12, commit.totalStars);
+        assertEquals(Arrays.asList("coloria_prime", "toytopia_orbit"), commit.addedPlanets);
+
+        commit.onSuccess.run();
+        assertFalse(outbox.hasPending());
+    }
+
+    @Test
+    public void failedCommit_retriesWithExponentialBackoff() {
+        outbox.setTotalStars(5);
+        scheduler.advance(CloudSyncOutbox.COALESCE_WINDOW_MS);
+        backend.commits.get(0).onFailure.run();
+
+        long firstBackoff = CloudSyncOutbox.backoffMillis(1);
+        scheduler.advance(firstBackoff - 1);
+        assertEquals(1, backend.commits.size());
+        scheduler.advance(1);
+        assertEquals(2, backend.commits.size());
+
+        backend.commits.get(1).onFailure.run();
+        long secondBackoff = CloudSyncOutbox.backoffMillis(2);
+        assertEquals(firstBackoff * 2, secondBackoff);
+        scheduler.advance(secondBackoff - 1);
+        assertEquals(2, backend.commits.size());
+        scheduler.advance(1);
+        assertEquals(3, backend.commits.size());
+
+        backend.commits.get(2).onSuccess.run();
+        assertFalse(outbox.hasPending());
+    }
+
+    @Test
+    public void backoff_isCapped() {
+        assertEquals(CloudSyncOutbox.MAX_BACKOFF_MS, CloudSyncOutbox.backoffMillis(30));
+    }
+
+    @Test
+    public void changesDuringCommit_stayQueuedForTheNextOne() {
+        outbox.setTotalStars(5);
+        scheduler.advance(CloudSyncOutbox.COALESCE_WINDOW_MS);
+        outbox.setTotalStars(8);
+        backend.commits.get(0).onSuccess.run();
+
+        assertTrue(outbox.hasPending());
+        scheduler.advance(CloudSyncOutbox.COALESCE_WINDOW_MS);
+        assertEquals(2, backend.commits.size());
+        assertEquals(8, backend.commits.get(1).totalStars);
+    }
+
+    @Test
+    public void paused_holdsChangesUntilResumed() {
+        outbox.pause();
+        outbox.setTotalStars(3);
+        scheduler.advance(CloudSyncOutbox.MAX_BACKOFF_MS);
+        assertEquals(0, backend.commits.size());
+
+        outbox.resume();
+        scheduler.advance(0);
+        assertEquals(1, backend.commits.size());
+    }
+
+    @Test
+    public void noUser_keepsChangesPending() {
+        backend.canCommit = false;
+        outbox.setTotalStars(3);
+        scheduler.advance(CloudSyncOutbox.COALESCE_WINDOW_MS);
+        assertEquals(0, backend.commits.size());
+        assertTrue(outbox.hasPending());
+    }
+
+    @Test
+    public void pendingChanges_surviveRestart() {
+        outbox.setTotalStars(20);
+        outbox.addPlanets(Arrays.asList("animania_wild"));
+
+        CloudSyncOutbox restarted = new CloudSyncOutbox(prefs, backend, scheduler);
+        assertTrue(restarted.hasPending());
+        restarted.resume();
+        scheduler.advance(0);
+
+        Commit commit = backend.commits.get(0);
+        assertEquals(20, commit.totalStars);
+        assertEquals(Arrays.asList("animania_wild"), commit.addedPlanets);
+    }
+
+    private static final class Commit {
+        final int totalStars;
+        final List<String> addedPlanets;
+        final Runnable onSuccess;
+        final Runnable onFailure;
+
+        Commit(int totalStars, List<String> addedPlanets, Runnable onSuccess, Runnable onFailure) {
+            this.totalStars = totalStars;
+            this.addedPlanets = addedPlanets;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+    }
+
+    private static final class FakeBackend implements CloudSyncOutbox.Backend {
+        final List<Commit> commits = new ArrayList<>();
+        boolean canCommit = true;
+
+        @Override
+        public boolean canCommit() {
+            return canCommit;
+        }
+
+        @Override
+        public void commit(int totalStars, List<String> addedPlanets,
+                           Runnable onSuccess, Runnable onFailure) {
+            commits.add(new Commit(totalStars, addedPlanets, onSuccess, onFailure));
+        }
+    }
+
+    // Single-threaded clock; tasks run only when advance() moves past their due time
+    private static final class FakeScheduler implements CloudSyncOutbox.Scheduler {
+        private static final class Task {
+            final Runnable runnable;
+            final long dueAt;
+
+            Task(Runnable runnable, long dueAt) {
+                this.runnable = runnable;
+                this.dueAt = dueAt;
+            }
+        }
+
+        private final List<Task> tasks = new ArrayList<>();
+        private long now;
+
+        void advance(long millis) {
+            long target = now + millis;
+            Task next;
+            while ((next = nextDue(target)) != null) {
+                tasks.remove(next);
+                now = next.dueAt;
+                next.runnable.run();
+            }
+            now = target;
+        }
+
+        private Task nextDue(long target) {
+            Task next = null;
+            for (Task task : tasks) {
+                if (task.dueAt <= target && (next == null || task.dueAt < next.dueAt)) {
+                    next = task;
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public boolean isCurrentThread() {
+            return true;
+        }
+
+        @Override
+        public void post(Runnable task) {
+            postDelayed(task, 0);
+        }
+
+        @Override
+        public void postDelayed(Runnable task, long delayMs) {
+            tasks.add(new Task(task, now + delayMs));
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            for (Iterator<Task> it = tasks.iterator(); it.hasNext(); ) {
+                if (it.next().runnable == task) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static final class FakePrefs implements SharedPreferences {
+        private final Map<String, Object> values = new HashMap<>();
+
+        @Override
+        public Map<String, ?> getAll() {
+            return new HashMap<>(values);
+        }
+
+        @Override
+        public String getString(String key, String defValue) {
+            Object value = values.get(key);
+            return value != null ? (String) value : defValue;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Set<String> getStringSet(String key, Set<String> defValues) {
+            Object value = values.get(key);
+            return value != null ? (Set<String>) value : defValues;
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            Object value = values.get(key);
+            return value != null ? (Integer) value : defValue;
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            Object value = values.get(key);
+            return value != null ? (Long) value : defValue;
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            Object value = values.get(key);
+            return value != null ? (Float) value : defValue;
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            Object value = values.get(key);
+            return value != null ? (Boolean) value : defValue;
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public Editor edit() {
+            return new FakeEditor();
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(
+                OnSharedPreferenceChangeListener listener) {
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(
+                OnSharedPreferenceChangeListener listener) {
+        }
+
+        private final class FakeEditor implements Editor {
+            private final Map<String, Object> changes = new HashMap<>();
+            private final Set<String> removals = new HashSet<>();
+            private boolean clear;
+
+            @Override
+            public Editor putString(String key, String value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putStringSet(String key, Set<String> value) {
+                changes.put(key, value != null ? new HashSet<>(value) : null);
+                return this;
+            }
+
+            @Override
+            public Editor putInt(String key, int value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putLong(String key, long value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putFloat(String key, float value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor putBoolean(String key, boolean value) {
+                changes.put(key, value);
+                return this;
+            }
+
+            @Override
+            public Editor remove(String key) {
+                removals.add(key);
+                return this;
+            }
+
+            @Override
+            public Editor clear() {
+                clear = true;
+                return this;
+            }
+
+            @Override
+            public boolean commit() {
+                apply();
+                return true;
+            }
+
+            @Override
+            public void apply() {
+                if (clear) {
+                    values.clear();
+                }
+                for (String key : removals) {
+                    values.remove(key);
+                }
+                values.putAll(changes);
+            }
+        }
+    }
+}
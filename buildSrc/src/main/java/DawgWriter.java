@@ -0,0 +1,158 @@
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Packs a word list into the DAWG file read by com.example.engapp.WordDawg.
+ *
+ * Words are cleaned to lowercase a-z, put in a trie, and identical subtrees are shared so the
+ * result is a minimal word graph. It is written as big-endian ints:
+ *
+ *   magic "DAWG", version, wordCount, rootEdge, maxLength, countByLength[maxLength + 1],
+ *   edgeCount, then edgeCount edges of two ints each: info and lengthMask.
+ *
+ * info packs the letter (bits 0-7), end-of-word (bit 8), last-edge-of-list (bit 9) and the
+ * first edge of the child list (bits 10-31, 0 = no children). Bit k of lengthMask is set if
+ * some word ends k edges below this one (k = 0: this edge ends a word), which lets the reader
+ * walk straight to a random word of a given length. Edge 0 is a placeholder.
+ */
+public final class DawgWriter {
+
+    static final int MAGIC = 0x44415747; // "DAWG"
+    static final int VERSION = 1;
+    static final int END_OF_WORD = 1 << 8;
+    static final int LAST_EDGE = 1 << 9;
+    static final int CHILD_SHIFT = 10;
+    static final int MAX_EDGES = 1 << (32 - CHILD_SHIFT);
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        boolean terminal;
+        int listIndex;   // first edge of this node's child list, 0 if it has none
+        int listMask;    // OR of the lengthMask of its child edges
+    }
+
+    private final Node root = new Node();
+    private final List<int[]> edges = new ArrayList<>();
+    private final Map<String, Integer> listsByKey = new HashMap<>();
+    private final Map<Integer, Integer> maskByList = new HashMap<>();
+    private final List<Integer> countByLength = new ArrayList<>();
+    private int wordCount;
+
+    private DawgWriter() {
+        edges.add(new int[]{0, 0});
+    }
+
+    /** Reads one word per line from in and writes the packed graph to out. */
+    public static void write(Reader in, OutputStream out) throws IOException {
+        DawgWriter writer = new DawgWriter();
+        BufferedReader reader = new BufferedReader(in);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            writer.add(clean(line));
+        }
+        writer.writeTo(out);
+    }
+
+    /** Lowercase a-z only; must match WordIndex.clean() at runtime. */
+    static String clean(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = Character.toLowerCase(raw.charAt(i));
+            if (c >= 'a' && c <= 'z') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void add(String word) {
+        if (word.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.children.computeIfAbsent(word.charAt(i), c -> new Node());
+        }
+        if (node.terminal) {
+            return;
+        }
+        node.terminal = true;
+        wordCount++;
+        while (countByLength.size() <= word.length()) {
+            countByLength.add(0);
+        }
+        countByLength.set(word.length(), countByLength.get(word.length()) + 1);
+    }
+
+    // Children first, so every child list already has its index when its parent is packed
+    private void pack(Node node) {
+        if (node.children.isEmpty()) {
+            return;
+        }
+        StringBuilder key = new StringBuilder();
+        for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+            Node child = entry.getValue();
+            pack(child);
+            key.append(entry.getKey()).append(child.terminal ? '!' : '.')
+                .append(child.listIndex).append(',');
+        }
+        Integer shared = listsByKey.get(key.toString());
+        if (shared != null) {
+            node.listIndex = shared;
+            node.listMask = maskByList.get(shared);
+            return;
+        }
+
+        int first = edges.size();
+        if (first + node.children.size() > MAX_EDGES) {
+            throw new IllegalStateException("Word list too large for the DAWG format");
+        }
+        int listMask = 0;
+        int remaining = node.children.size();
+        for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+            Node child = entry.getValue();
+            int info = entry.getKey() | (child.listIndex << CHILD_SHIFT);
+            if (child.terminal) {
+                info |= END_OF_WORD;
+            }
+            if (--remaining == 0) {
+                info |= LAST_EDGE;
+            }
+            int lengthMask = (child.terminal ? 1 : 0) | (child.listMask << 1);
+            listMask |= lengthMask;
+            edges.add(new int[]{info, lengthMask});
+        }
+        node.listIndex = first;
+        node.listMask = listMask;
+        listsByKey.put(key.toString(), first);
+        maskByList.put(first, listMask);
+    }
+
+    private void writeTo(OutputStream out) throws IOException {
+        pack(root);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(wordCount);
+        data.writeInt(root.listIndex);
+        int maxLength = Math.max(0, countByLength.size() - 1);
+        data.writeInt(maxLength);
+        for (int length = 0; length <= maxLength; length++) {
+            data.writeInt(length < countByLength.size() ? countByLength.get(length) : 0);
+        }
+        data.writeInt(edges.size());
+        for (int[] edge : edges) {
+            data.writeInt(edge[0]);
+            data.writeInt(edge[1]);
+        }
+        data.flush();
+    }
+}
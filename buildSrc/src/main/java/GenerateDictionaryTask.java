@@ -0,0 +1,40 @@
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/** Packs a plain word list into dictionary/&lt;name&gt;.dawg under the generated assets. */
+public abstract class GenerateDictionaryTask extends DefaultTask {
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getWordList();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @TaskAction
+    public void generate() throws IOException {
+        File source = getWordList().get().getAsFile();
+        String name = source.getName().replaceFirst("\\.txt$", "");
+        File target = new File(getOutputDir().get().getAsFile(), "dictionary/" + name + ".dawg");
+        target.getParentFile().mkdirs();
+        try (Reader in = new InputStreamReader(Files.newInputStream(source.toPath()), StandardCharsets.UTF_8);
+             OutputStream out = new FileOutputStream(target)) {
+            DawgWriter.write(in, out);
+        }
+    }
+}